@@ -0,0 +1,73 @@
+package com.storedobject.chart;
+
+import java.lang.reflect.Method;
+
+import com.storedobject.chart.component.AbstractDataZoom;
+import com.vaadin.event.SerializableEventListener;
+import com.vaadin.ui.Component;
+import com.vaadin.util.ReflectTools;
+
+/**
+ * Data zoom event fired when the visible range is changed at the client-side
+ * via a data zoom.
+ *
+ * @author Syam
+ */
+public class ChartZoom {
+
+	private ChartZoom() {
+	}
+
+	public interface Listener extends SerializableEventListener {
+		public static final Method CHART_ZOOM_METHOD = ReflectTools.findMethod(Listener.class, "onZoom", Event.class);
+
+		void onZoom(Event event);
+	}
+
+	public static class Event extends Component.Event {
+		private static final long serialVersionUID = 5301834578327468702L;
+
+		private final AbstractDataZoom dataZoom;
+		private final double startValue, endValue;
+
+		public Event(SOChart chart, AbstractDataZoom dataZoom, double startValue, double endValue) {
+			super(chart);
+
+			this.dataZoom = dataZoom;
+			this.startValue = startValue;
+			this.endValue = endValue;
+		}
+
+		public SOChart getChart() {
+			return (SOChart) getSource();
+		}
+
+		/**
+		 * Get the data zoom that was used.
+		 *
+		 * @return Data zoom (<code>null</code> if it is no more part of the chart).
+		 */
+		public AbstractDataZoom getDataZoom() {
+			return dataZoom;
+		}
+
+		/**
+		 * Get the start of the visible range. The value is a number for value axes,
+		 * epoch milliseconds for time axes and an index for category axes.
+		 *
+		 * @return Start value.
+		 */
+		public double getStartValue() {
+			return startValue;
+		}
+
+		/**
+		 * Get the end of the visible range (See {@link #getStartValue()}).
+		 *
+		 * @return End value.
+		 */
+		public double getEndValue() {
+			return endValue;
+		}
+	}
+}
@@ -16,6 +16,7 @@
 
 package com.storedobject.chart;
 
+import com.storedobject.chart.component.AbstractDataZoom;
 import com.storedobject.chart.component.Chart;
 import com.storedobject.chart.component.Component;
 import com.storedobject.chart.component.ComponentPart;
@@ -25,18 +26,26 @@ import com.storedobject.chart.component.PieChart;
 import com.storedobject.chart.component.Title;
 import com.storedobject.chart.component.Toolbox;
 import com.storedobject.chart.component.Tooltip;
+import com.storedobject.chart.component.TreeChart;
+import com.storedobject.chart.component.TreemapChart;
 import com.storedobject.chart.coordinate_system.AngleAxis;
 import com.storedobject.chart.coordinate_system.PolarCoordinate;
 import com.storedobject.chart.coordinate_system.RectangularCoordinate;
 import com.storedobject.chart.coordinate_system.VisualMap;
 import com.storedobject.chart.data.AbstractData;
+import com.storedobject.chart.data.AbstractDataProvider;
+import com.storedobject.chart.data.AbstractMappedData;
+import com.storedobject.chart.data.AbstractPrimitiveData;
+import com.storedobject.chart.data.WindowedDataProvider;
 import com.storedobject.chart.encoder.AngleAxisEncoder;
 import com.storedobject.chart.encoder.ColorEncoder;
 import com.storedobject.chart.encoder.ComponentEncoder;
+import com.storedobject.chart.encoder.DataAppender;
 import com.storedobject.chart.encoder.DataSetEncoder;
 import com.storedobject.chart.encoder.DataZoomEncoder;
 import com.storedobject.chart.encoder.RectangularCoordinateEncoder;
 import com.storedobject.chart.encoder.LegendEncoder;
+import com.storedobject.chart.encoder.OptionFragments;
 import com.storedobject.chart.encoder.PolarCoordinateEncoder;
 import com.storedobject.chart.encoder.RadarCoordinateEncoder;
 import com.storedobject.chart.encoder.RadiusAxisEncoder;
@@ -53,24 +62,21 @@ import com.storedobject.chart.property.DefaultColors;
 import com.storedobject.chart.property.DefaultTextStyle;
 import com.storedobject.chart.property.TextStyle;
 import com.storedobject.chart.util.ChartException;
+import com.storedobject.chart.util.DeflateCodec;
+import com.storedobject.chart.util.JsonCodec;
 import com.storedobject.helper.ID;
 import com.vaadin.annotations.JavaScript;
 import com.vaadin.shared.Registration;
 import com.vaadin.ui.AbstractJavaScriptComponent;
 import com.vaadin.ui.JavaScriptFunction;
-import elemental.json.Json;
 import elemental.json.JsonArray;
-import elemental.json.JsonObject;
-import elemental.json.JsonValue;
-import elemental.json.impl.JsonUtil;
 
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeValueProperty;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -106,10 +112,12 @@ import java.util.function.Consumer;
  * @author Syam
  */
 @JavaScript({ "vaadin://echarts-5.0.2/echarts.js", //
+		"vaadin://sochart/sochart-inflate.js", //
 		"vaadin://sochart/sochart.js", //
 		"vaadin://sochart/sochart-connector.js" })
 public class SOChart extends AbstractJavaScriptComponent {
 	private static final long serialVersionUID = 3054575609878387969L;
+	private static final int SVG_POINTS = 1000;
 
 	public static final String SKIP_DATA = "Skipping data but new data found: ";
 
@@ -140,9 +148,20 @@ public class SOChart extends AbstractJavaScriptComponent {
 	private Toolbox toolbox;
 	private List<VisualMap> visualMaps = new ArrayList<>();
 	private boolean neverUpdated = true;
+	private boolean fullOptionPending;
 	private DefaultColors defaultColors;
 	private Color defaultBackground;
 	private DefaultTextStyle defaultTextStyle;
+	private boolean incrementalUpdate = true;
+	private int compressionThreshold;
+	private OptionFragments optionFragments, previousFragments;
+	private final DataAppender dataAppender = new DataAppender();
+	private Executor encodingExecutor;
+	private Renderer renderer = Renderer.canvas;
+	private Boolean dirtyRect;
+	private double devicePixelRatio;
+	private boolean appending;
+	private String rendering;
 
 	/**
 	 * Constructor.
@@ -151,6 +170,8 @@ public class SOChart extends AbstractJavaScriptComponent {
 		getState().setProperty("idChart", "sochart" + ID.newID());
 
 		addOnClickJsFunction();
+		addOnDataZoomJsFunction();
+		addOnTreeExpandJsFunction();
 	}
 
 	public Title getTitle() {
@@ -355,12 +376,232 @@ public class SOChart extends AbstractJavaScriptComponent {
 	 * is not called.
 	 */
 	public void clear() {
+		previousFragments = null;
+		dataAppender.clear();
 		if (neverUpdated) {
 			return;
 		}
 //        executeJS("clearChart");
 	}
 
+	/**
+	 * Set whether subsequent updates should send only the changes (as a "merge
+	 * patch") to the client or not. This is on by default. Parts are matched by
+	 * their Ids and if the set of parts is changed (added or removed) or if a
+	 * property is removed from a part (a merge can not remove it), a full update
+	 * is sent anyway.
+	 *
+	 * @param incrementalUpdate True to send only the changes.
+	 */
+	public void setIncrementalUpdate(boolean incrementalUpdate) {
+		this.incrementalUpdate = incrementalUpdate;
+		if (!incrementalUpdate) {
+			previousFragments = null;
+		}
+	}
+
+	/**
+	 * Get the size above which the option is sent compressed. (See
+	 * {@link #setCompressionThreshold(int)}).
+	 *
+	 * @return Threshold (0 means that compression is off).
+	 */
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	/**
+	 * Set the size (number of characters) above which the option sent to the
+	 * client is compressed (See {@link DeflateCodec}). Typically, an option of
+	 * a few megabytes is reduced to a third or less for about 15 milliseconds of
+	 * server time per megabyte, so it is worth it only for large options sent
+	 * to remote users. Compression is off by default.
+	 *
+	 * @param compressionThreshold Threshold (0 to switch compression off).
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = Math.max(0, compressionThreshold);
+	}
+
+	/**
+	 * Get the renderer. (See {@link #setRenderer(Renderer)}).
+	 *
+	 * @return Renderer.
+	 */
+	public Renderer getRenderer() {
+		return renderer;
+	}
+
+	/**
+	 * Set the renderer. The default is {@link Renderer#canvas}. If
+	 * {@link Renderer#AUTO} is set, SVG is used for small charts (up to 1000 data
+	 * points) that are not updated dynamically since it needs less memory and
+	 * scales well, and canvas is used otherwise. (Only data that is a list,
+	 * primitive data or mapped data is counted, any other data makes the chart
+	 * use canvas). The change is effective from the next update.
+	 *
+	 * @param renderer Renderer (<code>null</code> for canvas).
+	 */
+	public void setRenderer(Renderer renderer) {
+		this.renderer = renderer == null ? Renderer.canvas : renderer;
+	}
+
+	/**
+	 * Check whether "dirty rectangle" rendering is used. (See
+	 * {@link #setDirtyRect(Boolean)}).
+	 *
+	 * @return True/false (<code>null</code> means automatic).
+	 */
+	public Boolean getDirtyRect() {
+		return dirtyRect;
+	}
+
+	/**
+	 * Set whether the canvas renderer should redraw only the changed areas
+	 * ("dirty rectangles") instead of the whole chart. If not set, it is used
+	 * for charts that are updated dynamically (values appended or windowed data
+	 * reloaded as the user zooms). The change is effective from the next update.
+	 *
+	 * @param dirtyRect True/false (<code>null</code> for automatic).
+	 */
+	public void setDirtyRect(Boolean dirtyRect) {
+		this.dirtyRect = dirtyRect;
+	}
+
+	/**
+	 * Get the device pixel ratio. (See {@link #setDevicePixelRatio(double)}).
+	 *
+	 * @return Device pixel ratio (0 means that of the browser).
+	 */
+	public double getDevicePixelRatio() {
+		return devicePixelRatio;
+	}
+
+	/**
+	 * Set the device pixel ratio used by the renderer. A lower ratio than that of
+	 * a high-density display reduces the memory and the time required for
+	 * rendering (at the cost of sharpness). The change is effective from the next
+	 * update.
+	 *
+	 * @param devicePixelRatio Device pixel ratio (0 to use that of the browser,
+	 *                         the default).
+	 */
+	public void setDevicePixelRatio(double devicePixelRatio) {
+		this.devicePixelRatio = Math.max(0, devicePixelRatio);
+	}
+
+	public boolean isIncrementalUpdate() {
+		return incrementalUpdate;
+	}
+
+	/**
+	 * Set an executor for encoding the series and the "dataset" columns in
+	 * parallel (for example, {@link java.util.concurrent.ForkJoinPool#commonPool()}).
+	 * This is useful when there are many large series. The encoded option is the
+	 * same as that of encoding them sequentially. By default, everything is encoded
+	 * sequentially.
+	 *
+	 * @param encodingExecutor Executor (<code>null</code> to encode sequentially).
+	 */
+	public void setEncodingExecutor(Executor encodingExecutor) {
+		this.encodingExecutor = encodingExecutor;
+	}
+
+	public Executor getEncodingExecutor() {
+		return encodingExecutor;
+	}
+
+	/**
+	 * Append values to the given data and send only the appended values to the
+	 * client. The display is updated by merging the values into the data already
+	 * there at the client-side and no other part of the chart is rebuilt. (If the
+	 * data was not part of the last update or values were removed from it, a full
+	 * update happens instead). Please note that only the transfer is proportional
+	 * to the appended values: "echarts" processes the whole data column (or series
+	 * data) again when it is updated, so the client-side cost of each append grows
+	 * with the number of values already displayed.
+	 *
+	 * @param <T>    Data type.
+	 * @param data   Data to append to.
+	 * @param values Values to append.
+	 */
+	@SafeVarargs
+	public final <T> void append(AbstractData<T> data, T... values) {
+		if (values != null) {
+			for (T value : values) {
+				data.add(value);
+			}
+		}
+		appended(data);
+	}
+
+	/**
+	 * Append a point to the given chart. One value should be passed for each data
+	 * of the chart, in the same order as {@link Chart#getData()}. See
+	 * {@link #append(AbstractData, Object...)}.
+	 *
+	 * @param chart Chart.
+	 * @param point Values of the point.
+	 * @throws ChartException If the values do not match the data of the chart.
+	 */
+	public void append(Chart chart, Object... point) throws ChartException {
+		AbstractDataProvider<?>[] data = chart.getData();
+		if (data == null || point == null || data.length != point.length) {
+			throw new ChartException("Point doesn't match the data of " + chart.className());
+		}
+		for (AbstractDataProvider<?> d : data) {
+			if (!(d instanceof AbstractData)) {
+				throw new ChartException("Can not append to " + d.className());
+			}
+		}
+		for (int i = 0; i < data.length; i++) {
+			@SuppressWarnings("unchecked")
+			AbstractData<Object> d = (AbstractData<Object>) data[i];
+			d.add(point[i]);
+		}
+		appended(data);
+	}
+
+	/**
+	 * Send the values that were added to the given data (after the last update)
+	 * to the client. See {@link #append(AbstractData, Object...)}.
+	 *
+	 * @param data Data to which values were added.
+	 */
+	public void appended(AbstractDataProvider<?>... data) {
+		if (neverUpdated || data == null) {
+			return;
+		}
+		appending = true;
+		for (AbstractDataProvider<?> d : data) {
+			if (!dataAppender.append(d)) {
+				draw();
+				return;
+			}
+		}
+		markAsDirty();
+	}
+
+	@Override
+	public void beforeClientResponse(boolean initial) {
+		super.beforeClientResponse(initial);
+		if (initial && !fullOptionPending && !neverUpdated) {
+			// The option is not part of the shared state, a new client-side chart
+			// (a browser refresh for example) needs it again
+			previousFragments = null;
+			draw();
+		}
+		fullOptionPending = false;
+		if (dataAppender.isPending()) {
+			String tail = dataAppender.encode();
+			if (tail == null) {
+				draw();
+			} else if (tail.length() > 2) {
+				callFunction("appendData", tail);
+			}
+		}
+	}
+
 	public void refresh() {
 		try {
 			clear();
@@ -455,14 +696,92 @@ public class SOChart extends AbstractJavaScriptComponent {
 
 		prepareComponents(skipData);
 		setupParts(skipData);
+		if (parts.dataProviderStream().anyMatch(data -> data instanceof WindowedDataProvider)) {
+			getState().setProperty("zoomEvents", true);
+		}
+		if (!skipData && setRendering()) {
+			// The client-side chart will be created again, so the whole option is required
+			previousFragments = null;
+		}
 
-		String options = customizeJSON(buildOption());
-		JsonObject jsonOption = buildOptionJson(options);
-		System.out.println(getClass().getSimpleName() + "\n" + JsonUtil.stringify(jsonOption, 4));
-		getState().option = JsonUtil.stringify(jsonOption, 0);
+		String option = buildOption();
+		String customized = customizeJSON(option);
+		String patch = null;
+		if (incrementalUpdate && customized == option) {
+			patch = optionFragments.patch(previousFragments, option, skipData);
+		}
+		previousFragments = incrementalUpdate ? optionFragments : null;
+		optionFragments = null;
+		// The option is sent as a call so that it is not retained (twice) in the
+		// shared state
+		if (patch == null) {
+			sendOption(customized, true);
+			fullOptionPending = true;
+		} else if (patch.length() > 2) {
+			sendOption(patch, false);
+		}
+		dataAppender.setup(parts, skipData);
 //		executeJS("updateChart", customizeJSON(sb.toString()));
 	}
 
+	/**
+	 * Set the rendering properties (used while creating the client-side chart).
+	 * Values appended since the previous full update make the chart dynamic.
+	 *
+	 * @return True if the properties are changed after the chart was created.
+	 */
+	private boolean setRendering() {
+		boolean dynamic = appending
+				|| parts.dataProviderStream().anyMatch(data -> data instanceof WindowedDataProvider);
+		appending = false;
+		Renderer r = renderer;
+		if (r == Renderer.AUTO) {
+			boolean small = !dynamic && parts.dataProviderStream().mapToLong(data -> {
+				long count = pointCount(data);
+				return count < 0 ? SVG_POINTS + 1 : count;
+			}).sum() <= SVG_POINTS;
+			r = small ? Renderer.svg : Renderer.canvas;
+		}
+		boolean dirty = r == Renderer.canvas && (dirtyRect == null ? dynamic : dirtyRect);
+		String rendering = r + "," + dirty + "," + devicePixelRatio;
+		if (rendering.equals(this.rendering)) {
+			return false;
+		}
+		boolean changed = this.rendering != null;
+		this.rendering = rendering;
+		getState().setProperty("renderer", r.toString());
+		getState().setProperty("dirtyRect", dirty);
+		getState().setProperty("dpr", devicePixelRatio);
+		return changed;
+	}
+
+	/**
+	 * Get the number of values of the data without generating (or sampling) them.
+	 *
+	 * @return Number of values or -1 if not known.
+	 */
+	private static long pointCount(AbstractDataProvider<?> data) {
+		if (data instanceof List) {
+			return ((List<?>) data).size();
+		}
+		if (data instanceof AbstractPrimitiveData) {
+			return ((AbstractPrimitiveData) data).size();
+		}
+		if (data instanceof AbstractMappedData) {
+			AbstractMappedData<?> mappedData = (AbstractMappedData<?>) data;
+			return mappedData.getTo() - mappedData.getFrom();
+		}
+		return -1;
+	}
+
+	private void sendOption(String option, boolean notMerge) {
+		if (compressionThreshold > 0 && option.length() >= compressionThreshold) {
+			callFunction("updateChart", DeflateCodec.encode(option), notMerge, true);
+		} else {
+			callFunction("updateChart", option, notMerge);
+		}
+	}
+
 	protected void prepareComponents(boolean skipData) throws ChartException {
 		for (Component component : components) {
 			if (skipData) {
@@ -482,7 +801,8 @@ public class SOChart extends AbstractJavaScriptComponent {
 	protected void setupParts(boolean skipData) throws ChartException {
 		parts.init(components, skipData) //
 				.addAll(getRootParts()) //
-				.setupPartSerial();
+				.setupPartSerial() //
+				.setExecutor(encodingExecutor);
 
 		firePartsSetupEvent();
 	}
@@ -502,14 +822,19 @@ public class SOChart extends AbstractJavaScriptComponent {
 		StringBuilder sb = new StringBuilder();
 		sb.append('{');
 
-		encodeValueProperty("backgroundColor", defaultBackground, sb);
+		optionFragments = new OptionFragments();
+		// Date/time values are encoded in UTC (See TimeCodec)
+		optionFragments.beginMember("useUTC", sb.length());
+		encodeValueProperty("useUTC", true, sb);
+		optionFragments.endMember(sb);
+		if (defaultBackground != null) {
+			optionFragments.beginMember("backgroundColor", sb.length());
+			encodeValueProperty("backgroundColor", defaultBackground, sb);
+			optionFragments.endMember(sb);
+		}
 
 		for (ComponentEncoder encoder : encoders) {
-			encoder.encode(sb, parts);
-
-			if (sb.length() > 1 && sb.charAt(sb.length() - 1) != '\n') {
-				sb.append('\n');
-			}
+			encoder.encode(sb, parts, optionFragments);
 		}
 
 		sb.append('}');
@@ -517,49 +842,6 @@ public class SOChart extends AbstractJavaScriptComponent {
 		return sb.toString();
 	}
 
-	protected JsonObject buildOptionJson(String options) {
-		try {
-			JsonObject jsonOption = Json.parse(options);
-			Map<String, String> optionFunctions = buildOptionJson(jsonOption, "option", new HashMap<String, String>(),
-					null);
-			optionFunctions.forEach((functionKey, function) -> {
-				jsonOption.put(functionKey, function);
-			});
-
-			return jsonOption;
-		} catch (Exception e) {
-			e.printStackTrace();
-			return null;
-		}
-	}
-
-	protected Map<String, String> buildOptionJson(JsonValue json, String functionName, Map<String, String> functions,
-			Consumer<String> updater) {
-		if (json instanceof JsonObject) {
-			JsonObject obj = (JsonObject) json;
-			for (String key : obj.keys()) {
-				buildOptionJson(obj.get(key), functionName + key.substring(0, 1).toUpperCase() + key.substring(1),
-						functions, value -> obj.put(key, value));
-			}
-		} else if (json instanceof JsonArray) {
-			JsonArray array = (JsonArray) json;
-			for (int i = 0; i < array.length(); i++) {
-				int index = i;
-				buildOptionJson(array.get(i), functionName + index, functions, value -> array.set(index, value));
-			}
-		} else {
-			String text = json.asString();
-			if (text.startsWith("function (") || text.startsWith("function(")) {
-				String function = "function " + functionName + text.substring(text.indexOf('('));
-				String functionKey = "@function@" + functionName;
-				functions.put(functionKey, function);
-				updater.accept(functionKey);
-			}
-		}
-
-		return functions;
-	}
-
 	protected void closeUpdate() {
 		parts.clear();
 		defaultColors = null;
@@ -579,7 +861,10 @@ public class SOChart extends AbstractJavaScriptComponent {
 	 * default implementation just returns the same string. However, if someone
 	 * wants to do some cutting-edge customization, this method can be used. This
 	 * JOSN string is used to construct the "option" parameter for the
-	 * "echarts.setOption(option)" JavaScript method.
+	 * "echarts.setOption(option)" JavaScript method. (Functions can not be
+	 * represented in JSON and thus, if required, they should be passed as string
+	 * values that start with "function(" or with the
+	 * {@link com.storedobject.chart.property.JSFunction#PREFIX} prefix).
 	 *
 	 * @param json JSON string constructed by the {@link #update()} method.
 	 * @return Customized JSON string.
@@ -595,6 +880,18 @@ public class SOChart extends AbstractJavaScriptComponent {
 		return addListener(ChartClick.Event.class, listener, ChartClick.Listener.CHART_CLICK_METHOD);
 	}
 
+	/**
+	 * Add a listener to be notified when the visible range is changed at the
+	 * client-side via a data zoom.
+	 *
+	 * @param listener Listener.
+	 * @return Registration.
+	 */
+	public Registration addZoomListener(ChartZoom.Listener listener) {
+		getState().setProperty("zoomEvents", true);
+		return addListener(ChartZoom.Event.class, listener, ChartZoom.Listener.CHART_ZOOM_METHOD);
+	}
+
 	public Registration addPartsSetupListener(ComponentParts.Setup.Listener listener) {
 		return addListener(ComponentParts.Setup.Event.class, listener, ComponentParts.Setup.Listener.SETUP_METHOD);
 	}
@@ -612,4 +909,84 @@ public class SOChart extends AbstractJavaScriptComponent {
 			}
 		});
 	}
-}
\ No newline at end of file
+
+	@SuppressWarnings("serial")
+	private void addOnDataZoomJsFunction() {
+		addFunction("onDataZoom", new JavaScriptFunction() {
+			@Override
+			public void call(JsonArray params) {
+				long id = Long.parseLong(params.getString(0));
+				AbstractDataZoom dataZoom = components.stream()
+						.filter(c -> c instanceof AbstractDataZoom && ((AbstractDataZoom) c).getId() == id)
+						.map(c -> (AbstractDataZoom) c).findAny().orElse(null);
+				double start = params.getNumber(1), end = params.getNumber(2);
+				if (dataZoom != null) {
+					window(dataZoom, start, end);
+				}
+				fireEvent(new ChartZoom.Event(SOChart.this, dataZoom, start, end));
+			}
+		});
+	}
+
+	@SuppressWarnings("serial")
+	private void addOnTreeExpandJsFunction() {
+		addFunction("onTreeExpand", new JavaScriptFunction() {
+			@Override
+			public void call(JsonArray params) {
+				long id = Long.parseLong(params.getString(0));
+				String path = params.getString(1);
+				components.stream().filter(c -> c.getId() == id)
+						.map(c -> c instanceof TreeChart ? ((TreeChart) c).expand(path)
+								: (c instanceof TreemapChart ? ((TreemapChart) c).expand(path) : null))
+						.filter(Objects::nonNull).findAny()
+						.ifPresent(children -> callFunction("expandTree", "{\"id\":" + id + ",\"path\":"
+								+ JsonCodec.append(new StringBuilder(), path) + ",\"children\":" + children + "}"));
+			}
+		});
+	}
+
+	/**
+	 * Pass the visible range of the data zoom to the {@link WindowedDataProvider}s
+	 * of the charts it controls and update the chart if any of them is changed.
+	 * (Only the changes are sent if incremental updates are on).
+	 */
+	private void window(AbstractDataZoom dataZoom, double start, double end) {
+		boolean changed = false;
+		for (Component component : components) {
+			if (!(component instanceof Chart)) {
+				continue;
+			}
+			Chart chart = (Chart) component;
+			if (chart.getCoordinateSystem() != dataZoom.getCoordinateSystem() || chart.getData() == null
+					|| chart.getAxes() == null || chart.getAxes().isEmpty()
+					|| !(dataZoom.isForAxis(null) || dataZoom.isForAxis(chart.getAxes().get(0)))) {
+				continue;
+			}
+			for (AbstractDataProvider<?> data : chart.getData()) {
+				if (data instanceof WindowedDataProvider) {
+					changed |= ((WindowedDataProvider) data).setWindow(start, end);
+				}
+			}
+		}
+		if (changed) {
+			// Keep the range so that a full update doesn't reset it
+			dataZoom.setStartValue(start);
+			dataZoom.setEndValue(end);
+			draw();
+		}
+	}
+
+	/**
+	 * Renderers of the client-side chart.
+	 */
+	public static enum Renderer {
+		canvas, //
+		svg, //
+		/**
+		 * Automatic choice between {@link #canvas} and {@link #svg} (See
+		 * {@link SOChart#setRenderer(Renderer)}).
+		 */
+		AUTO //
+		;
+	}
+}
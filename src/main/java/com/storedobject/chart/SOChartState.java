@@ -10,8 +10,6 @@ public class SOChartState extends JavaScriptComponentState {
 	private static final long serialVersionUID = -8959191675958421669L;
 
 	public JsonObject properties;
-	public String option;
-	public boolean notMerge = true;
 
 	public SOChartState() {
 		properties = new JreJsonObject(new JreJsonFactory());
@@ -20,4 +18,12 @@ public class SOChartState extends JavaScriptComponentState {
 	public void setProperty(String property, String value) {
 		properties.put(property, value);
 	}
+
+	public void setProperty(String property, boolean value) {
+		properties.put(property, value);
+	}
+
+	public void setProperty(String property, double value) {
+		properties.put(property, value);
+	}
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.storedobject.chart.component;
 import com.storedobject.chart.coordinate_system.Axis;
 import com.storedobject.chart.coordinate_system.CoordinateSystem;
 import com.storedobject.chart.data.DataType;
+import com.storedobject.chart.encoder.EncodedFragment;
 import com.storedobject.chart.property.AbstractComponentProperty;
 import com.storedobject.chart.util.ChartException;
 import com.storedobject.helper.ID;
@@ -40,6 +41,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 
 	private int serial;
 	private final long id = ID.newID();
+	private final EncodedFragment encodedFragment = new EncodedFragment();
 	private final List<Axis> axes = new ArrayList<>();
 	private final CoordinateSystem coordinateSystem;
 	private boolean explicitAxisIndex;
@@ -69,6 +71,15 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 
 	public abstract DataZoomType getType();
 
+	/**
+	 * Get the coordinate system of this data zoom.
+	 *
+	 * @return Coordinate system.
+	 */
+	public final CoordinateSystem getCoordinateSystem() {
+		return coordinateSystem;
+	}
+
 	public boolean isType(DataZoomType type) {
 		return Objects.equals(getType(), type);
 	}
@@ -83,6 +94,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param axes Axis list.
 	 */
 	public void addAxis(Axis... axes) {
+		changed();
 		if (axes != null) {
 			for (Axis axis : axes) {
 				if (axis != null && !this.axes.contains(axis)) {
@@ -166,6 +178,11 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 		property("zoomLock", zoomLock);
 	}
 
+	@Override
+	public EncodedFragment getEncodedFragment() {
+		return encodedFragment;
+	}
+
 	@Override
 	public final int getSerial() {
 		return serial;
@@ -177,10 +194,12 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	}
 
 	public void explicitAxisIndex() {
+		changed();
 		explicitAxisIndex = true;
 	}
 
 	public void implicitAxisIndex() {
+		changed();
 		explicitAxisIndex = false;
 	}
 
@@ -194,6 +213,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	}
 
 	public void setFilterMode(FilterMode filterMode) {
+		changed();
 		if (this.filterMode == null && filterMode == FilterMode.filter)
 			return;
 
@@ -251,6 +271,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param start Start percentage.
 	 */
 	public void setStart(int start) {
+		changed();
 		this.start = (start >= 0 && start < 100) ? start : Integer.MIN_VALUE;
 		startValue = null;
 	}
@@ -272,6 +293,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param end End percentage.
 	 */
 	public void setEnd(int end) {
+		changed();
 		this.end = (end > 0 && end <= 100) ? end : Integer.MAX_VALUE;
 	}
 
@@ -291,6 +313,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param startValue Start value. (Can be index value for category data).
 	 */
 	public void setStartValue(Number startValue) {
+		changed();
 		this.startValue = startValue;
 		start = Integer.MIN_VALUE;
 	}
@@ -302,6 +325,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param startValue Start value. (Used for {@link DataType#DATE}).
 	 */
 	public void setStartValue(LocalDate startValue) {
+		changed();
 		this.startValue = startValue;
 		start = Integer.MIN_VALUE;
 	}
@@ -313,6 +337,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param startValue Start value. (Used for {@link DataType#TIME}).
 	 */
 	public void setStartValue(LocalDateTime startValue) {
+		changed();
 		this.startValue = startValue;
 		start = Integer.MIN_VALUE;
 	}
@@ -333,6 +358,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param endValue End value. (Can be index value for category data).
 	 */
 	public void setEndValue(Number endValue) {
+		changed();
 		this.endValue = endValue;
 		end = Integer.MAX_VALUE;
 	}
@@ -344,6 +370,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param endValue End value. (Used for {@link DataType#DATE}).
 	 */
 	public void setEndValue(LocalDate endValue) {
+		changed();
 		this.endValue = endValue;
 		end = Integer.MAX_VALUE;
 	}
@@ -355,6 +382,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param endValue End value. (Used for {@link DataType#TIME}).
 	 */
 	public void setEndValue(LocalDateTime endValue) {
+		changed();
 		this.endValue = endValue;
 		end = Integer.MAX_VALUE;
 	}
@@ -377,6 +405,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param minSpan Minimum span percentage value.
 	 */
 	public void setMinSpan(int minSpan) {
+		changed();
 		this.minSpan = (minSpan >= 0 && minSpan < 100) ? minSpan : Integer.MIN_VALUE;
 		minSpanValue = null;
 	}
@@ -398,6 +427,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param maxSpan Maximum span percentage value.
 	 */
 	public void setMaxSpan(int maxSpan) {
+		changed();
 		this.maxSpan = (maxSpan > 0 && maxSpan <= 100) ? maxSpan : Integer.MAX_VALUE;
 	}
 
@@ -417,6 +447,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param minSpanValue Minimum span value.
 	 */
 	public void setMinSpanValue(Number minSpanValue) {
+		changed();
 		this.minSpanValue = minSpanValue;
 		minSpan = Integer.MIN_VALUE;
 	}
@@ -428,6 +459,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param minSpanValue Minimum span value. (Used for {@link DataType#DATE}).
 	 */
 	public void setMinSpanValue(LocalDate minSpanValue) {
+		changed();
 		this.minSpanValue = minSpanValue;
 		minSpan = Integer.MIN_VALUE;
 	}
@@ -439,6 +471,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param minSpanValue Minimum span value. (Used for {@link DataType#TIME}).
 	 */
 	public void setMinSpanValue(LocalDateTime minSpanValue) {
+		changed();
 		this.minSpanValue = minSpanValue;
 		minSpan = Integer.MIN_VALUE;
 	}
@@ -459,6 +492,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param maxSpanValue Maximum span value.
 	 */
 	public void setMaxSpanValue(Number maxSpanValue) {
+		changed();
 		this.maxSpanValue = maxSpanValue;
 		maxSpan = Integer.MAX_VALUE;
 	}
@@ -470,6 +504,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param maxSpanValue Maximum span value. (Used for {@link DataType#DATE}).
 	 */
 	public void setMaxSpanValue(LocalDate maxSpanValue) {
+		changed();
 		this.maxSpanValue = maxSpanValue;
 		maxSpan = Integer.MAX_VALUE;
 	}
@@ -481,6 +516,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param maxSpanValue Maximum span value. (Used for {@link DataType#TIME}).
 	 */
 	public void setMaxSpanValue(LocalDateTime maxSpanValue) {
+		changed();
 		this.maxSpanValue = maxSpanValue;
 		maxSpan = Integer.MAX_VALUE;
 	}
@@ -507,6 +543,7 @@ public abstract class AbstractDataZoom extends AbstractComponentProperty impleme
 	 * @param zoomLock True or false.
 	 */
 	public void setZoomLock(boolean zoomLock) {
+		changed();
 		this.zoomLock = zoomLock;
 	}
 
@@ -17,6 +17,7 @@
 package com.storedobject.chart.component;
 
 import com.storedobject.chart.coordinate_system.HasPosition;
+import com.storedobject.chart.encoder.EncodedFragment;
 import com.storedobject.chart.property.AbstractComponentProperty;
 import com.storedobject.chart.property.HasPadding;
 import com.storedobject.chart.property.HasPolarProperty;
@@ -34,6 +35,7 @@ public abstract class AbstractPart extends AbstractComponentProperty implements
 
 	private int serial;
 	private final long id = ID.newID();
+	private final EncodedFragment encodedFragment = new EncodedFragment();
 
 	/**
 	 * Get a unique Id for this part.
@@ -45,6 +47,11 @@ public abstract class AbstractPart extends AbstractComponentProperty implements
 		return id;
 	}
 
+	@Override
+	public EncodedFragment getEncodedFragment() {
+		return encodedFragment;
+	}
+
 	@Override
 	protected void buildProperties() {
 		super.buildProperties();
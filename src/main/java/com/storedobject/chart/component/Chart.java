@@ -187,6 +187,17 @@ public class Chart extends AbstractPart implements Component {
 
 	}
 
+	/**
+	 * A chart is encoded along with its data (or references to its data) and
+	 * changes to the data are not tracked. So, charts are always encoded afresh.
+	 *
+	 * @return -1.
+	 */
+	@Override
+	public long getModification() {
+		return -1;
+	}
+
 	@Override
 	public void validate() throws ChartException {
 		String[] axes = type.getAxes();
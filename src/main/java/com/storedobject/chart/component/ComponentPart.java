@@ -16,11 +16,13 @@
 
 package com.storedobject.chart.component;
 
-import static com.storedobject.chart.util.ComponentPropertyUtil.escape;
+import static com.storedobject.chart.util.ComponentPropertyUtil.encodeComponentProperty;
 
 import com.storedobject.chart.SOChart;
+import com.storedobject.chart.encoder.EncodedFragment;
 import com.storedobject.chart.property.ComponentProperty;
 import com.storedobject.chart.util.ChartException;
+import com.storedobject.chart.util.JsonCodec;
 import com.storedobject.helper.ID;
 
 /**
@@ -55,6 +57,17 @@ public interface ComponentPart extends ComponentProperty {
 		return -1;
 	}
 
+	/**
+	 * Get the holder of the JSON fragment encoded for this part. If a holder is
+	 * returned, the encoded fragment is reused as long as the
+	 * {@link #getModification()} remains the same.
+	 *
+	 * @return Default is <code>null</code> (always encoded afresh).
+	 */
+	default EncodedFragment getEncodedFragment() {
+		return null;
+	}
+
 	/**
 	 * Helper method: Encode a (name, value) pair.
 	 *
@@ -78,7 +91,8 @@ public interface ComponentPart extends ComponentProperty {
 		if (startingComma) {
 			addComma(sb);
 		}
-		sb.append('"').append(name).append("\":").append(escape(value));
+		sb.append('"').append(name).append("\":");
+		JsonCodec.append(sb, value);
 	}
 
 	/**
@@ -88,15 +102,15 @@ public interface ComponentPart extends ComponentProperty {
 	 * @param componentProperty Component property (could be <code>null</code>).
 	 */
 	static void encodeProperty(StringBuilder sb, ComponentProperty componentProperty) {
-		if (componentProperty == null)
-			return;
-
-		addComma(sb);
-		componentProperty.encodeJSON(sb);
+		encodeComponentProperty(componentProperty, sb);
 	}
 
 	/**
-	 * Helper method: Add a comma if required.
+	 * Helper method: Add a comma if required. A comma is required only if a value
+	 * was already written in the current object or array, i.e., the last character
+	 * written is not an opening bracket, a colon or another comma. (Encoders never
+	 * write trailing commas or whitespace, so only the last character needs to be
+	 * looked at).
 	 *
 	 * @param sb Add a comma to this.
 	 */
@@ -105,31 +119,14 @@ public interface ComponentPart extends ComponentProperty {
 		if (len == 0) {
 			return;
 		}
-		char c;
-		while (len > 0) {
-			--len;
-			c = sb.charAt(len);
-			if (c == ' ' || c == '\n') {
-				continue;
-			}
-			if (c == '{' || c == '[' || c == ',') {
-				break;
-			}
+		switch (sb.charAt(len - 1)) {
+		case '{':
+		case '[':
+		case ',':
+		case ':':
+			return;
+		default:
 			sb.append(',');
-			break;
-		}
-	}
-
-	/**
-	 * Helper method: Replace trailing commas with spaces.
-	 *
-	 * @param sb Replace trailing commas in this.
-	 */
-	static void removeComma(StringBuilder sb) {
-		int len = sb.length() - 1;
-		while (len >= 0 && sb.charAt(len) == ',') {
-			sb.setCharAt(len, ' ');
-			--len;
 		}
 	}
 
@@ -5,19 +5,22 @@ import static com.storedobject.chart.SOChart.SKIP_DATA;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.storedobject.chart.SOChart;
 import com.storedobject.chart.data.AbstractData;
 import com.storedobject.chart.data.AbstractDataProvider;
+import com.storedobject.chart.data.AbstractMappedData;
+import com.storedobject.chart.data.AbstractPrimitiveData;
 import com.storedobject.chart.data.CategoryDataProvider;
 import com.storedobject.chart.data.DataProvider;
 import com.storedobject.chart.encoder.ComponentEncoder;
@@ -27,8 +30,23 @@ import com.vaadin.util.ReflectTools;
 
 public class ComponentParts implements Iterable<ComponentPart> {
 
+	/**
+	 * The class (in the hierarchy of a part's class) that implements
+	 * {@link SinglePart}, looked up only once per class.
+	 */
+	private static final ClassValue<Class<?>> SINGLE_PART_CLASS = new ClassValue<Class<?>>() {
+		@Override
+		protected Class<?> computeValue(Class<?> type) {
+			return getClassWithInterface(type, SinglePart.class);
+		}
+	};
+
 	final private List<ComponentPart> parts = new ArrayList<>();
 	private boolean skipping;
+	private long layout;
+	private Executor executor;
+	private final Map<Class<?>, List<?>> partsByType = new HashMap<>();
+	private Boolean dataSetEncoding;
 
 	public boolean isSkippingData() {
 		return skipping;
@@ -39,6 +57,26 @@ public class ComponentParts implements Iterable<ComponentPart> {
 		return this;
 	}
 
+	/**
+	 * Get the executor used for encoding independent parts in parallel.
+	 *
+	 * @return Executor (<code>null</code> if the parts are encoded sequentially).
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set the executor to be used for encoding independent parts in parallel.
+	 *
+	 * @param executor Executor (<code>null</code> to encode sequentially).
+	 * @return Self reference.
+	 */
+	public ComponentParts setExecutor(Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
 	public ComponentParts addAll(ComponentPart... parts) {
 		if (parts == null) {
 			return this;
@@ -75,7 +113,7 @@ public class ComponentParts implements Iterable<ComponentPart> {
 
 		int index = -1;
 		if (part instanceof SinglePart) {
-			Class<?> singlePartClass = getClassWithInterface(part.getClass(), SinglePart.class);
+			Class<?> singlePartClass = SINGLE_PART_CLASS.get(part.getClass());
 			for (int i = 0; i < parts.size(); i++) {
 				if (singlePartClass.isAssignableFrom(parts.get(i).getClass())) {
 					index = i;
@@ -86,6 +124,7 @@ public class ComponentParts implements Iterable<ComponentPart> {
 
 		if (index == -1) {
 			parts.add(part);
+			changed();
 		}
 
 		return this;
@@ -100,7 +139,8 @@ public class ComponentParts implements Iterable<ComponentPart> {
 
 		for (ComponentPart part : parts) {
 			if (skipping) {
-				if (part instanceof AbstractData) {
+				if (part instanceof AbstractData || part instanceof AbstractPrimitiveData
+						|| part instanceof AbstractMappedData) {
 					if (part.getSerial() < 0) {
 						throw new ChartException(SKIP_DATA + part.className());
 					}
@@ -112,6 +152,7 @@ public class ComponentParts implements Iterable<ComponentPart> {
 		}
 
 		parts.addAll(components);
+		changed();
 
 		return this;
 	}
@@ -119,26 +160,47 @@ public class ComponentParts implements Iterable<ComponentPart> {
 	public ComponentParts setupPartSerial() {
 		for (ComponentEncoder encoder : SOChart.encoders) {
 			int serial = 0;
-			List<ComponentPart> encodePartList = parts.stream()
-					.filter(part -> encoder.support(part) && part.getSerial() == -2).collect(Collectors.toList());
-			Map<ComponentPart, List<ComponentPart>> serialPartMap = encodePartList.stream()
-					.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.toList()));
-			for (List<ComponentPart> serialPartList : serialPartMap.values()) {
-				for (ComponentPart serialPart : serialPartList) {
-					serialPart.setSerial(serial);
+			// Parts are shared by identity: a part that appears more than once already
+			// has its serial when it is seen again (comparing parts via equals/hashCode
+			// would be costly for data and would merge different data with equal values)
+			for (ComponentPart part : partsOf(encoder.getPartType())) {
+				if (part.getSerial() == -2) {
+					part.setSerial(serial++);
 				}
-				serial++;
 			}
 		}
 
 		parts.sort(Comparator.comparing(ComponentPart::getSerial));
+		changed();
+
+		layout = 17;
+		for (ComponentPart part : parts) {
+			if (part instanceof AbstractDataProvider) {
+				continue;
+			}
+			layout = 31 * (31 * layout + part.getId()) + part.getSerial();
+		}
 
 		return this;
 	}
 
+	/**
+	 * Get the layout of the parts. Parts refer to other parts via their serials
+	 * and thus, a fragment encoded earlier for a part can be reused only if the
+	 * layout is not changed. (Data is not taken into account because only charts
+	 * refer to data and charts are never reused).
+	 *
+	 * @return Hash of the Ids and serials of the parts.
+	 */
+	public long getLayout() {
+		return layout;
+	}
+
 	public ComponentParts clear() {
 		parts.clear();
+		changed();
 		skipping = false;
+		layout = 0;
 
 		return this;
 	}
@@ -152,24 +214,47 @@ public class ComponentParts implements Iterable<ComponentPart> {
 		return parts.stream();
 	}
 
+	/**
+	 * Get the parts of the given type (in the order of the parts). The parts of a
+	 * type are collected only once and reused until the parts are changed, so
+	 * that encoders do not need to scan all the parts.
+	 *
+	 * @param <P>  Type of the parts.
+	 * @param type Type of the parts (a class or an interface).
+	 * @return Unmodifiable list of the parts.
+	 */
+	public <P> List<P> partsOf(Class<P> type) {
+		@SuppressWarnings("unchecked")
+		List<P> typeParts = (List<P>) partsByType.computeIfAbsent(type, t -> Collections.unmodifiableList(
+				parts.stream().filter(type::isInstance).map(type::cast).collect(Collectors.toList())));
+		return typeParts;
+	}
+
+	private void changed() {
+		partsByType.clear();
+		dataSetEncoding = null;
+	}
+
 	public boolean isDataSetEncoding() {
-		return dataProviderStream().allMatch(dataProvider -> dataProvider.isDataSetEncoding());
+		if (dataSetEncoding == null) {
+			dataSetEncoding = dataProviderStream().allMatch(dataProvider -> dataProvider.isDataSetEncoding());
+		}
+		return dataSetEncoding;
 	}
 
 	public Stream<AbstractDataProvider<?>> dataProviderStream() {
-		return stream().filter(part -> part instanceof AbstractDataProvider)
-				.map(part -> (AbstractDataProvider<?>) part);
+		return partsOf(AbstractDataProvider.class).stream().map(part -> (AbstractDataProvider<?>) part);
 	}
 
 	public Stream<CategoryDataProvider> categoryDataProviderStream() {
-		return stream().filter(part -> part instanceof CategoryDataProvider).map(part -> (CategoryDataProvider) part);
+		return partsOf(CategoryDataProvider.class).stream();
 	}
 
 	public Stream<DataProvider> valueDataProviderStream() {
-		return stream().filter(part -> part instanceof DataProvider).map(part -> (DataProvider) part);
+		return partsOf(DataProvider.class).stream();
 	}
 
-	private Class<?> getClassWithInterface(Class<?> clazz, Class<?> interfaze) {
+	private static Class<?> getClassWithInterface(Class<?> clazz, Class<?> interfaze) {
 		while (!Objects.equals(clazz, Object.class)) {
 			for (Class<?> clazzInterface : clazz.getInterfaces()) {
 				if (Objects.equals(clazzInterface, interfaze)) {
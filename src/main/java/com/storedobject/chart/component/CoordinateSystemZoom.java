@@ -70,6 +70,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * Enable the zooming feature.
 	 */
 	public void enable() {
+		changed();
 		if (disabled == null || !disabled)
 			return;
 
@@ -80,6 +81,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * Disable the zooming feature.
 	 */
 	public void disable() {
+		changed();
 		disabled = true;
 	}
 
@@ -89,6 +91,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param zoomOnMouseWheel True or false.
 	 */
 	public void zoomOnMouseWheel(boolean zoomOnMouseWheel) {
+		changed();
 		this.zoomOnMouseWheel = zoomOnMouseWheel;
 	}
 
@@ -99,6 +102,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param key Special key to press while moving the mouse wheel.
 	 */
 	public void zoomOnMouseWheel(Key key) {
+		changed();
 		this.zoomOnMouseWheel = key;
 	}
 
@@ -108,6 +112,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param moveOnMouseWheel True or false.
 	 */
 	public void moveOnMouseWheel(boolean moveOnMouseWheel) {
+		changed();
 		this.moveOnMouseWheel = moveOnMouseWheel;
 	}
 
@@ -118,6 +123,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param key Special key to press while moving the mouse wheel.
 	 */
 	public void moveOnMouseWheel(Key key) {
+		changed();
 		this.moveOnMouseWheel = key;
 	}
 
@@ -127,6 +133,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param moveOnMouseMove True or false.
 	 */
 	public void moveOnMouseMove(boolean moveOnMouseMove) {
+		changed();
 		this.moveOnMouseMove = moveOnMouseMove;
 	}
 
@@ -137,6 +144,7 @@ public class CoordinateSystemZoom extends AbstractDataZoom {
 	 * @param key Special key to press while moving the mouse.
 	 */
 	public void moveOnMouseMove(Key key) {
+		changed();
 		this.moveOnMouseMove = key;
 	}
 }
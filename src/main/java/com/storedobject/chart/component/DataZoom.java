@@ -83,6 +83,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * Show this.
 	 */
 	public void show() {
+		changed();
 		show = true;
 	}
 
@@ -90,6 +91,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * Hide this.
 	 */
 	public void hide() {
+		changed();
 		show = false;
 	}
 
@@ -99,6 +101,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 			return null;
 		}
 		if (position == null && create) {
+			changed();
 			position = new Position();
 		}
 		return position;
@@ -106,6 +109,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 
 	@Override
 	public final void setPosition(Position position) {
+		changed();
 		if (this instanceof HasPolarProperty) {
 			return;
 		}
@@ -127,6 +131,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * @param background Background color.
 	 */
 	public void setBackground(Color background) {
+		changed();
 		this.background = background;
 	}
 
@@ -145,6 +150,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * @param fillerColor Filler color.
 	 */
 	public void setFillerColor(Color fillerColor) {
+		changed();
 		this.fillerColor = fillerColor;
 	}
 
@@ -163,6 +169,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * @param borderColor Border color.
 	 */
 	public void setBorderColor(Color borderColor) {
+		changed();
 		this.borderColor = borderColor;
 	}
 
@@ -171,6 +178,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	}
 
 	public void setHandleSize(Integer handleSize) {
+		changed();
 		this.handleSize = handleSize;
 	}
 
@@ -182,6 +190,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 */
 	public final HandleStyle getHandleStyle(boolean create) {
 		if (handleStyle == null && create) {
+			changed();
 			handleStyle = new HandleStyle();
 		}
 		return handleStyle;
@@ -193,6 +202,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * @param handleStyle Handle style.
 	 */
 	public void setHandleStyle(HandleStyle handleStyle) {
+		changed();
 		this.handleStyle = handleStyle;
 	}
 
@@ -204,6 +214,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 */
 	public DataShadowStyle getDataShadowStyle(boolean create) {
 		if (dataShadowStyle == null && create) {
+			changed();
 			dataShadowStyle = new DataShadowStyle();
 		}
 		return dataShadowStyle;
@@ -215,6 +226,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 	 * @param dataShadowStyle Data shadow style.
 	 */
 	public void setDataShadowStyle(DataShadowStyle dataShadowStyle) {
+		changed();
 		this.dataShadowStyle = dataShadowStyle;
 	}
 
@@ -265,6 +277,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param color Color.
 		 */
 		public void setColor(Color color) {
+			changed();
 			this.color = color;
 		}
 
@@ -283,6 +296,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param color Border color.
 		 */
 		public void setBorderColor(Color color) {
+			changed();
 			this.borderColor = color;
 		}
 
@@ -301,6 +315,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param borderWidth Border width.
 		 */
 		public void setBorderWidth(int borderWidth) {
+			changed();
 			this.borderWidth = borderWidth;
 		}
 
@@ -319,6 +334,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param borderType Border type.
 		 */
 		public void setBorderType(LineStyle.Type borderType) {
+			changed();
 			this.borderType = borderType;
 		}
 
@@ -330,6 +346,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 */
 		public final Shadow getShadow(boolean create) {
 			if (shadow == null && create) {
+				changed();
 				shadow = new Shadow();
 			}
 			return shadow;
@@ -341,6 +358,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param shadow Shadow.
 		 */
 		public void setShadow(Shadow shadow) {
+			changed();
 			this.shadow = shadow;
 		}
 	}
@@ -381,6 +399,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 */
 		public final LineStyle getLineStyle(boolean create) {
 			if (lineStyle == null && create) {
+				changed();
 				lineStyle = new LineStyle();
 			}
 			return lineStyle;
@@ -392,6 +411,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param lineStyle Line style.
 		 */
 		public void setLineStyle(LineStyle lineStyle) {
+			changed();
 			this.lineStyle = lineStyle;
 		}
 
@@ -403,6 +423,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 */
 		public final AreaStyle getAreaStyle(boolean create) {
 			if (areaStyle == null && create) {
+				changed();
 				areaStyle = new AreaStyle();
 			}
 			return areaStyle;
@@ -414,6 +435,7 @@ public class DataZoom extends AbstractDataZoom implements HasPosition {
 		 * @param areaStyle Area style.
 		 */
 		public void setAreaStyle(AreaStyle areaStyle) {
+			changed();
 			this.areaStyle = areaStyle;
 		}
 	}
@@ -119,22 +119,24 @@ public class FunnelChart extends SelfPositioningChart {
 	public void encodeJSON(StringBuilder sb) {
 		super.encodeJSON(sb);
 		if (mouthSize != -100) {
-			sb.append(',');
+			ComponentPart.addComma(sb);
 			sb.append("\"maxSize\":").append(Size.code(mouthSize));
 		}
 		if (tailSize != 0) {
-			sb.append(',');
+			ComponentPart.addComma(sb);
 			sb.append("\"minSize\":").append(Size.code(tailSize));
 		}
 		if (!sorted || inverted) {
-			sb.append(",\"sort\":\"").append(!sorted ? "none" : "ascending").append('"');
+			ComponentPart.addComma(sb);
+			sb.append("\"sort\":\"").append(!sorted ? "none" : "ascending").append('"');
 		}
 		if (sliceGap > 0) {
-			sb.append(',');
+			ComponentPart.addComma(sb);
 			ComponentPart.encode(sb, "gap", sliceGap);
 		}
 		if (align != 0) {
-			sb.append(",\"funnelAlign\":\"").append(align < 0 ? "left" : "right").append('"');
+			ComponentPart.addComma(sb);
+			sb.append("\"funnelAlign\":\"").append(align < 0 ? "left" : "right").append('"');
 		}
 	}
 
@@ -130,7 +130,8 @@ public class GaugeChart extends AbstractDataChart implements HasPolarProperty {
 		if (skippingData) {
 			return;
 		}
-		sb.append(",\"data\":[");
+		ComponentPart.addComma(sb);
+		sb.append("\"data\":[");
 		for (Needle needle : needles) {
 			ComponentPart.encodeProperty(sb, needle);
 		}
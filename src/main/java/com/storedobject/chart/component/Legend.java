@@ -59,12 +59,14 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 	 * Display it vertically.
 	 */
 	public void showVertically() {
+		changed();
 		vertical = true;
 	}
 
 	@Override
 	public final Position getPosition(boolean create) {
 		if (position == null && create) {
+			changed();
 			position = new Position();
 		}
 		return position;
@@ -72,6 +74,7 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 
 	@Override
 	public final void setPosition(Position position) {
+		changed();
 		this.position = position;
 	}
 
@@ -83,6 +86,7 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 	 */
 	public final TextStyle getTextStyle(boolean create) {
 		if (textStyle == null && create) {
+			changed();
 			textStyle = new TextStyle();
 		}
 		return textStyle;
@@ -94,12 +98,14 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 	 * @param textStyle Text style to set.
 	 */
 	public void setTextStyle(TextStyle textStyle) {
+		changed();
 		this.textStyle = textStyle;
 	}
 
 	@Override
 	public Padding getPadding(boolean create) {
 		if (padding == null && create) {
+			changed();
 			padding = new Padding();
 		}
 		return padding;
@@ -107,6 +113,7 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 
 	@Override
 	public void setPadding(Padding padding) {
+		changed();
 		this.padding = padding;
 	}
 
@@ -119,6 +126,7 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 	 */
 	public final Border getBorder(boolean create) {
 		if (border == null && create) {
+			changed();
 			border = new Border();
 		}
 		return border;
@@ -130,6 +138,7 @@ public class Legend extends VisiblePart implements Component, HasPosition, HasPa
 	 * @param border Border.
 	 */
 	public void setBorder(Border border) {
+		changed();
 		this.border = border;
 	}
 }
@@ -56,7 +56,8 @@ public class LineChart extends XYChart {
 	public void encodeJSON(StringBuilder sb) {
 		super.encodeJSON(sb);
 		if (smoothness != null) {
-			sb.append(",\"smooth\":");
+			ComponentPart.addComma(sb);
+			sb.append("\"smooth\":");
 			if (smoothness instanceof Number) {
 				sb.append(((Number) smoothness).intValue() / 100.0);
 			} else {
@@ -65,7 +66,8 @@ public class LineChart extends XYChart {
 			smoothness = null;
 		}
 		if (stepped != null) {
-			sb.append(",\"step\":").append(stepped);
+			ComponentPart.addComma(sb);
+			sb.append("\"step\":").append(stepped);
 			stepped = null;
 		}
 		if (pointSymbol != null) {
@@ -60,7 +60,8 @@ public class NightingaleRoseChart extends DonutChart {
 	@Override
 	public void encodeJSON(StringBuilder sb) {
 		super.encodeJSON(sb);
-		sb.append(",\"roseType\":\"");
+		ComponentPart.addComma(sb);
+		sb.append("\"roseType\":\"");
 		sb.append(percentage ? "radius" : "area");
 		sb.append('"');
 	}
@@ -95,7 +95,8 @@ public class RadarChart extends AbstractDataChart {
 		if (skippingData) {
 			return;
 		}
-		sb.append(",\"data\":[");
+		ComponentPart.addComma(sb);
+		sb.append("\"data\":[");
 		String name;
 		int i = 1;
 		for (DataProvider data : dataList) {
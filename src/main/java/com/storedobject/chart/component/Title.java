@@ -32,6 +32,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	private Position position;
 	private TextStyle textStyle, subtextStyle;
 	private Integer gap;
+	private final TextStyle.OuterProperties outerProperties = new TextStyle.OuterProperties();
 
 	public Title() {
 	}
@@ -54,7 +55,6 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 
 		property("text", text);
 
-		TextStyle.OuterProperties outerProperties = new TextStyle.OuterProperties();
 		String subText = getSubtext();
 		if (subText != null) {
 			property("subtext", subText);
@@ -100,6 +100,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 * @param text Text of the title.
 	 */
 	public Title setText(String text) {
+		changed();
 		this.text = text;
 		return this;
 	}
@@ -119,6 +120,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 * @param subtext Text of the sub-title. It could be <code>null</code>.
 	 */
 	public Title setSubtext(String subtext) {
+		changed();
 		this.subtext = subtext;
 		return this;
 	}
@@ -126,6 +128,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	@Override
 	public final Position getPosition(boolean create) {
 		if (position == null && create) {
+			changed();
 			position = new Position();
 		}
 		return position;
@@ -133,6 +136,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 
 	@Override
 	public final void setPosition(Position position) {
+		changed();
 		this.position = position;
 	}
 
@@ -144,6 +148,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 */
 	public final TextStyle getTextStyle(boolean create) {
 		if (textStyle == null && create) {
+			changed();
 			textStyle = new TextStyle();
 		}
 		return textStyle;
@@ -155,6 +160,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 * @param textStyle Text style to set.
 	 */
 	public Title setTextStyle(TextStyle textStyle) {
+		changed();
 		this.textStyle = textStyle;
 		return this;
 	}
@@ -167,6 +173,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 */
 	public final TextStyle getSubtextStyle(boolean create) {
 		if (subtextStyle == null && create) {
+			changed();
 			subtextStyle = new TextStyle();
 		}
 		return subtextStyle;
@@ -179,6 +186,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 * @return
 	 */
 	public Title setSubtextStyle(TextStyle textStyle) {
+		changed();
 		this.subtextStyle = textStyle;
 		return this;
 	}
@@ -199,6 +207,7 @@ public class Title extends VisiblePart implements Component, HasPosition, Single
 	 * @return
 	 */
 	public Title setGap(Integer gap) {
+		changed();
 		this.gap = gap;
 		return this;
 	}
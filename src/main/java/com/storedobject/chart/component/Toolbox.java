@@ -68,6 +68,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 	@Override
 	public final Position getPosition(boolean create) {
 		if (position == null && create) {
+			changed();
 			position = new Position();
 		}
 		return position;
@@ -75,6 +76,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 
 	@Override
 	public final void setPosition(Position position) {
+		changed();
 		this.position = position;
 	}
 
@@ -82,6 +84,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 	 * Change the orientation of the toolbox display to vertical.
 	 */
 	public void showVertically() {
+		changed();
 		vertical = true;
 	}
 
@@ -91,6 +94,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 	 * @param buttons Buttons to add.
 	 */
 	public void addButton(ToolboxButton... buttons) {
+		changed();
 		if (buttons != null) {
 			this.buttons.addAll(Arrays.asList(buttons));
 		}
@@ -102,6 +106,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 	 * @param buttons Buttons to remove.
 	 */
 	public void removeButton(ToolboxButton... buttons) {
+		changed();
 		if (buttons != null) {
 			this.buttons.removeAll(Arrays.asList(buttons));
 		}
@@ -154,6 +159,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 		 * @param resolution Image resolution.
 		 */
 		public void setResolution(int resolution) {
+			changed();
 			this.resolution = resolution;
 		}
 
@@ -161,8 +167,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 		public void encodeJSON(StringBuilder sb) {
 			super.encodeJSON(sb);
 			if (resolution > 1) {
-				sb.append(',');
-				ComponentPart.encode(sb, "pixelRatio", resolution);
+				ComponentPart.encode(sb, "pixelRatio", resolution, true);
 			}
 		}
 	}
@@ -247,6 +252,7 @@ public class Toolbox extends VisiblePart implements Component, HasPosition, Sing
 		 * @param resetCaption Caption.
 		 */
 		public void setResetCaption(String resetCaption) {
+			changed();
 			this.resetCaption = resetCaption;
 		}
 	}
@@ -74,6 +74,7 @@ public abstract class ToolboxButton extends PropertyComponentValue implements Co
 	 * Show this part.
 	 */
 	public void show() {
+		changed();
 		show = true;
 	}
 
@@ -81,6 +82,7 @@ public abstract class ToolboxButton extends PropertyComponentValue implements Co
 	 * Hide this part.
 	 */
 	public void hide() {
+		changed();
 		show = false;
 	}
 
@@ -99,6 +101,7 @@ public abstract class ToolboxButton extends PropertyComponentValue implements Co
 	 * @param caption Caption.
 	 */
 	public void setCaption(String caption) {
+		changed();
 		this.caption = caption;
 	}
 }
@@ -49,18 +49,21 @@ public class Tooltip extends VisiblePart implements Component, SinglePart, SkipP
 	}
 
 	public Tooltip setTrigger(Trigger trigger) {
+		changed();
 		this.trigger = trigger;
 		return this;
 	}
 
 	public Axis.Pointer getAxisPointer(boolean create) {
 		if (axisPointer == null && create) {
+			changed();
 			axisPointer = new Axis.Pointer();
 		}
 		return axisPointer;
 	}
 
 	public Tooltip setAxisointer(Axis.Pointer axisPointer) {
+		changed();
 		this.axisPointer = axisPointer;
 		return this;
 	}
@@ -80,6 +83,7 @@ public class Tooltip extends VisiblePart implements Component, SinglePart, SkipP
 
 	@Override
 	public Tooltip setFormatter(Formatter formatter) {
+		changed();
 		this.formatter = formatter.toString();
 		return this;
 	}
@@ -16,6 +16,12 @@
 
 package com.storedobject.chart.component;
 
+import static com.storedobject.chart.util.ComponentPropertyUtil.encodeStream;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
 import com.storedobject.chart.coordinate_system.HasPosition;
 import com.storedobject.chart.coordinate_system.Position;
 import com.storedobject.chart.data.TreeDataProvider;
@@ -29,9 +35,13 @@ import com.storedobject.chart.util.ChartException;
  */
 public class TreeChart extends AbstractDataChart implements HasPosition {
 
+	private static final String ROOT_PATH = "0";
+
 	private TreeDataProvider data;
 	private Position position;
 	private Orientation orientation;
+	private int lazyDepth;
+	private final Set<String> expandedPaths = new HashSet<>();
 
 	/**
 	 * Create a tree chart. Data can be set later.
@@ -47,6 +57,7 @@ public class TreeChart extends AbstractDataChart implements HasPosition {
 	 */
 	public TreeChart(TreeDataProvider data) {
 		super(ChartType.Tree);
+		this.data = data;
 		getOrientation(true).radial();
 	}
 
@@ -66,6 +77,96 @@ public class TreeChart extends AbstractDataChart implements HasPosition {
 	 */
 	public void setTreeData(TreeDataProvider data) {
 		this.data = data;
+		expandedPaths.clear();
+	}
+
+	/**
+	 * Get the depth up to which the nodes are sent to the client-side. (See
+	 * {@link #setLazyDepth(int)}).
+	 *
+	 * @return Depth (0 means that the whole tree is sent).
+	 */
+	public int getLazyDepth() {
+		return lazyDepth;
+	}
+
+	/**
+	 * Set the depth up to which the nodes are sent to the client-side. The child
+	 * nodes of a node below that depth are sent only when that node is expanded
+	 * at the client-side and then, only the subtree under that node is updated.
+	 * This makes large trees usable since only a few levels are typically
+	 * viewed.
+	 *
+	 * @param lazyDepth Depth (0 to send the whole tree, the default).
+	 */
+	public void setLazyDepth(int lazyDepth) {
+		this.lazyDepth = Math.max(0, lazyDepth);
+		expandedPaths.clear();
+	}
+
+	/**
+	 * Encode the child nodes of a node that is expanded at the client-side. The
+	 * node is remembered as expanded so that its child nodes are sent along with
+	 * the tree when it is sent again. (This is used internally).
+	 *
+	 * @param path Path of the node (indices of the nodes from the root,
+	 *             separated by dots).
+	 * @return JSON array of the child nodes or <code>null</code> if there is no
+	 *         node at the given path.
+	 */
+	public String expand(String path) {
+		TreeDataProvider node = node(path);
+		if (node == null) {
+			return null;
+		}
+		expandedPaths.add(path);
+		StringBuilder sb = new StringBuilder();
+		encodeChildren(sb, node, path, lazyDepth, "[", true);
+		return sb.toString();
+	}
+
+	private TreeDataProvider node(String path) {
+		String[] indices = path.split("\\.");
+		if (data == null || !ROOT_PATH.equals(indices[0])) {
+			return null;
+		}
+		TreeDataProvider node = data;
+		try {
+			for (int i = 1; i < indices.length && node != null; i++) {
+				Stream<? extends TreeDataProvider> children = node.getChildren();
+				node = children == null ? null
+						: children.skip(Integer.parseUnsignedInt(indices[i])).findFirst().orElse(null);
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return node;
+	}
+
+	private void encodeLazy(StringBuilder sb, TreeDataProvider node, String path, int depth) {
+		sb.append('{');
+		node.encodeNode(sb);
+		if (depth > 0 || expandedPaths.contains(path)) {
+			encodeChildren(sb, node, path, depth > 0 ? depth : lazyDepth, ",\"children\":[", false);
+		} else {
+			Stream<? extends TreeDataProvider> children = node.getChildren();
+			if (children != null && children.findAny().isPresent()) {
+				// A placeholder child makes the node expandable at the client-side
+				sb.append(",\"collapsed\":true,\"lazy\":\"").append(path)
+						.append("\",\"children\":[{\"name\":\"...\"}]");
+			}
+		}
+		sb.append('}');
+	}
+
+	private void encodeChildren(StringBuilder sb, TreeDataProvider node, String path, int depth, String prefix,
+			boolean appendAnyway) {
+		Stream<? extends TreeDataProvider> children = node.getChildren();
+		if (children == null) {
+			children = Stream.empty();
+		}
+		encodeStream(sb, children, prefix, "]", appendAnyway,
+				(strbuilder, child, index) -> encodeLazy(strbuilder, child, path + "." + index, depth - 1));
 	}
 
 	@Override
@@ -80,12 +181,21 @@ public class TreeChart extends AbstractDataChart implements HasPosition {
 	public void encodeJSON(StringBuilder sb) {
 		super.encodeJSON(sb);
 		if (!skippingData) {
-			sb.append(",\"data\":[");
-			data.encodeJSON(sb);
+			ComponentPart.addComma(sb);
+			sb.append("\"data\":[");
+			if (lazyDepth > 0) {
+				encodeLazy(sb, data, ROOT_PATH, lazyDepth);
+			} else {
+				data.encodeJSON(sb);
+			}
 			sb.append(']');
 		}
 		ComponentPart.addComma(sb);
 		ComponentPart.encode(sb, "expandAndCollapse", true);
+		if (lazyDepth > 0) {
+			// Nodes that are sent are expanded (the lazy ones are marked as collapsed)
+			ComponentPart.encode(sb, "initialTreeDepth", -1, true);
+		}
 		ComponentPart.encodeProperty(sb, orientation);
 	}
 
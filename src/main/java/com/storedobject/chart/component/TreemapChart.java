@@ -18,22 +18,39 @@ package com.storedobject.chart.component;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import com.storedobject.chart.coordinate_system.HasPosition;
 import com.storedobject.chart.coordinate_system.Position;
 import com.storedobject.chart.data.TreeDataProvider;
 import com.storedobject.chart.util.ChartException;
+import com.storedobject.chart.util.JsonCodec;
 
 /**
  * Treemap chart.
  *
+ * <p>
+ * By default, all the data is sent to the client-side. For large trees, a
+ * pruned mode can be used by setting a top count (only the largest child
+ * nodes of every node are sent, the rest are aggregated into a single node)
+ * and/or a lazy depth (deeper levels are sent only when the user drills down
+ * into them).
+ * </p>
+ *
  * @author Syam
  */
 public class TreemapChart extends AbstractDataChart implements HasPosition {
 
 	private final List<TreeDataProvider> data = new ArrayList<>();
 	private Position position;
+	private int leafDepth = 1;
+	private int topCount;
+	private int lazyDepth;
+	private String otherName = "Other";
+	private final Set<String> expandedPaths = new HashSet<>();
 
 	/**
 	 * Create a tree chart of the set of data.
@@ -62,6 +79,7 @@ public class TreemapChart extends AbstractDataChart implements HasPosition {
 	public void addData(TreeDataProvider... data) {
 		if (data != null) {
 			this.data.addAll(Arrays.asList(data));
+			expandedPaths.clear();
 		}
 	}
 
@@ -73,6 +91,363 @@ public class TreemapChart extends AbstractDataChart implements HasPosition {
 	public void removeData(TreeDataProvider... data) {
 		if (data != null) {
 			this.data.removeAll(Arrays.asList(data));
+			expandedPaths.clear();
+		}
+	}
+
+	/**
+	 * Get the number of levels shown at a time.
+	 *
+	 * @return Leaf depth.
+	 */
+	public int getLeafDepth() {
+		return leafDepth;
+	}
+
+	/**
+	 * Set the number of levels shown at a time. The deeper levels are shown when
+	 * the user drills down. (Default is 1).
+	 *
+	 * @param leafDepth Leaf depth.
+	 */
+	public void setLeafDepth(int leafDepth) {
+		this.leafDepth = Math.max(1, leafDepth);
+	}
+
+	/**
+	 * Get the maximum number of child nodes sent for a node. (See
+	 * {@link #setTopCount(int)}).
+	 *
+	 * @return Top count (0 means that all child nodes are sent).
+	 */
+	public int getTopCount() {
+		return topCount;
+	}
+
+	/**
+	 * Set the maximum number of child nodes sent for a node. Only the child
+	 * nodes with the largest values are sent and the rest are aggregated into a
+	 * single node (see {@link #setOtherName(String)}) so that the rectangles that
+	 * are too small to be seen are not laid out at the client-side.
+	 *
+	 * @param topCount Top count (0 to send all child nodes, the default).
+	 */
+	public void setTopCount(int topCount) {
+		this.topCount = Math.max(0, topCount);
+	}
+
+	/**
+	 * Get the depth up to which the nodes are sent to the client-side. (See
+	 * {@link #setLazyDepth(int)}).
+	 *
+	 * @return Depth (0 means that all levels are sent).
+	 */
+	public int getLazyDepth() {
+		return lazyDepth;
+	}
+
+	/**
+	 * Set the depth up to which the nodes are sent to the client-side. The child
+	 * nodes of a node below that depth are sent only when the user drills down
+	 * into that node.
+	 *
+	 * @param lazyDepth Depth (0 to send all levels, the default).
+	 */
+	public void setLazyDepth(int lazyDepth) {
+		this.lazyDepth = Math.max(0, lazyDepth);
+		expandedPaths.clear();
+	}
+
+	/**
+	 * Get the name of the node that aggregates the child nodes that are not sent.
+	 *
+	 * @return Name.
+	 */
+	public String getOtherName() {
+		return otherName;
+	}
+
+	/**
+	 * Set the name of the node that aggregates the child nodes that are not sent.
+	 * (Default is "Other").
+	 *
+	 * @param otherName Name.
+	 */
+	public void setOtherName(String otherName) {
+		this.otherName = otherName == null ? "Other" : otherName;
+	}
+
+	private boolean isPruned() {
+		return topCount > 0 || lazyDepth > 0;
+	}
+
+	/**
+	 * Encode the child nodes of a node that the user drilled down into. The node
+	 * is remembered as expanded so that its child nodes are sent along with the
+	 * rest of the data when it is sent again. (This is used internally).
+	 *
+	 * @param path Path of the node (index of the data followed by the indices of
+	 *             the nodes, separated by dots).
+	 * @return JSON array of the child nodes or <code>null</code> if there is no
+	 *         node at the given path.
+	 */
+	public String expand(String path) {
+		TreeDataProvider node = node(path);
+		if (node == null) {
+			return null;
+		}
+		expandedPaths.add(path);
+		StringBuilder sb = new StringBuilder();
+		new PrunedEncoder(sb, path, true).encodeChildren(node, lazyDepth);
+		return sb.toString();
+	}
+
+	private TreeDataProvider node(String path) {
+		String[] indices = path.split("\\.");
+		try {
+			int index = Integer.parseUnsignedInt(indices[0]);
+			TreeDataProvider node = index < data.size() ? data.get(index) : null;
+			for (int i = 1; i < indices.length && node != null; i++) {
+				Stream<? extends TreeDataProvider> children = node.getChildren();
+				node = children == null ? null
+						: children.skip(Integer.parseUnsignedInt(indices[i])).findFirst().orElse(null);
+			}
+			return node;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static double value(TreeDataProvider node) {
+		Number value = node.getValue();
+		return value == null ? 0 : value.doubleValue();
+	}
+
+	/**
+	 * Encoder of the pruned tree. Like {@link com.storedobject.chart.data.ColumnarTreeData},
+	 * an explicit stack of the nodes being encoded is used instead of recursion.
+	 * The child nodes of the nodes on the stack (and the order in which they are
+	 * encoded) are kept in buffers that are shared by all the nodes.
+	 */
+	private class PrunedEncoder {
+
+		private final StringBuilder sb, path;
+		private final boolean childrenOnly;
+		// Child nodes and their values of the nodes on the stack
+		private TreeDataProvider[] nodes = new TreeDataProvider[64];
+		private double[] values = new double[64];
+		private int size;
+		// Indices of the child nodes to be encoded (largest first if pruned)
+		private int[] order = new int[64];
+		private int orderSize;
+		// Stack
+		private int[] base = new int[16], total = new int[16], count = new int[16], orderBase = new int[16],
+				position = new int[16], depth = new int[16], pathLength = new int[16];
+		private double[] other = new double[16];
+		private int top = -1;
+
+		private PrunedEncoder(StringBuilder sb, String path, boolean childrenOnly) {
+			this.sb = sb;
+			this.path = new StringBuilder(path);
+			this.childrenOnly = childrenOnly;
+		}
+
+		/**
+		 * Encode a node and its sub-tree.
+		 */
+		private void encode(TreeDataProvider node, int depth) {
+			open(node, depth, path.length());
+			run();
+		}
+
+		/**
+		 * Encode the child nodes of a node as an array.
+		 */
+		private void encodeChildren(TreeDataProvider node, int depth) {
+			sb.append('[');
+			if (push(node, depth, path.length())) {
+				run();
+			} else {
+				sb.append(']');
+			}
+		}
+
+		private void run() {
+			while (top >= 0) {
+				int f = top;
+				if (position[f] < count[f]) {
+					if (position[f] > 0) {
+						sb.append(',');
+					}
+					int index = order[orderBase[f] + position[f]++];
+					int length = path.length();
+					path.append('.').append(index);
+					open(nodes[base[f] + index], depth[f] - 1, length);
+					continue;
+				}
+				if (count[f] < total[f]) {
+					JsonCodec.appendString(sb.append(",{\"name\":"), otherName).append(",\"value\":");
+					JsonCodec.appendDouble(sb, other[f]).append('}');
+				}
+				sb.append(']');
+				if (f > 0 || !childrenOnly) {
+					sb.append('}');
+				}
+				path.setLength(pathLength[f]);
+				Arrays.fill(nodes, base[f], size, null);
+				size = base[f];
+				orderSize = orderBase[f];
+				--top;
+			}
+		}
+
+		/**
+		 * Encode a node. If its child nodes are to be encoded, they are pushed on to
+		 * the stack and the node is closed when they are popped out.
+		 */
+		private void open(TreeDataProvider node, int depth, int pathLength) {
+			sb.append('{');
+			node.encodeNode(sb);
+			if (depth > 0 || expandedPaths.contains(path.toString())) {
+				if (push(node, depth > 0 ? depth : lazyDepth, pathLength)) {
+					sb.append(",\"children\":[");
+					return;
+				}
+			} else {
+				Stream<? extends TreeDataProvider> children = node.getChildren();
+				if (children != null && children.findAny().isPresent()) {
+					// A placeholder child of the same size makes it possible to drill down
+					sb.append(",\"id\":\"").append(path).append("\",\"lazy\":\"").append(path)
+							.append("\",\"children\":[{\"name\":\"...\",\"value\":");
+					JsonCodec.appendDouble(sb, value(node)).append("}]");
+				}
+			}
+			sb.append('}');
+			path.setLength(pathLength);
+		}
+
+		private boolean push(TreeDataProvider node, int depth, int pathLength) {
+			int from = size;
+			Stream<? extends TreeDataProvider> children = node.getChildren();
+			if (children != null) {
+				children.forEach(this::add);
+			}
+			int n = size - from;
+			if (n == 0) {
+				return false;
+			}
+			if (++top == base.length) {
+				int length = top << 1;
+				base = Arrays.copyOf(base, length);
+				total = Arrays.copyOf(total, length);
+				count = Arrays.copyOf(count, length);
+				orderBase = Arrays.copyOf(orderBase, length);
+				position = Arrays.copyOf(position, length);
+				this.depth = Arrays.copyOf(this.depth, length);
+				this.pathLength = Arrays.copyOf(this.pathLength, length);
+				other = Arrays.copyOf(other, length);
+			}
+			int c = topCount > 0 && n > topCount ? topCount : n;
+			if (orderSize + c > order.length) {
+				order = Arrays.copyOf(order, Math.max(orderSize + c, order.length << 1));
+			}
+			base[top] = from;
+			total[top] = n;
+			count[top] = c;
+			orderBase[top] = orderSize;
+			position[top] = 0;
+			this.depth[top] = depth;
+			this.pathLength[top] = pathLength;
+			if (c < n) {
+				other[top] = selectLargest(from, n, c, orderSize);
+			} else {
+				for (int i = 0; i < n; i++) {
+					order[orderSize + i] = i;
+				}
+			}
+			orderSize += c;
+			return true;
+		}
+
+		private void add(TreeDataProvider node) {
+			if (size == nodes.length) {
+				nodes = Arrays.copyOf(nodes, size << 1);
+				values = Arrays.copyOf(values, size << 1);
+			}
+			values[size] = value(node);
+			nodes[size++] = node;
+		}
+
+		/**
+		 * Select the indices of the largest child nodes (largest first, in the order
+		 * of the nodes if the values are the same) using a min-heap of the indices.
+		 *
+		 * @return Sum of the values of the child nodes that are not selected.
+		 */
+		private double selectLargest(int from, int n, int c, int heap) {
+			double rest = 0;
+			for (int i = 0; i < c; i++) {
+				order[heap + i] = i;
+				siftUp(from, heap, i);
+			}
+			for (int i = c; i < n; i++) {
+				int smallest = order[heap];
+				if (Double.compare(values[from + i], values[from + smallest]) > 0) {
+					rest += values[from + smallest];
+					order[heap] = i;
+					siftDown(from, heap, c);
+				} else {
+					rest += values[from + i];
+				}
+			}
+			// Smallest ones are taken out to the end
+			for (int last = c - 1; last > 0; last--) {
+				int smallest = order[heap];
+				order[heap] = order[heap + last];
+				siftDown(from, heap, last);
+				order[heap + last] = smallest;
+			}
+			return rest;
+		}
+
+		private boolean smaller(int from, int i, int j) {
+			int c = Double.compare(values[from + i], values[from + j]);
+			return c < 0 || (c == 0 && i > j);
+		}
+
+		private void siftUp(int from, int heap, int k) {
+			while (k > 0) {
+				int parent = (k - 1) >> 1;
+				if (!smaller(from, order[heap + k], order[heap + parent])) {
+					return;
+				}
+				swap(heap + k, heap + parent);
+				k = parent;
+			}
+		}
+
+		private void siftDown(int from, int heap, int size) {
+			int k = 0;
+			while (true) {
+				int child = (k << 1) + 1;
+				if (child >= size) {
+					return;
+				}
+				if (child + 1 < size && smaller(from, order[heap + child + 1], order[heap + child])) {
+					++child;
+				}
+				if (!smaller(from, order[heap + child], order[heap + k])) {
+					return;
+				}
+				swap(heap + k, heap + child);
+				k = child;
+			}
+		}
+
+		private void swap(int i, int j) {
+			int t = order[i];
+			order[i] = order[j];
+			order[j] = t;
 		}
 	}
 
@@ -88,17 +463,23 @@ public class TreemapChart extends AbstractDataChart implements HasPosition {
 	public void encodeJSON(StringBuilder sb) {
 		super.encodeJSON(sb);
 		if (!skippingData) {
-			sb.append(",\"data\":[");
+			ComponentPart.addComma(sb);
+			sb.append("\"data\":[");
 			for (int i = 0; i < data.size(); i++) {
 				if (i > 0) {
 					sb.append(',');
 				}
-				data.get(i).encodeJSON(sb);
+				if (isPruned()) {
+					new PrunedEncoder(sb, String.valueOf(i), false).encode(data.get(i),
+							lazyDepth > 0 ? lazyDepth : Integer.MAX_VALUE);
+				} else {
+					data.get(i).encodeJSON(sb);
+				}
 			}
 			sb.append(']');
 		}
 		ComponentPart.addComma(sb);
-		ComponentPart.encode(sb, "leafDepth", 1);
+		ComponentPart.encode(sb, "leafDepth", leafDepth);
 	}
 
 	@Override
@@ -62,6 +62,7 @@ public class AngleAxis extends Axis {
 	 * direction.
 	 */
 	public void anticlockwise() {
+		changed();
 		clockwise = false;
 	}
 
@@ -80,6 +81,7 @@ public class AngleAxis extends Axis {
 	 * @param startingAngle Angle in degrees.
 	 */
 	public void setStartingAngle(int startingAngle) {
+		changed();
 		this.startingAngle = startingAngle;
 	}
 
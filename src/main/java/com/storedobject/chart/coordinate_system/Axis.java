@@ -20,6 +20,7 @@ import com.storedobject.chart.SOChart;
 import com.storedobject.chart.component.ComponentPart;
 import com.storedobject.chart.data.DataType;
 import com.storedobject.chart.encoder.ComponentEncoder;
+import com.storedobject.chart.encoder.EncodedFragment;
 import com.storedobject.chart.property.Area;
 import com.storedobject.chart.property.Color;
 import com.storedobject.chart.property.HasFormatter;
@@ -150,7 +151,10 @@ public abstract class Axis extends VisibleProperty {
 	}
 
 	Object value(Object value) {
-		return DataType.mapValue(value, dataType, type -> dataType = type);
+		return DataType.mapValue(value, dataType, type -> {
+			dataType = type;
+			changed();
+		});
 	}
 
 	void validate() throws ChartException {
@@ -178,6 +182,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param name Name to set.
 	 */
 	public void setName(String name) {
+		changed();
 		this.name = name;
 	}
 
@@ -186,6 +191,7 @@ public abstract class Axis extends VisibleProperty {
 	 * the opposite direction).
 	 */
 	public void invert() {
+		changed();
 		inverted = true;
 	}
 
@@ -206,6 +212,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param nameGap Gap in pixels.
 	 */
 	public void setNameGap(int nameGap) {
+		changed();
 		this.nameGap = nameGap;
 	}
 
@@ -224,6 +231,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param nameRotation Rotation.
 	 */
 	public void setNameRotation(int nameRotation) {
+		changed();
 		this.nameRotation = nameRotation;
 	}
 
@@ -242,6 +250,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param nameLocation Location to set.
 	 */
 	public void setNameLocation(Location nameLocation) {
+		changed();
 		this.nameLocation = Location.h(nameLocation);
 	}
 
@@ -253,6 +262,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final TextStyle getNameTextStyle(boolean create) {
 		if (nameTextStyle == null && create) {
+			changed();
 			nameTextStyle = new TextStyle();
 		}
 		return nameTextStyle;
@@ -264,6 +274,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param nameTextStyle Text style to set.
 	 */
 	public void setNameTextStyle(TextStyle nameTextStyle) {
+		changed();
 		this.nameTextStyle = nameTextStyle;
 	}
 
@@ -274,6 +285,7 @@ public abstract class Axis extends VisibleProperty {
 	 *            number of the category).
 	 */
 	public void setMin(Object min) {
+		changed();
 		this.min = value(min);
 	}
 
@@ -282,6 +294,7 @@ public abstract class Axis extends VisibleProperty {
 	 * the data.
 	 */
 	public void setMinAsMinData() {
+		changed();
 		min = "dataMin";
 	}
 
@@ -292,6 +305,7 @@ public abstract class Axis extends VisibleProperty {
 	 *            number of the category).
 	 */
 	public void setMax(Object max) {
+		changed();
 		this.max = value(max);
 	}
 
@@ -300,6 +314,7 @@ public abstract class Axis extends VisibleProperty {
 	 * the data.
 	 */
 	public void setMaxAsMaxData() {
+		changed();
 		max = "dataMax";
 	}
 
@@ -311,6 +326,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param divisions Number of divisions.
 	 */
 	public void setDivisions(int divisions) {
+		changed();
 		this.divisions = divisions;
 	}
 
@@ -323,6 +339,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param show True or false.
 	 */
 	public void showZeroPosition(boolean show) {
+		changed();
 		this.showZero = show;
 	}
 
@@ -334,6 +351,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final Line getLine(boolean create) {
 		if (line == null && create) {
+			changed();
 			line = new Line();
 		}
 		return line;
@@ -345,6 +363,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param line Line.
 	 */
 	public void setLine(Line line) {
+		changed();
 		this.line = line;
 	}
 
@@ -356,6 +375,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final AxisLabel getLabel(boolean create) {
 		if (label == null && create) {
+			changed();
 			label = new AxisLabel();
 		}
 		return label;
@@ -367,6 +387,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param label Label.
 	 */
 	public void setLabel(AxisLabel label) {
+		changed();
 		this.label = label;
 	}
 
@@ -378,6 +399,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final Ticks getTicks(boolean create) {
 		if (ticks == null && create) {
+			changed();
 			ticks = new Ticks();
 		}
 		return ticks;
@@ -389,6 +411,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param ticks Ticks.
 	 */
 	public void setTicks(Ticks ticks) {
+		changed();
 		this.ticks = ticks;
 	}
 
@@ -400,6 +423,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final MinorTicks getMinorTicks(boolean create) {
 		if (minorTicks == null && create) {
+			changed();
 			minorTicks = new MinorTicks();
 		}
 		return minorTicks;
@@ -411,6 +435,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param ticks Minor ticks.
 	 */
 	public void setMinorTicks(MinorTicks ticks) {
+		changed();
 		this.minorTicks = ticks;
 	}
 
@@ -422,6 +447,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final GridLines getGridLines(boolean create) {
 		if (gridLines == null && create) {
+			changed();
 			gridLines = new GridLines();
 		}
 		return gridLines;
@@ -433,6 +459,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param gridLines Grid-lines to set.
 	 */
 	public void setGridLines(GridLines gridLines) {
+		changed();
 		this.gridLines = gridLines;
 	}
 
@@ -444,6 +471,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final MinorGridLines getMinorGridLines(boolean create) {
 		if (minorGridLines == null && create) {
+			changed();
 			minorGridLines = new MinorGridLines();
 		}
 		return minorGridLines;
@@ -455,6 +483,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param gridLines Grid-lines to set.
 	 */
 	public void setMinorGridLines(MinorGridLines gridLines) {
+		changed();
 		this.minorGridLines = gridLines;
 	}
 
@@ -466,6 +495,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final GridAreas getGridAreas(boolean create) {
 		if (gridAreas == null && create) {
+			changed();
 			gridAreas = new GridAreas();
 		}
 		return gridAreas;
@@ -477,6 +507,7 @@ public abstract class Axis extends VisibleProperty {
 	 * @param gridAreas Grid-areas to set.
 	 */
 	public void setGridAreas(GridAreas gridAreas) {
+		changed();
 		this.gridAreas = gridAreas;
 	}
 
@@ -491,6 +522,7 @@ public abstract class Axis extends VisibleProperty {
 	 */
 	public final Pointer getPointer(boolean create) {
 		if (pointer == null && create) {
+			changed();
 			pointer = new Pointer();
 		}
 		return pointer;
@@ -502,28 +534,33 @@ public abstract class Axis extends VisibleProperty {
 	 * @param pointer Axis-pointer.
 	 */
 	public void setPointer(Pointer pointer) {
+		changed();
 		this.pointer = pointer;
 	}
 
 	public final Line getSplitLine(boolean create) {
 		if (splitLine == null && create) {
+			changed();
 			splitLine = new Line();
 		}
 		return splitLine;
 	}
 
 	public void setSplitLine(Line splitLine) {
+		changed();
 		this.splitLine = splitLine;
 	}
 
 	public final Line getMinorSplitLine() {
 		if (minorSplitLine == null) {
+			changed();
 			minorSplitLine = new Line();
 		}
 		return minorSplitLine;
 	}
 
 	public void setMinorSplitLine(Line minorSplitLine) {
+		changed();
 		this.minorSplitLine = minorSplitLine;
 	}
 
@@ -589,6 +626,7 @@ public abstract class Axis extends VisibleProperty {
 		 * Show labels.
 		 */
 		public void show() {
+			changed();
 			show = true;
 		}
 
@@ -596,6 +634,7 @@ public abstract class Axis extends VisibleProperty {
 		 * Hide labels.
 		 */
 		public void hide() {
+			changed();
 			show = false;
 		}
 
@@ -614,6 +653,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param gap Gap in pixels.
 		 */
 		public void setGap(Integer gap) {
+			changed();
 			this.gap = gap;
 		}
 
@@ -624,6 +664,7 @@ public abstract class Axis extends VisibleProperty {
 
 		@Override
 		public BaseAxisLabel setFormatter(Formatter formatter) {
+			changed();
 			this.formatter = formatter.cloneFormatTo(formatter.formatSize() - 1, "value").toString();
 			return this;
 		}
@@ -675,6 +716,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param rotation Rotation in degrees. (Must be between -90 and 90).
 		 */
 		public AxisLabel setRotation(int rotation) {
+			changed();
 			this.rotation = rotation;
 			return this;
 		}
@@ -694,6 +736,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param inside True if inside.
 		 */
 		public AxisLabel setInside(Boolean inside) {
+			changed();
 			this.inside = inside;
 			return this;
 		}
@@ -715,6 +758,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                     be determined automatically to eliminate labels-overlap.
 		 */
 		public AxisLabel setShowMaxLabel(Boolean showMaxLabel) {
+			changed();
 			this.showMaxLabel = showMaxLabel;
 			return this;
 		}
@@ -736,6 +780,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                     be determined automatically to eliminate labels-overlap.
 		 */
 		public AxisLabel setShowMinLabel(Boolean showMinLabel) {
+			changed();
 			this.showMinLabel = showMinLabel;
 			return this;
 		}
@@ -758,6 +803,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                 overlap.
 		 */
 		public AxisLabel setInterval(Integer interval) {
+			changed();
 			this.interval = interval;
 			return this;
 		}
@@ -808,6 +854,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param width Width of the tick.
 		 */
 		public void setWidth(Integer width) {
+			changed();
 			this.width = width;
 		}
 	}
@@ -849,6 +896,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param divisions Number of divisions.
 		 */
 		public void setDivisions(int divisions) {
+			changed();
 			this.divisions = divisions;
 		}
 	}
@@ -894,6 +942,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param inside True if inside.
 		 */
 		public void setInside(Boolean inside) {
+			changed();
 			this.inside = inside;
 		}
 
@@ -916,6 +965,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                 overlap.
 		 */
 		public void setInterval(Integer interval) {
+			changed();
 			this.interval = interval;
 		}
 
@@ -936,6 +986,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param alignWithLabels True or false.
 		 */
 		public void setAlignWithLabel(Boolean alignWithLabels) {
+			changed();
 			this.alignWithLabels = alignWithLabels;
 		}
 	}
@@ -981,6 +1032,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                 determined automatically.
 		 */
 		public void setInterval(Integer interval) {
+			changed();
 			this.interval = interval;
 		}
 	}
@@ -1040,6 +1092,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                 determined automatically.
 		 */
 		public void setInterval(Integer interval) {
+			changed();
 			this.interval = interval;
 		}
 	}
@@ -1092,6 +1145,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param type Pointer-type.
 		 */
 		public void setType(PointerType type) {
+			changed();
 			this.type = type;
 		}
 
@@ -1114,6 +1168,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param snap True/false or <code>null</code>.
 		 */
 		public void setSnap(Boolean snap) {
+			changed();
 			this.snap = snap;
 		}
 
@@ -1125,6 +1180,7 @@ public abstract class Axis extends VisibleProperty {
 		 */
 		public final PointerLabel getLabel(boolean create) {
 			if (label == null && create) {
+				changed();
 				label = new PointerLabel();
 			}
 			return label;
@@ -1136,6 +1192,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param label Pointer label.
 		 */
 		public void setLabel(PointerLabel label) {
+			changed();
 			this.label = label;
 		}
 
@@ -1147,6 +1204,7 @@ public abstract class Axis extends VisibleProperty {
 		 */
 		public LineStyle getLineStyle(boolean create) {
 			if (lineStyle == null && create) {
+				changed();
 				lineStyle = new LineStyle();
 			}
 			return lineStyle;
@@ -1158,6 +1216,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param lineStyle Line-style.
 		 */
 		public void setLineStyle(LineStyle lineStyle) {
+			changed();
 			this.lineStyle = lineStyle;
 		}
 
@@ -1169,6 +1228,7 @@ public abstract class Axis extends VisibleProperty {
 		 */
 		public final Shadow getShadow(boolean create) {
 			if (shadow == null && create) {
+				changed();
 				shadow = new Shadow();
 			}
 			return shadow;
@@ -1180,6 +1240,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param shadow Shadow.
 		 */
 		public void setShadow(Shadow shadow) {
+			changed();
 			this.shadow = shadow;
 		}
 
@@ -1191,6 +1252,7 @@ public abstract class Axis extends VisibleProperty {
 		 */
 		public final PointerHandle getHandle(boolean create) {
 			if (handle == null && create) {
+				changed();
 				handle = new PointerHandle();
 			}
 			return handle;
@@ -1202,6 +1264,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param handle Pointer-handle.
 		 */
 		public void setHandle(PointerHandle handle) {
+			changed();
 			this.handle = handle;
 		}
 	}
@@ -1246,6 +1309,7 @@ public abstract class Axis extends VisibleProperty {
 		 *                  determined automatically).
 		 */
 		public void setPrecision(int precision) {
+			changed();
 			this.precision = precision;
 		}
 	}
@@ -1304,6 +1368,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param width Width.
 		 */
 		public void setWidth(int width) {
+			changed();
 			this.width = width;
 		}
 
@@ -1322,6 +1387,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param height Height.
 		 */
 		public void setHeight(int height) {
+			changed();
 			this.height = height;
 		}
 
@@ -1331,6 +1397,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param size Size in pixels.
 		 */
 		public void setSize(int size) {
+			changed();
 			width = size;
 			height = size;
 		}
@@ -1350,6 +1417,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param gap Gap in pixels.
 		 */
 		public void setGap(int gap) {
+			changed();
 			this.gap = gap;
 		}
 
@@ -1368,6 +1436,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param color Color.
 		 */
 		public void setColor(Color color) {
+			changed();
 			this.color = color;
 		}
 
@@ -1379,6 +1448,7 @@ public abstract class Axis extends VisibleProperty {
 		 */
 		public final Shadow getShadow(boolean create) {
 			if (shadow == null && create) {
+				changed();
 				shadow = new Shadow();
 			}
 			return shadow;
@@ -1390,6 +1460,7 @@ public abstract class Axis extends VisibleProperty {
 		 * @param shadow Shadow.
 		 */
 		public void setShadow(Shadow shadow) {
+			changed();
 			this.shadow = shadow;
 		}
 
@@ -1403,6 +1474,7 @@ public abstract class Axis extends VisibleProperty {
 		private final long id = ID.newID();
 		final private Axis axis;
 		private final CoordinateSystem coordinateSystem;
+		private final EncodedFragment encodedFragment = new EncodedFragment();
 
 		AxisWrapper(Axis axis, CoordinateSystem coordinateSystem) {
 			this.axis = axis;
@@ -1415,6 +1487,16 @@ public abstract class Axis extends VisibleProperty {
 			return id;
 		}
 
+		@Override
+		public long getModification() {
+			return axis.getModification();
+		}
+
+		@Override
+		public EncodedFragment getEncodedFragment() {
+			return encodedFragment;
+		}
+
 		public Axis getAxis() {
 			return axis;
 		}
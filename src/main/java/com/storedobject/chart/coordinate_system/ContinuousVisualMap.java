@@ -27,6 +27,7 @@ public class ContinuousVisualMap extends VisualMap {
 	}
 
 	public ContinuousVisualMap setInRange(InRange inRange) {
+		changed();
 		this.inRange = inRange;
 		return this;
 	}
@@ -51,6 +52,7 @@ public class ContinuousVisualMap extends VisualMap {
 		}
 
 		public InRange setColors(List<Color> colors) {
+			changed();
 			this.colors = colors;
 			return this;
 		}
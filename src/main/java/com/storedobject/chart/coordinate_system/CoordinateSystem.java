@@ -49,6 +49,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 	 * @param charts Charts to be added.
 	 */
 	public void add(Chart... charts) {
+		changed();
 		if (charts != null) {
 			for (Chart chart : charts) {
 				CoordinateSystem coordinateSystem = chart.getCoordinateSystem();
@@ -69,6 +70,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 	 * @param charts Charts to be removed.
 	 */
 	public void remove(Chart... charts) {
+		changed();
 		if (charts != null) {
 			for (Chart chart : charts) {
 				this.charts.remove(chart);
@@ -87,6 +89,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 	 * @param axes Axes to add.
 	 */
 	public void addAxis(Axis... axes) {
+		changed();
 		if (axes != null) {
 			for (Axis axis : axes) {
 				if (axis != null && !this.axes.contains(axis)) {
@@ -102,6 +105,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 	 * @param axes Axes to remove.
 	 */
 	public void removeAxis(Axis... axes) {
+		changed();
 		if (axes != null) {
 			for (Axis axis : axes) {
 				if (axis != null) {
@@ -151,6 +155,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 			return null;
 		}
 		if (position == null && create) {
+			changed();
 			position = new Position();
 		}
 		return position;
@@ -158,6 +163,7 @@ public abstract class CoordinateSystem extends VisiblePart implements Component,
 
 	@Override
 	public final void setPosition(Position position) {
+		changed();
 		if (this instanceof HasPolarProperty) {
 			return;
 		}
@@ -59,6 +59,7 @@ public class PolarCoordinate extends CoordinateSystem implements HasPolarPropert
 	@Override
 	public final PolarProperty getPolarProperty(boolean create) {
 		if (polarProperty == null && create) {
+			changed();
 			polarProperty = new PolarProperty();
 		}
 		return polarProperty;
@@ -66,6 +67,7 @@ public class PolarCoordinate extends CoordinateSystem implements HasPolarPropert
 
 	@Override
 	public final void setPolarProperty(PolarProperty polarProperty) {
+		changed();
 		this.polarProperty = polarProperty;
 	}
 
@@ -74,6 +74,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setLeft(Size size) {
+		changed();
 		left = size.clone();
 		return this;
 	}
@@ -88,6 +89,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setRight(Size size) {
+		changed();
 		right = size.clone();
 		return this;
 	}
@@ -102,6 +104,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setTop(Size size) {
+		changed();
 		top = size.clone();
 		return this;
 	}
@@ -116,6 +119,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setBottom(Size size) {
+		changed();
 		bottom = size.clone();
 		return this;
 	}
@@ -130,6 +134,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setWidth(Size size) {
+		changed();
 		width = size.clone();
 		return this;
 	}
@@ -144,6 +149,7 @@ public class Position extends PropertyComponentValue {
 	 * @param size Size.
 	 */
 	public Position setHeight(Size size) {
+		changed();
 		height = size.clone();
 		return this;
 	}
@@ -60,6 +60,7 @@ public class RadarCoordinate extends CoordinateSystem implements HasPolarPropert
 	 * @param axisIndicators Axis indicators to set.
 	 */
 	public void setAxisIndicators(CategoryDataProvider axisIndicators) {
+		changed();
 		this.axisIndicators = axisIndicators;
 	}
 
@@ -92,9 +93,21 @@ public class RadarCoordinate extends CoordinateSystem implements HasPolarPropert
 		property(color);
 	}
 
+	/**
+	 * Axis indicators are data and their changes are not tracked. So, this is
+	 * always encoded afresh.
+	 *
+	 * @return -1.
+	 */
+	@Override
+	public long getModification() {
+		return -1;
+	}
+
 	@Override
 	public final PolarProperty getPolarProperty(boolean create) {
 		if (polarProperty == null && create) {
+			changed();
 			polarProperty = new PolarProperty();
 		}
 		return polarProperty;
@@ -102,6 +115,7 @@ public class RadarCoordinate extends CoordinateSystem implements HasPolarPropert
 
 	@Override
 	public final void setPolarProperty(PolarProperty polarProperty) {
+		changed();
 		this.polarProperty = polarProperty;
 	}
 
@@ -120,6 +134,7 @@ public class RadarCoordinate extends CoordinateSystem implements HasPolarPropert
 	 * @param startingAngle Angle in degrees.
 	 */
 	public void setStartingAngle(int startingAngle) {
+		changed();
 		this.startingAngle = startingAngle;
 	}
 
@@ -138,6 +153,7 @@ public class RadarCoordinate extends CoordinateSystem implements HasPolarPropert
 	 * @param color Color.
 	 */
 	public void setColor(Color color) {
+		changed();
 		this.color = color;
 	}
 }
@@ -59,6 +59,7 @@ public class RectangularCoordinate extends CoordinateSystem {
 	 */
 	public final Border getBorder(boolean create) {
 		if (border == null && create) {
+			changed();
 			border = new Border();
 		}
 		return border;
@@ -70,6 +71,7 @@ public class RectangularCoordinate extends CoordinateSystem {
 	 * @param border Border.
 	 */
 	public void setBorder(Border border) {
+		changed();
 		this.border = border;
 	}
 
@@ -86,6 +88,7 @@ public class RectangularCoordinate extends CoordinateSystem {
 	 * labels too.
 	 */
 	public void sizeIncludesLabels() {
+		changed();
 		sizeIncludeLabels = true;
 	}
 
@@ -64,16 +64,19 @@ public abstract class VisualMap extends VisiblePart {
 	}
 
 	public VisualMap setMin(Number min) {
+		changed();
 		this.min = min;
 		return this;
 	}
 
 	public VisualMap setMax(Number max) {
+		changed();
 		this.max = max;
 		return this;
 	}
 
 	public VisualMap setRange(Number from, Number to) {
+		changed();
 		if (range == null) {
 			range = new Number[2];
 		}
@@ -84,16 +87,19 @@ public abstract class VisualMap extends VisiblePart {
 	}
 
 	public VisualMap noRange() {
+		changed();
 		this.range = null;
 		return this;
 	}
 
 	public VisualMap setDimension(Integer dimension) {
+		changed();
 		this.dimension = dimension;
 		return this;
 	}
 
 	public VisualMap setDimension(String dimension) {
+		changed();
 		this.dimension = dimension;
 		return this;
 	}
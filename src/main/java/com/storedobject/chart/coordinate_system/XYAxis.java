@@ -63,6 +63,7 @@ public abstract class XYAxis extends Axis {
 	 * @param opposite True or false.
 	 */
 	public void setOpposite(boolean opposite) {
+		changed();
 		this.opposite = opposite;
 	}
 
@@ -84,6 +85,7 @@ public abstract class XYAxis extends Axis {
 	 * @param offset Offset value in pixels.
 	 */
 	public void setOffset(int offset) {
+		changed();
 		this.offset = offset;
 	}
 }
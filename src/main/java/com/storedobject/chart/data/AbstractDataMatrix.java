@@ -0,0 +1,333 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Base class of data matrices. The rows and columns of a matrix can be
+ * accessed as {@link DataProvider}s and the names of the rows and columns as
+ * {@link CategoryDataProvider}s. (See {@link DataMatrix} and
+ * {@link DenseDataMatrix}).
+ *
+ * @author Syam
+ */
+public abstract class AbstractDataMatrix {
+
+	private String name, columnName, rowName;
+	private CategoryData columnNames, rowNames;
+	private CategoryDataProvider columnNameGenerator, rowNameGenerator;
+
+	/**
+	 * Get the row count.
+	 *
+	 * @return Row count.
+	 */
+	public abstract int getRowCount();
+
+	/**
+	 * Get the column count.
+	 *
+	 * @return Column count.
+	 */
+	public abstract int getColumnCount();
+
+	/**
+	 * Get a specific row as data provider.
+	 *
+	 * @param row Row index.
+	 * @return Row as data provider.
+	 */
+	public abstract DataProvider getRow(int row);
+
+	/**
+	 * Get a specific column as data provider.
+	 *
+	 * @param column Column index.
+	 * @return Column as data provider.
+	 */
+	public abstract DataProvider getColumn(int column);
+
+	/**
+	 * Set column names.
+	 * 
+	 * @param columnNames Column names.
+	 */
+	public void setColumnNames(String... columnNames) {
+		this.columnNames = new CategoryData(columnNames);
+	}
+
+	/**
+	 * Set column names.
+	 * 
+	 * @param columnNames Column names.
+	 */
+	public void setColumnNames(CategoryData columnNames) {
+		this.columnNames = columnNames;
+	}
+
+	/**
+	 * Set row names.
+	 * 
+	 * @param rowNames Row names.
+	 */
+	public void setRowNames(String... rowNames) {
+		this.rowNames = new CategoryData(rowNames);
+	}
+
+	/**
+	 * Set row names.
+	 * 
+	 * @param rowNames Row names.
+	 */
+	public void setRowNames(CategoryData rowNames) {
+		this.rowNames = rowNames;
+	}
+
+	/**
+	 * Get column names as a category data provider.
+	 *
+	 * @return Column names as category data provider.
+	 */
+	public CategoryDataProvider getColumnNames() {
+		if (columnNameGenerator == null) {
+			columnNameGenerator = new ColumnNames();
+		}
+		return columnNameGenerator;
+	}
+
+	/**
+	 * Get row names as a category data provider.
+	 *
+	 * @return Row names as category data provider.
+	 */
+	public CategoryDataProvider getRowNames() {
+		if (rowNameGenerator == null) {
+			rowNameGenerator = new RowNames();
+		}
+		return rowNameGenerator;
+	}
+
+	/**
+	 * Take the names from another matrix.
+	 *
+	 * @param matrix    Matrix to take the names from.
+	 * @param transpose Whether the rows and columns are interchanged or not.
+	 */
+	void setNames(AbstractDataMatrix matrix, boolean transpose) {
+		name = matrix.name;
+		rowName = transpose ? matrix.columnName : matrix.rowName;
+		columnName = transpose ? matrix.rowName : matrix.columnName;
+		rowNames = transpose ? matrix.columnNames : matrix.rowNames;
+		columnNames = transpose ? matrix.rowNames : matrix.columnNames;
+	}
+
+	/**
+	 * Name of a row when no row names are set.
+	 *
+	 * @param rowIndex Row index.
+	 * @return Name (<code>null</code> for the generated name).
+	 */
+	String defaultRowName(int rowIndex) {
+		return null;
+	}
+
+	/**
+	 * Get the name of a particular row.
+	 *
+	 * @param rowIndex Row index.
+	 * @return Name.
+	 */
+	public String getRowName(int rowIndex) {
+		String name = null;
+		if (rowIndex >= 0) {
+			if (rowNames != null && rowNames.size() > rowIndex) {
+				name = rowNames.get(rowIndex);
+			} else {
+				name = defaultRowName(rowIndex);
+			}
+		}
+		return name == null ? ("Row " + (rowIndex + 1)) : name;
+	}
+
+	/**
+	 * Get the name of a particular column.
+	 *
+	 * @param columnIndex Column index.
+	 * @return Name.
+	 */
+	public String getColumnName(int columnIndex) {
+		String name = null;
+		if (columnIndex >= 0) {
+			if (columnNames != null && columnNames.size() > columnIndex) {
+				name = columnNames.get(columnIndex);
+			}
+		}
+		return name == null ? ("Column " + (columnIndex + 1)) : name;
+	}
+
+	/**
+	 * Get the name of the column data.
+	 *
+	 * @return Name of the column data.
+	 */
+	public String getColumnDataName() {
+		return columnName;
+	}
+
+	/**
+	 * Set the name of the column data.
+	 *
+	 * @param columnName Name of the column data.
+	 */
+	public void setColumnDataName(String columnName) {
+		this.columnName = columnName;
+	}
+
+	/**
+	 * Get the name of the row data.
+	 *
+	 * @return Name of the row data.
+	 */
+	public String getRowDataName() {
+		return rowName;
+	}
+
+	/**
+	 * Set the name of the row data.
+	 *
+	 * @param rowName Name of the row data.
+	 */
+	public void setRowDataName(String rowName) {
+		this.rowName = rowName;
+	}
+
+	/**
+	 * Get name of the data set.
+	 *
+	 * @return Name.
+	 */
+	public String getName() {
+		return name == null ? "Data" : name;
+	}
+
+	/**
+	 * Set name of the data set.
+	 *
+	 * @param name Name.
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	abstract static class BaseData {
+
+		private int serial = -1;
+
+		public long getId() {
+			return -1L;
+		}
+
+		public final int getSerial() {
+			return serial;
+		}
+
+		public final void setSerial(int serial) {
+			this.serial = serial;
+		}
+	}
+
+	private class ColumnNames extends BaseData implements CategoryDataProvider {
+
+		private ColumnNames() {
+		}
+
+		@Override
+		public Stream<String> stream() {
+			return Stream.generate(new ColumnNameGenerator()).limit(getColumnCount());
+		}
+
+		@Override
+		public String getName() {
+			String name = columnName;
+			if (name == null) {
+				if (columnNames != null) {
+					name = columnNames.getName();
+				}
+			}
+			if (name == null) {
+				name = "Column Data";
+			}
+			return name;
+		}
+
+		@Override
+		public void validate() {
+		}
+
+		private class ColumnNameGenerator implements Supplier<String> {
+
+			private int index = 0;
+
+			@Override
+			public String get() {
+				return getColumnName(index++);
+			}
+		}
+	}
+
+	private class RowNames extends BaseData implements CategoryDataProvider {
+
+		private RowNames() {
+		}
+
+		@Override
+		public Stream<String> stream() {
+			return Stream.generate(new RowNameGenerator()).limit(getRowCount());
+		}
+
+		@Override
+		public String getName() {
+			String name = rowName;
+			if (name == null) {
+				if (rowNames != null) {
+					name = rowNames.getName();
+				}
+			}
+			if (name == null) {
+				name = "Row Data";
+			}
+			return name;
+		}
+
+		@Override
+		public void validate() {
+		}
+
+		private class RowNameGenerator implements Supplier<String> {
+
+			private int row = 0;
+
+			@Override
+			public String get() {
+				return getRowName(row++);
+			}
+		}
+	}
+}
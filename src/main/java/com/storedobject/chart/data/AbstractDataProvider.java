@@ -17,7 +17,6 @@
 package com.storedobject.chart.data;
 
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeStream;
-import static com.storedobject.chart.util.ComponentPropertyUtil.escape;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +24,8 @@ import java.util.stream.Stream;
 
 import com.storedobject.chart.component.ComponentPart;
 import com.storedobject.chart.util.ChartException;
+import com.storedobject.chart.util.JsonCodec;
+import com.storedobject.chart.util.TimeCodec;
 import com.storedobject.chart.util.TriConsumer;
 
 /**
@@ -89,7 +90,8 @@ public interface AbstractDataProvider<T> extends ComponentPart {
 	}
 
 	default StringBuilder encodeData(StringBuilder sb) {
-		sb.append(",\"data\":");
+		ComponentPart.addComma(sb);
+		sb.append("\"data\":");
 		return encodeDataContent(sb);
 	}
 
@@ -97,23 +99,67 @@ public interface AbstractDataProvider<T> extends ComponentPart {
 		return encodeStream(sb, stream(), "[", "]", true, getDataEncoder());
 	}
 
+	/**
+	 * Check whether this data is written as a column of the "dataset" (charts
+	 * then refer to the column via "encode", so data shared by many charts is
+	 * written only once). Data written by the default encoder is. Data with a
+	 * custom encoder is written inline in the chart that uses it because such
+	 * an encoder may write values (objects with per-item styles, for example)
+	 * that echarts does not accept in a dataset. Override this to return
+	 * <code>true</code> if the custom encoder writes values that can go into the
+	 * dataset.
+	 *
+	 * @return True if the default encoder is used.
+	 */
 	public default boolean isDataSetEncoding() {
-		return getDataEncoder() == DEFAULT_DATA_ENCODER;
+		return isDefaultEncoding();
+	}
+
+	/**
+	 * Check whether the values are written by the default encoder. (Only such
+	 * values can be sent in the compact forms such as binary arrays and
+	 * sequences).
+	 *
+	 * @return True if the default encoder is used.
+	 */
+	public default boolean isDefaultEncoding() {
+		TriConsumer<StringBuilder, T, Integer> dataEncoder = getDataEncoder();
+		return dataEncoder == DEFAULT_DATA_ENCODER || dataEncoder == getTimeCodec().getDataEncoder();
 	}
 
 	public default boolean nonDataSetEncoding() {
 		return !isDataSetEncoding();
 	}
 
-	public static TriConsumer<StringBuilder, Object, Integer> DEFAULT_DATA_ENCODER = (sb, data, index) -> sb
-			.append(escape(data));
+	public static TriConsumer<StringBuilder, Object, Integer> DEFAULT_DATA_ENCODER = (sb, data, index) -> JsonCodec
+			.append(sb, data);
 
+	/**
+	 * Get the encoder for the data values. Date/time values are encoded as epoch
+	 * milliseconds using the codec returned by {@link #getTimeCodec()}.
+	 *
+	 * @return Data encoder.
+	 */
 	default TriConsumer<StringBuilder, T, Integer> getDataEncoder() {
+		DataType dataType = getDataType();
 		@SuppressWarnings("unchecked")
-		TriConsumer<StringBuilder, T, Integer> defaultDataEncoder = (TriConsumer<StringBuilder, T, Integer>) DEFAULT_DATA_ENCODER;
+		TriConsumer<StringBuilder, T, Integer> defaultDataEncoder = (TriConsumer<StringBuilder, T, Integer>) (dataType != null
+				&& dataType.isTime() ? getTimeCodec().getDataEncoder() : DEFAULT_DATA_ENCODER);
 		return defaultDataEncoder;
 	}
 
+	/**
+	 * Get the codec used for converting date/time values to epoch milliseconds.
+	 * It should be the same codec that is used for the rest of the chart (axis
+	 * limits, markers etc.), i.e., {@link TimeCodec#UTC}, otherwise the data will
+	 * be shifted from those.
+	 *
+	 * @return Time codec.
+	 */
+	default TimeCodec getTimeCodec() {
+		return TimeCodec.UTC;
+	}
+
 	@Override
 	default long getId() {
 		return -1L;
@@ -0,0 +1,205 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Base class of data providers that read their values from a
+ * {@link MappedColumn}. Only a range of the column is provided and the range
+ * can be set directly via {@link #setRange(long, long)} or, if an X column is
+ * specified, it is set from the visible range of the X values when the chart is
+ * zoomed (See {@link WindowedDataProvider}). The values within the range are
+ * read from the mapped memory while encoding and thus, the JVM heap holds only
+ * the points actually being sent.
+ *
+ * @param <T> Data type.
+ * @author Syam
+ */
+public abstract class AbstractMappedData<T> implements AbstractDataProvider<T>, WindowedDataProvider {
+
+	private final MappedColumn column, xColumn;
+	private final List<T> list = new Values();
+	private volatile long from, to;
+	private int serial = -1;
+	private String name;
+
+	/**
+	 * Constructor. The range initially covers the whole column (or its first
+	 * {@link Integer#MAX_VALUE} values if the column is larger than that).
+	 *
+	 * @param column  Column of values.
+	 * @param xColumn Column of X values (in ascending order) that decides the
+	 *                range when the visible range is set. Could be
+	 *                <code>null</code> if the range should not follow the
+	 *                visible range.
+	 */
+	AbstractMappedData(MappedColumn column, MappedColumn xColumn) {
+		this.column = column;
+		this.xColumn = xColumn;
+		this.to = Math.min(column.size(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get the column of values.
+	 *
+	 * @return Column.
+	 */
+	public final MappedColumn getColumn() {
+		return column;
+	}
+
+	/**
+	 * Get the index of the first value in the range.
+	 *
+	 * @return Index.
+	 */
+	public final long getFrom() {
+		return from;
+	}
+
+	/**
+	 * Get the index after the last value in the range.
+	 *
+	 * @return Index.
+	 */
+	public final long getTo() {
+		return to;
+	}
+
+	/**
+	 * Set the range of values to provide.
+	 *
+	 * @param from Index of the first value.
+	 * @param to   Index after the last value.
+	 */
+	public synchronized void setRange(long from, long to) {
+		if (from < 0 || to > column.size() || from > to || to - from > Integer.MAX_VALUE) {
+			throw new IndexOutOfBoundsException("Range: " + from + " - " + to + ", Size: " + column.size());
+		}
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Set the range from the visible range of the X values. One more value is
+	 * included on either side so that the lines reach the edges of the plot.
+	 */
+	@Override
+	public synchronized boolean setWindow(double start, double end) {
+		if (xColumn == null) {
+			return false;
+		}
+		long from = Math.max(0, xColumn.lowerBound(start) - 1),
+				to = Math.min(column.size(), Math.min(xColumn.size(), xColumn.upperBound(end) + 1));
+		from = Math.min(from, to);
+		if (from == this.from && to == this.to) {
+			return false;
+		}
+		setRange(from, to);
+		return true;
+	}
+
+	/**
+	 * Get the value at the given index of the column.
+	 *
+	 * @param index Index.
+	 * @return Value.
+	 */
+	abstract T value(long index);
+
+	/**
+	 * Append the value at the given index of the column to the string builder.
+	 *
+	 * @param sb    Append to this.
+	 * @param index Index.
+	 */
+	abstract void encode(StringBuilder sb, long index);
+
+	@Override
+	public List<T> asList() {
+		return list;
+	}
+
+	@Override
+	public Stream<T> stream() {
+		return LongStream.range(from, to).mapToObj(this::value);
+	}
+
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		long from = this.from, to = this.to;
+		sb.append('[');
+		for (long i = from; i < to; i++) {
+			if (i > from) {
+				sb.append(',');
+			}
+			encode(sb, i);
+		}
+		return sb.append(']');
+	}
+
+	@Override
+	public final int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public final void setSerial(int serial) {
+		this.serial = serial;
+	}
+
+	/**
+	 * Get the name of this data set.
+	 *
+	 * @return Name.
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Set a name for this data set.
+	 *
+	 * @param name Name to set.
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	private class Values extends AbstractList<T> implements RandomAccess {
+
+		@Override
+		public T get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+			return value(from + index);
+		}
+
+		@Override
+		public int size() {
+			return (int) (to - from);
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+/**
+ * Base class of numeric data providers that keep their values in an array of
+ * primitive values instead of a list of boxed numbers. A large series costs
+ * only 8 (or 4) bytes per value and the values are encoded straight from the
+ * array without creating any object per value.
+ *
+ * <p>
+ * {@link #asList()} and {@link #stream()} provide a boxed view of the values
+ * for the parts of the API that need them.
+ * </p>
+ *
+ * @author Syam
+ */
+public abstract class AbstractPrimitiveData implements DataProvider, Serializable {
+	private static final long serialVersionUID = -3581620715829142075L;
+
+	int size;
+	private int serial = -1;
+	private String name;
+	private boolean binaryEncoding;
+	private boolean dataSetEncoding;
+	private transient List<Number> list;
+
+	AbstractPrimitiveData() {
+	}
+
+	/**
+	 * Get the number of values.
+	 *
+	 * @return Number of values.
+	 */
+	public final int size() {
+		return size;
+	}
+
+	/**
+	 * Check whether there are no values.
+	 *
+	 * @return True if empty.
+	 */
+	public final boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Remove all values. (The allocated storage is retained).
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Get the value at the given index as a boxed number.
+	 *
+	 * @param index Index.
+	 * @return Value.
+	 */
+	abstract Number value(int index);
+
+	/**
+	 * Append the value at the given index to the string builder.
+	 *
+	 * @param sb    Append to this.
+	 * @param index Index.
+	 */
+	abstract void encode(StringBuilder sb, int index);
+
+	/**
+	 * Get the values as an array of doubles. Only the first {@link #size()}
+	 * elements are valid.
+	 *
+	 * @return Values.
+	 */
+	abstract double[] doubles();
+
+	/**
+	 * Append the binary encoding of the values straight from the array of
+	 * primitive values (See {@link BinaryEncoding}).
+	 *
+	 * @param sb Append to this.
+	 * @return The string builder passed.
+	 */
+	abstract StringBuilder encodeBinary(StringBuilder sb);
+
+	final void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	static int capacity(int capacity, int required) {
+		if (required < 0) {
+			throw new OutOfMemoryError();
+		}
+		int newCapacity = capacity + (capacity >> 1);
+		return newCapacity < required ? Math.max(required, 10) : newCapacity;
+	}
+
+	@Override
+	public List<Number> asList() {
+		if (list == null) {
+			list = new Values();
+		}
+		return list;
+	}
+
+	@Override
+	public Stream<Number> stream() {
+		return asList().stream();
+	}
+
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		if (isBinaryEncoding() && isDefaultEncoding()) {
+			return encodeBinary(sb);
+		}
+		sb.append('[');
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			encode(sb, i);
+		}
+		return sb.append(']');
+	}
+
+	@Override
+	public boolean isBinaryEncoding() {
+		return binaryEncoding;
+	}
+
+	/**
+	 * Set whether the values should be sent to the client as a binary array or
+	 * not. (See {@link BinaryEncoding}).
+	 *
+	 * @param binaryEncoding True to send as a binary array.
+	 */
+	public void setBinaryEncoding(boolean binaryEncoding) {
+		this.binaryEncoding = binaryEncoding;
+	}
+
+	@Override
+	public boolean isDataSetEncoding() {
+		return dataSetEncoding || isDefaultEncoding();
+	}
+
+	/**
+	 * Set whether the values written by a custom encoder should go into the
+	 * "dataset" (see {@link #isDataSetEncoding()}). Set this only if the encoder
+	 * writes values that echarts accepts in a dataset (plain numbers or strings,
+	 * not objects). Data written by the default encoder always goes into the
+	 * dataset.
+	 *
+	 * @param dataSetEncoding True to write the values into the dataset.
+	 */
+	public void setDataSetEncoding(boolean dataSetEncoding) {
+		this.dataSetEncoding = dataSetEncoding;
+	}
+
+	@Override
+	public final int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public final void setSerial(int serial) {
+		this.serial = serial;
+	}
+
+	/**
+	 * Get the name of this data set.
+	 *
+	 * @return Name.
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Set a name for this data set.
+	 *
+	 * @param name Name to set.
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	private class Values extends AbstractList<Number> implements RandomAccess {
+
+		@Override
+		public Number get(int index) {
+			checkIndex(index);
+			return value(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import com.storedobject.chart.util.JsonCodec;
+
+/**
+ * Encoding of numeric values as a binary array. The values are packed as
+ * little-endian "int32", "float32" or "float64" values (the narrowest type that
+ * can represent all the values exactly) and the bytes are carried as a Base64
+ * string tagged with {@link #PREFIX}, for example, "@binary@float32:AACAPw==".
+ * The client-side decodes it back to an array of numbers before the option is
+ * handed over to "echarts". A <code>null</code> value is sent as "NaN" (and
+ * thus, forces the "float64" type).
+ *
+ * <p>
+ * Values are never rounded. A <code>long</code> value that is not exactly
+ * representable as a "float64" value (magnitudes beyond 2^53 that are not
+ * multiples of the corresponding power of 2) can not be packed, so the values
+ * are written as a plain JSON array instead.
+ * </p>
+ *
+ * @author Syam
+ */
+public final class BinaryEncoding {
+
+	/**
+	 * Prefix used to tag the encoded values.
+	 */
+	public static final String PREFIX = "@binary@";
+
+	private BinaryEncoding() {
+	}
+
+	/**
+	 * Append the binary encoding of the given values (as a JSON string) to the
+	 * string builder.
+	 *
+	 * @param sb     Append to this.
+	 * @param values Values to encode.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, List<? extends Number> values) {
+		int size = values.size();
+		double[] doubles = new double[size];
+		boolean int32 = true, float32 = true;
+		for (int i = 0; i < size; i++) {
+			Number value = values.get(i);
+			double d = value == null ? Double.NaN : value.doubleValue();
+			if (value instanceof Long && !isExact(value.longValue())) {
+				return encodeJSON(sb, values);
+			}
+			doubles[i] = d;
+			if (int32 && d != (int) d) {
+				int32 = false;
+			}
+			if (float32 && !Double.isNaN(d) && d != (float) d) {
+				float32 = false;
+			}
+			if (value == null) {
+				int32 = float32 = false;
+			}
+		}
+		return encode(sb, doubles, size, int32, float32);
+	}
+
+	/**
+	 * Append the binary encoding of the given values (as a JSON string) to the
+	 * string builder.
+	 *
+	 * @param sb     Append to this.
+	 * @param values Values to encode.
+	 * @param size   Number of values to encode (from the beginning of the array).
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, double[] values, int size) {
+		boolean int32 = true, float32 = true;
+		for (int i = 0; i < size && (int32 || float32); i++) {
+			double d = values[i];
+			if (int32 && d != (int) d) {
+				int32 = false;
+			}
+			if (float32 && !Double.isNaN(d) && d != (float) d) {
+				float32 = false;
+			}
+		}
+		return encode(sb, values, size, int32, float32);
+	}
+
+	/**
+	 * Append the binary encoding of the given values (as a JSON string) to the
+	 * string builder.
+	 *
+	 * @param sb     Append to this.
+	 * @param values Values to encode.
+	 * @param size   Number of values to encode (from the beginning of the array).
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, float[] values, int size) {
+		boolean int32 = true;
+		for (int i = 0; i < size && int32; i++) {
+			double d = values[i];
+			int32 = d == (int) d;
+		}
+		ByteBuffer buffer = buffer(size, 4);
+		if (int32) {
+			for (int i = 0; i < size; i++) {
+				buffer.putInt((int) values[i]);
+			}
+			return append(sb, "int32", buffer);
+		}
+		for (int i = 0; i < size; i++) {
+			buffer.putFloat(values[i]);
+		}
+		return append(sb, "float32", buffer);
+	}
+
+	/**
+	 * Append the binary encoding of the given values (as a JSON string) to the
+	 * string builder. If any of the values is not exactly representable as a
+	 * "float64" value, the values are appended as a JSON array instead.
+	 *
+	 * @param sb     Append to this.
+	 * @param values Values to encode.
+	 * @param size   Number of values to encode (from the beginning of the array).
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, long[] values, int size) {
+		boolean int32 = true;
+		for (int i = 0; i < size; i++) {
+			long v = values[i];
+			if (v != (int) v) {
+				int32 = false;
+				if (!isExact(v)) {
+					return encodeJSON(sb, values, size);
+				}
+			}
+		}
+		if (int32) {
+			ByteBuffer buffer = buffer(size, 4);
+			for (int i = 0; i < size; i++) {
+				buffer.putInt((int) values[i]);
+			}
+			return append(sb, "int32", buffer);
+		}
+		ByteBuffer buffer = buffer(size, 8);
+		for (int i = 0; i < size; i++) {
+			buffer.putDouble(values[i]);
+		}
+		return append(sb, "float64", buffer);
+	}
+
+	/**
+	 * Append the binary encoding of the given values (as a JSON string) to the
+	 * string builder.
+	 *
+	 * @param sb     Append to this.
+	 * @param values Values to encode.
+	 * @param size   Number of values to encode (from the beginning of the array).
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, int[] values, int size) {
+		ByteBuffer buffer = buffer(size, 4);
+		for (int i = 0; i < size; i++) {
+			buffer.putInt(values[i]);
+		}
+		return append(sb, "int32", buffer);
+	}
+
+	private static StringBuilder encode(StringBuilder sb, double[] doubles, int size, boolean int32,
+			boolean float32) {
+		ByteBuffer buffer;
+		if (int32) {
+			buffer = buffer(size, 4);
+			for (int i = 0; i < size; i++) {
+				buffer.putInt((int) doubles[i]);
+			}
+			return append(sb, "int32", buffer);
+		}
+		if (float32) {
+			buffer = buffer(size, 4);
+			for (int i = 0; i < size; i++) {
+				buffer.putFloat((float) doubles[i]);
+			}
+			return append(sb, "float32", buffer);
+		}
+		buffer = buffer(size, 8);
+		for (int i = 0; i < size; i++) {
+			buffer.putDouble(doubles[i]);
+		}
+		return append(sb, "float64", buffer);
+	}
+
+	/*
+	 * Check whether the long value survives the conversion to a double. (2^63, the
+	 * double nearest to Long.MAX_VALUE, converts back to Long.MAX_VALUE).
+	 */
+	private static boolean isExact(long value) {
+		double d = value;
+		return d < 0x1p63 && (long) d == value;
+	}
+
+	private static StringBuilder encodeJSON(StringBuilder sb, long[] values, int size) {
+		sb.append('[');
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(values[i]);
+		}
+		return sb.append(']');
+	}
+
+	private static StringBuilder encodeJSON(StringBuilder sb, List<? extends Number> values) {
+		sb.append('[');
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			Number value = values.get(i);
+			if (value == null) {
+				sb.append("null");
+			} else {
+				JsonCodec.appendNumber(sb, value);
+			}
+		}
+		return sb.append(']');
+	}
+
+	private static StringBuilder append(StringBuilder sb, String type, ByteBuffer buffer) {
+		return sb.append('"').append(PREFIX).append(type).append(':')
+				.append(Base64.getEncoder().encodeToString(buffer.array())).append('"');
+	}
+
+	private static ByteBuffer buffer(int size, int bytes) {
+		return ByteBuffer.allocate(size * bytes).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
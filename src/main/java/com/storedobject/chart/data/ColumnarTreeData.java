@@ -0,0 +1,359 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.storedobject.chart.util.JsonCodec;
+import com.storedobject.helper.ID;
+
+/**
+ * A compact implementation of {@link TreeDataProvider} for very large trees.
+ * Instead of an object per node, the nodes are kept in columns: the index of
+ * the parent node, the value and the index of the name in a dictionary of
+ * names (so, repeated names are stored only once). A node costs about 16 bytes
+ * and the tree is encoded without recursion, so trees with millions of nodes
+ * and trees of any depth can be rendered.
+ *
+ * <p>
+ * Nodes are identified by their indices. The root node is created with the
+ * tree and its index is 0. Other nodes are added to an existing parent node
+ * and get the next index. {@link #node(int)} provides a light-weight view of
+ * any node as a {@link TreeDataProvider}.
+ * </p>
+ *
+ * @author Syam
+ */
+public class ColumnarTreeData implements TreeDataProvider {
+
+	private final long id = ID.newID();
+	private int size;
+	private int[] parents;
+	private double[] values;
+	private int[] names;
+	private final List<String> dictionary = new ArrayList<>();
+	private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+	private int[] childStart, childIndex;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name  Name of the root node.
+	 * @param value Value of the root node.
+	 */
+	public ColumnarTreeData(String name, Number value) {
+		this(name, value, 10);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param name     Name of the root node.
+	 * @param value    Value of the root node.
+	 * @param capacity Expected number of nodes.
+	 */
+	public ColumnarTreeData(String name, Number value, int capacity) {
+		capacity = Math.max(capacity, 10);
+		parents = new int[capacity];
+		values = new double[capacity];
+		names = new int[capacity];
+		add(-1, name, value == null ? Double.NaN : value.doubleValue());
+	}
+
+	/**
+	 * Add a node.
+	 *
+	 * @param parent Index of the parent node.
+	 * @param name   Name.
+	 * @param value  Value (<code>NaN</code> if the node has no value).
+	 * @return Index of the newly added node.
+	 */
+	public int add(int parent, String name, double value) {
+		if (size > 0) {
+			checkIndex(parent);
+		}
+		ensureCapacity(size + 1);
+		parents[size] = parent;
+		values[size] = value;
+		names[size] = nameIndex(name);
+		childStart = childIndex = null;
+		return size++;
+	}
+
+	private int nameIndex(String name) {
+		if (name == null) {
+			return -1;
+		}
+		Integer index = dictionaryIndex.get(name);
+		if (index == null) {
+			index = dictionary.size();
+			dictionary.add(name);
+			dictionaryIndex.put(name, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Ensure that the given number of nodes can be held without growing the
+	 * storage.
+	 *
+	 * @param capacity Capacity required.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > parents.length) {
+			capacity = AbstractPrimitiveData.capacity(parents.length, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			values = Arrays.copyOf(values, capacity);
+			names = Arrays.copyOf(names, capacity);
+		}
+	}
+
+	/**
+	 * Get the number of nodes (including the root node).
+	 *
+	 * @return Number of nodes.
+	 */
+	public final int size() {
+		return size;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Get the index of the parent node of a node.
+	 *
+	 * @param index Index of the node.
+	 * @return Index of the parent node (-1 for the root node).
+	 */
+	public int getParent(int index) {
+		checkIndex(index);
+		return parents[index];
+	}
+
+	/**
+	 * Get the name of a node.
+	 *
+	 * @param index Index of the node.
+	 * @return Name.
+	 */
+	public String getName(int index) {
+		checkIndex(index);
+		return names[index] < 0 ? null : dictionary.get(names[index]);
+	}
+
+	/**
+	 * Get the value of a node.
+	 *
+	 * @param index Index of the node.
+	 * @return Value (<code>NaN</code> if the node has no value).
+	 */
+	public double getValue(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Set the value of a node.
+	 *
+	 * @param index Index of the node.
+	 * @param value Value (<code>NaN</code> if the node has no value).
+	 */
+	public void setValue(int index, double value) {
+		checkIndex(index);
+		values[index] = value;
+	}
+
+	/**
+	 * Get the number of child nodes of a node.
+	 *
+	 * @param index Index of the node.
+	 * @return Number of child nodes.
+	 */
+	public int getChildCount(int index) {
+		checkIndex(index);
+		index();
+		return childStart[index + 1] - childStart[index];
+	}
+
+	/**
+	 * Get a view of a node.
+	 *
+	 * @param index Index of the node.
+	 * @return Node as a tree data provider.
+	 */
+	public TreeDataProvider node(int index) {
+		checkIndex(index);
+		return index == 0 ? this : new Node(index);
+	}
+
+	/**
+	 * Build the child index: child nodes of node <code>n</code> are at
+	 * <code>childIndex[childStart[n]]</code> to
+	 * <code>childIndex[childStart[n + 1] - 1]</code>, in the order they were
+	 * added.
+	 */
+	private void index() {
+		if (childStart != null) {
+			return;
+		}
+		int[] start = new int[size + 1];
+		for (int i = 1; i < size; i++) {
+			start[parents[i] + 1]++;
+		}
+		for (int i = 0; i < size; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] next = Arrays.copyOf(start, size);
+		int[] children = new int[size - 1];
+		for (int i = 1; i < size; i++) {
+			children[next[parents[i]]++] = i;
+		}
+		childIndex = children;
+		childStart = start;
+	}
+
+	private Stream<TreeDataProvider> children(int index) {
+		index();
+		int from = childStart[index], to = childStart[index + 1];
+		return from == to ? null : IntStream.range(from, to).mapToObj(i -> new Node(childIndex[i]));
+	}
+
+	private void encodeNode(StringBuilder sb, int index) {
+		String name = names[index] < 0 ? "Name?" : dictionary.get(names[index]);
+		JsonCodec.appendString(sb.append("\"name\":"), name);
+		JsonCodec.appendDouble(sb.append(",\"value\":"), values[index]);
+	}
+
+	/**
+	 * Encode the sub-tree under a node. An explicit stack of the nodes being
+	 * encoded (with the position of the next child node to encode) is used
+	 * instead of recursion.
+	 */
+	private void encode(StringBuilder sb, int root) {
+		index();
+		int[] stack = new int[16], next = new int[16];
+		int top = 0;
+		stack[0] = root;
+		next[0] = childStart[root];
+		sb.append('{');
+		encodeNode(sb, root);
+		while (top >= 0) {
+			int node = stack[top], child = next[top];
+			if (child < childStart[node + 1]) {
+				sb.append(child == childStart[node] ? ",\"children\":[{" : ",{");
+				next[top] = child + 1;
+				child = childIndex[child];
+				encodeNode(sb, child);
+				if (++top == stack.length) {
+					stack = Arrays.copyOf(stack, top << 1);
+					next = Arrays.copyOf(next, top << 1);
+				}
+				stack[top] = child;
+				next[top] = childStart[child];
+			} else {
+				if (childStart[node] < childStart[node + 1]) {
+					sb.append(']');
+				}
+				sb.append('}');
+				--top;
+			}
+		}
+	}
+
+	@Override
+	public final long getId() {
+		return id;
+	}
+
+	@Override
+	public String getName() {
+		return getName(0);
+	}
+
+	@Override
+	public Number getValue() {
+		return value(0);
+	}
+
+	private Double value(int index) {
+		return Double.isNaN(values[index]) ? null : values[index];
+	}
+
+	@Override
+	public Stream<? extends TreeDataProvider> getChildren() {
+		return children(0);
+	}
+
+	@Override
+	public void encodeJSON(StringBuilder sb) {
+		encode(sb, 0);
+	}
+
+	@Override
+	public void encodeNode(StringBuilder sb) {
+		encodeNode(sb, 0);
+	}
+
+	private class Node implements TreeDataProvider {
+
+		private final int index;
+
+		private Node(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public long getId() {
+			return id;
+		}
+
+		@Override
+		public String getName() {
+			return ColumnarTreeData.this.getName(index);
+		}
+
+		@Override
+		public Number getValue() {
+			return value(index);
+		}
+
+		@Override
+		public Stream<? extends TreeDataProvider> getChildren() {
+			return children(index);
+		}
+
+		@Override
+		public void encodeJSON(StringBuilder sb) {
+			encode(sb, index);
+		}
+
+		@Override
+		public void encodeNode(StringBuilder sb) {
+			ColumnarTreeData.this.encodeNode(sb, index);
+		}
+	}
+}
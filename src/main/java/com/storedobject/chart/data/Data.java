@@ -27,6 +27,8 @@ public class Data extends AbstractData<Number> implements DataProvider {
 	private static final long serialVersionUID = 8498054049320509830L;
 
 	private TriConsumer<StringBuilder, Number, Integer> _dataEncoder;
+	private boolean binaryEncoding;
+	private boolean dataSetEncoding;
 
 	/**
 	 * Constructor.
@@ -46,9 +48,58 @@ public class Data extends AbstractData<Number> implements DataProvider {
 		return _dataEncoder;
 	}
 
+	/**
+	 * Set the encoder for the values. Values are encoded by the default encoder
+	 * if it is not set. Data with its own encoder is written inline in the chart
+	 * that uses it unless {@link #setDataSetEncoding(boolean)} is set.
+	 *
+	 * @param dataEncoder Encoder.
+	 * @return Self reference.
+	 */
 	public Data setDataEncoder(TriConsumer<StringBuilder, Number, Integer> dataEncoder) {
 		_dataEncoder = dataEncoder;
 
 		return this;
 	}
+
+	@Override
+	public boolean isBinaryEncoding() {
+		return binaryEncoding;
+	}
+
+	/**
+	 * Set whether the values should be sent to the client as a binary array or
+	 * not. (See {@link BinaryEncoding}). This is useful for large sets of values
+	 * since it reduces both the size of the payload and the time to parse it at
+	 * the client-side.
+	 *
+	 * @param binaryEncoding True to send as a binary array.
+	 * @return Self reference.
+	 */
+	public Data setBinaryEncoding(boolean binaryEncoding) {
+		this.binaryEncoding = binaryEncoding;
+
+		return this;
+	}
+
+	@Override
+	public boolean isDataSetEncoding() {
+		return dataSetEncoding || isDefaultEncoding();
+	}
+
+	/**
+	 * Set whether the values written by a custom encoder should go into the
+	 * "dataset" (see {@link #isDataSetEncoding()}). Set this only if the encoder
+	 * writes values that echarts accepts in a dataset (plain numbers, strings or
+	 * arrays, not objects). Data written by the default encoder always goes into
+	 * the dataset.
+	 *
+	 * @param dataSetEncoding True to write the values into the dataset.
+	 * @return Self reference.
+	 */
+	public Data setDataSetEncoding(boolean dataSetEncoding) {
+		this.dataSetEncoding = dataSetEncoding;
+
+		return this;
+	}
 }
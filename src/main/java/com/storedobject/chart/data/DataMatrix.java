@@ -18,7 +18,6 @@ package com.storedobject.chart.data;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import com.storedobject.chart.util.ChartException;
@@ -50,14 +49,11 @@ import com.storedobject.chart.util.ChartException;
  *
  * @author Syam
  */
-public class DataMatrix {
+public class DataMatrix extends AbstractDataMatrix {
 
 	private final List<Data> dataList = new ArrayList<>();
 	private final List<DataProvider> rowData = new ArrayList<>();
 	private final List<DataProvider> columnData = new ArrayList<>();
-	private String name, columnName, rowName;
-	private CategoryData columnNames, rowNames;
-	private CategoryDataProvider columnNameGenerator, rowNameGenerator;
 
 	/**
 	 * Constructor.
@@ -136,6 +132,7 @@ public class DataMatrix {
 	 *
 	 * @return Row count.
 	 */
+	@Override
 	public int getRowCount() {
 		return dataList.size();
 	}
@@ -145,6 +142,7 @@ public class DataMatrix {
 	 *
 	 * @return Column count.
 	 */
+	@Override
 	public int getColumnCount() {
 		if (dataList.isEmpty()) {
 			return 0;
@@ -156,72 +154,13 @@ public class DataMatrix {
 		return c;
 	}
 
-	/**
-	 * Set column names.
-	 * 
-	 * @param columnNames Column names.
-	 */
-	public void setColumnNames(String... columnNames) {
-		this.columnNames = new CategoryData(columnNames);
-	}
-
-	/**
-	 * Set column names.
-	 * 
-	 * @param columnNames Column names.
-	 */
-	public void setColumnNames(CategoryData columnNames) {
-		this.columnNames = columnNames;
-	}
-
-	/**
-	 * Set row names.
-	 * 
-	 * @param rowNames Row names.
-	 */
-	public void setRowNames(String... rowNames) {
-		this.rowNames = new CategoryData(rowNames);
-	}
-
-	/**
-	 * Set row names.
-	 * 
-	 * @param rowNames Row names.
-	 */
-	public void setRowNames(CategoryData rowNames) {
-		this.rowNames = rowNames;
-	}
-
-	/**
-	 * Get column names as a category data provider.
-	 *
-	 * @return Column names as category data provider.
-	 */
-	public CategoryDataProvider getColumnNames() {
-		if (columnNameGenerator == null) {
-			columnNameGenerator = new ColumnNames();
-		}
-		return columnNameGenerator;
-	}
-
-	/**
-	 * Get row names as a category data provider.
-	 *
-	 * @return Row names as category data provider.
-	 */
-	public CategoryDataProvider getRowNames() {
-		if (rowNameGenerator == null) {
-			rowNameGenerator = new RowNames();
-		}
-		return rowNameGenerator;
-	}
-
 	/**
 	 * Get a specific row as data provider.
 	 *
 	 * @param row Row index.
 	 * @return Row as data provider.
 	 */
+	@Override
 	public DataProvider getRow(int row) {
 		if (row >= 0 && row <= dataList.size()) {
 			if (row < rowData.size()) {
@@ -244,6 +183,7 @@ public class DataMatrix {
 	 * @param column Column index.
 	 * @return Column as data provider.
 	 */
+	@Override
 	public DataProvider getColumn(int column) {
 		if (column < 0) {
 			return null;
@@ -260,187 +200,9 @@ public class DataMatrix {
 		return columnData.get(columnData.size() - 1);
 	}
 
-	/**
-	 * Get the name of a particular row.
-	 *
-	 * @param rowIndex Row index.
-	 * @return Name.
-	 */
-	public String getRowName(int rowIndex) {
-		String name = null;
-		if (rowIndex >= 0) {
-			if (rowNames != null && rowNames.size() > rowIndex) {
-				name = rowNames.get(rowIndex);
-			} else if (dataList.size() > rowIndex) {
-				name = dataList.get(rowIndex).getName();
-			}
-		}
-		return name == null ? ("Row " + (rowIndex + 1)) : name;
-	}
-
-	/**
-	 * Get the name of a particular column.
-	 *
-	 * @param columnIndex Column index.
-	 * @return Name.
-	 */
-	public String getColumnName(int columnIndex) {
-		String name = null;
-		if (columnIndex >= 0) {
-			if (columnNames != null && columnNames.size() > columnIndex) {
-				name = columnNames.get(columnIndex);
-			}
-		}
-		return name == null ? ("Column " + (columnIndex + 1)) : name;
-	}
-
-	/**
-	 * Get the name of the column data.
-	 *
-	 * @return Name of the column data.
-	 */
-	public String getColumnDataName() {
-		return columnName;
-	}
-
-	/**
-	 * Set the name of the column data.
-	 *
-	 * @param columnName Name of the column data.
-	 */
-	public void setColumnDataName(String columnName) {
-		this.columnName = columnName;
-	}
-
-	/**
-	 * Get the name of the row data.
-	 *
-	 * @return Name of the row data.
-	 */
-	public String getRowDataName() {
-		return rowName;
-	}
-
-	/**
-	 * Set the name of the row data.
-	 *
-	 * @param rowName Name of the row data.
-	 */
-	public void setRowDataName(String rowName) {
-		this.rowName = rowName;
-	}
-
-	/**
-	 * Get name of the data set.
-	 *
-	 * @return Name.
-	 */
-	public String getName() {
-		return name == null ? "Data" : name;
-	}
-
-	/**
-	 * Set name of the data set.
-	 *
-	 * @param name Name.
-	 */
-	public void setName(String name) {
-		this.name = name;
-	}
-
-	private abstract static class BaseData {
-
-		private int serial = -1;
-
-		public long getId() {
-			return -1L;
-		}
-
-		public final int getSerial() {
-			return serial;
-		}
-
-		public final void setSerial(int serial) {
-			this.serial = serial;
-		}
-	}
-
-	private class ColumnNames extends BaseData implements CategoryDataProvider {
-
-		private ColumnNames() {
-		}
-
-		@Override
-		public Stream<String> stream() {
-			return Stream.generate(new ColumnNameGenerator()).limit(getColumnCount());
-		}
-
-		@Override
-		public String getName() {
-			String name = columnName;
-			if (name == null) {
-				if (columnNames != null) {
-					name = columnNames.getName();
-				}
-			}
-			if (name == null) {
-				name = "Column Data";
-			}
-			return name;
-		}
-
-		@Override
-		public void validate() {
-		}
-
-		private class ColumnNameGenerator implements Supplier<String> {
-
-			private int index = 0;
-
-			@Override
-			public String get() {
-				return getColumnName(index++);
-			}
-		}
-	}
-
-	private class RowNames extends BaseData implements CategoryDataProvider {
-
-		private RowNames() {
-		}
-
-		@Override
-		public Stream<String> stream() {
-			return Stream.generate(new RowNameGenerator()).limit(getRowCount());
-		}
-
-		@Override
-		public String getName() {
-			String name = rowName;
-			if (name == null) {
-				if (rowNames != null) {
-					name = rowNames.getName();
-				}
-			}
-			if (name == null) {
-				name = "Row Data";
-			}
-			return name;
-		}
-
-		@Override
-		public void validate() {
-		}
-
-		private class RowNameGenerator implements Supplier<String> {
-
-			private int row = 0;
-
-			@Override
-			public String get() {
-				return getRowName(row++);
-			}
-		}
+	@Override
+	String defaultRowName(int rowIndex) {
+		return dataList.size() > rowIndex ? dataList.get(rowIndex).getName() : null;
 	}
 
 	private class ColumnData extends BaseData implements DataProvider {
@@ -458,7 +220,7 @@ public class DataMatrix {
 
 		@Override
 		public Stream<Number> stream() {
-			return Stream.generate(new Generator()).limit(dataList.size());
+			return dataList.stream().map(data -> data.get(index));
 		}
 
 		@Override
@@ -476,19 +238,6 @@ public class DataMatrix {
 				}
 			}
 		}
-
-		private class Generator implements Supplier<Number> {
-
-			private int row = 0;
-
-			@Override
-			public Number get() {
-				if (row >= dataList.size()) {
-					return null;
-				}
-				return dataList.get(row++).get(index);
-			}
-		}
 	}
 
 	private class RowData extends BaseData implements DataProvider {
@@ -27,4 +27,23 @@ public interface DataProvider extends AbstractDataProvider<Number> {
 	default DataType getDataType() {
 		return DataType.NUMBER;
 	}
+
+	/**
+	 * Whether the values should be sent to the client as a binary array or not
+	 * (See {@link BinaryEncoding}). This is applicable only when the values are
+	 * encoded as part of the "dataset" (i.e., the default data encoder is used).
+	 *
+	 * @return False by default.
+	 */
+	default boolean isBinaryEncoding() {
+		return false;
+	}
+
+	@Override
+	default StringBuilder encodeDataContent(StringBuilder sb) {
+		if (isBinaryEncoding() && isDefaultEncoding()) {
+			return BinaryEncoding.encode(sb, asList());
+		}
+		return AbstractDataProvider.super.encodeDataContent(sb);
+	}
 }
@@ -19,16 +19,20 @@ package com.storedobject.chart.data;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.function.Consumer;
 
+import com.storedobject.chart.property.EscapeString;
+import com.storedobject.chart.util.TimeCodec;
+
 /**
  * Type of data that can be used by charts.
  *
  * @author Syam
  */
-public enum DataType {
+public enum DataType implements EscapeString {
 
 	/**
 	 * Numeric values.
@@ -78,12 +82,22 @@ public enum DataType {
 		return type;
 	}
 
+	/**
+	 * Check whether this is a date/time type. Values of such types are sent to
+	 * the client-side as epoch milliseconds (See {@link TimeCodec}).
+	 *
+	 * @return True for {@link #DATE}, {@link #TIME} and {@link #LEGACY_DATE}.
+	 */
+	final public boolean isTime() {
+		return this == DATE || this == TIME || this == LEGACY_DATE;
+	}
+
 	final public boolean support(Class<?> clazz) {
 		return type.isAssignableFrom(clazz);
 	}
 
 	final public Object mapValue(Object value) {
-		return mapValue(value, ZoneId.systemDefault());
+		return mapValue(value, ZoneOffset.UTC);
 	}
 
 	final public Object mapValue(Object value, ZoneId zoneId) {
@@ -103,7 +117,7 @@ public enum DataType {
 			if (value instanceof LocalDate) {
 				value = ((LocalDate) value).atStartOfDay();
 			} else if (value instanceof Date) {
-				value = ((Date) value).toInstant().atZone(zoneId).toLocalDateTime();
+				value = TimeCodec.of(zoneId).toLocalDateTime(((Date) value).getTime());
 			}
 			break;
 
@@ -111,15 +125,15 @@ public enum DataType {
 			if (value instanceof LocalDateTime) {
 				value = ((LocalDateTime) value).toLocalDate();
 			} else if (value instanceof Date) {
-				value = ((Date) value).toInstant().atZone(zoneId).toLocalDate();
+				value = TimeCodec.of(zoneId).toLocalDate(((Date) value).getTime());
 			}
 			break;
 
 		case LEGACY_DATE:
 			if (value instanceof LocalDate) {
-				value = Date.from(((LocalDate) value).atStartOfDay(zoneId).toInstant());
+				value = TimeCodec.of(zoneId).toDate((LocalDate) value);
 			} else if (value instanceof LocalDateTime) {
-				value = Date.from(((LocalDateTime) value).atZone(zoneId).toInstant());
+				value = TimeCodec.of(zoneId).toDate((LocalDateTime) value);
 			}
 			break;
 		}
@@ -137,7 +151,7 @@ public enum DataType {
 	}
 
 	final static public Object mapValue(Object value, DataType dataType, Consumer<DataType> setter) {
-		return mapValue(value, dataType, ZoneId.systemDefault(), setter);
+		return mapValue(value, dataType, ZoneOffset.UTC, setter);
 	}
 
 	final static public Object mapValue(Object value, DataType dataType, ZoneId zoneId, Consumer<DataType> setter) {
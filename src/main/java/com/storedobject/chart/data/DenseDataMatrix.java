@@ -0,0 +1,366 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.storedobject.chart.util.ChartException;
+import com.storedobject.chart.util.JsonCodec;
+
+/**
+ * A matrix of numeric values stored densely in a single <code>double</code>
+ * array (row-major). The shape is known in constant time and the rows and
+ * columns are provided as views over the array: nothing is copied or boxed
+ * while they are encoded. {@link #transpose()} also returns a view that shares
+ * the same array.
+ *
+ * <pre>
+ * DenseDataMatrix matrix = new DenseDataMatrix(3);
+ * matrix.setColumnNames("Apple", "Orange", "Grapes");
+ * matrix.setRowNames("2011", "2012", "2013", "2014");
+ * matrix.addRows(23.4, 34.5, 56.7, 25.2, 36.2, 60.1, 20.9, 39.5, 59.7, 23.7, 40.1, 66.7);
+ * </pre>
+ *
+ * @author Syam
+ */
+public class DenseDataMatrix extends AbstractDataMatrix {
+
+	private final Storage storage;
+	private final boolean transposed;
+	private final List<DataProvider> rowData = new ArrayList<>();
+	private final List<DataProvider> columnData = new ArrayList<>();
+
+	/**
+	 * Constructor. Rows can be added later.
+	 *
+	 * @param columns Number of columns.
+	 */
+	public DenseDataMatrix(int columns) {
+		this(new Storage(new double[Math.min(10, Integer.MAX_VALUE / columns(columns)) * columns], 0, columns), false);
+	}
+
+	/**
+	 * Constructor. All the values are initially zero.
+	 *
+	 * @param rows    Number of rows.
+	 * @param columns Number of columns.
+	 */
+	public DenseDataMatrix(int rows, int columns) {
+		this(new Storage(values(rows, columns), rows, columns), false);
+	}
+
+	/**
+	 * Constructor. The array of values is used as it is (not copied) until more
+	 * rows are added.
+	 *
+	 * @param columns Number of columns.
+	 * @param values  Values in row-major order.
+	 */
+	public DenseDataMatrix(int columns, double[] values) {
+		this(new Storage(values, values.length / columns(columns), columns), false);
+	}
+
+	private DenseDataMatrix(Storage storage, boolean transposed) {
+		this.storage = storage;
+		this.transposed = transposed;
+	}
+
+	private static int columns(int columns) {
+		if (columns <= 0) {
+			throw new IllegalArgumentException("Number of columns must be positive");
+		}
+		return columns;
+	}
+
+	private static double[] values(int rows, int columns) {
+		columns(columns);
+		if (rows < 0) {
+			throw new IllegalArgumentException("Number of rows can not be negative");
+		}
+		if ((long) rows * columns > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many values: " + rows + " x " + columns);
+		}
+		return new double[rows * columns];
+	}
+
+	/**
+	 * Create a dense copy of another matrix.
+	 *
+	 * @param matrix Matrix to copy.
+	 * @return Dense matrix.
+	 */
+	public static DenseDataMatrix of(AbstractDataMatrix matrix) {
+		int rows = matrix.getRowCount(), columns = matrix.getColumnCount();
+		DenseDataMatrix dense = new DenseDataMatrix(rows, columns);
+		for (int r = 0; r < rows; r++) {
+			List<Number> row = matrix.getRow(r).asList();
+			for (int c = 0; c < columns; c++) {
+				Number value = row.get(c);
+				dense.storage.values[r * columns + c] = value == null ? Double.NaN : value.doubleValue();
+			}
+		}
+		dense.setNames(matrix, false);
+		return dense;
+	}
+
+	@Override
+	public int getRowCount() {
+		return transposed ? storage.columns : storage.rows;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return transposed ? storage.rows : storage.columns;
+	}
+
+	private int rowStride() {
+		return transposed ? 1 : storage.columns;
+	}
+
+	private int columnStride() {
+		return transposed ? storage.columns : 1;
+	}
+
+	/**
+	 * Get a value.
+	 *
+	 * @param row    Row index.
+	 * @param column Column index.
+	 * @return Value.
+	 */
+	public double get(int row, int column) {
+		checkIndex(row, column);
+		return storage.values[row * rowStride() + column * columnStride()];
+	}
+
+	/**
+	 * Set a value.
+	 *
+	 * @param row    Row index.
+	 * @param column Column index.
+	 * @param value  Value to set.
+	 */
+	public void set(int row, int column, double value) {
+		checkIndex(row, column);
+		storage.values[row * rowStride() + column * columnStride()] = value;
+	}
+
+	/**
+	 * Set the values of a row (starting from the first column).
+	 *
+	 * @param row    Row index.
+	 * @param values Values to set.
+	 */
+	public void setRow(int row, double... values) {
+		int count = Math.min(values.length, getColumnCount());
+		for (int c = 0; c < count; c++) {
+			set(row, c, values[c]);
+		}
+	}
+
+	/**
+	 * Set the values of a column (starting from the first row).
+	 *
+	 * @param column Column index.
+	 * @param values Values to set.
+	 */
+	public void setColumn(int column, double... values) {
+		int count = Math.min(values.length, getRowCount());
+		for (int r = 0; r < count; r++) {
+			set(r, column, values[r]);
+		}
+	}
+
+	/**
+	 * Add a row of values. Missing values are set to <code>NaN</code> and extra
+	 * values are ignored.
+	 *
+	 * @param values Values of the row.
+	 */
+	public void addRow(double... values) {
+		checkGrowable();
+		int row = storage.rows;
+		storage.ensureCapacity(storage.rows + 1);
+		storage.rows++;
+		int columns = storage.columns, count = Math.min(values.length, columns);
+		System.arraycopy(values, 0, storage.values, row * columns, count);
+		Arrays.fill(storage.values, row * columns + count, (row + 1) * columns, Double.NaN);
+	}
+
+	/**
+	 * Add rows of values in bulk. The values should be in row-major order and
+	 * incomplete rows at the end are ignored.
+	 *
+	 * @param values Values of the rows.
+	 */
+	public void addRows(double... values) {
+		checkGrowable();
+		int rows = values.length / storage.columns;
+		storage.ensureCapacity(storage.rows + rows);
+		System.arraycopy(values, 0, storage.values, storage.rows * storage.columns, rows * storage.columns);
+		storage.rows += rows;
+	}
+
+	/**
+	 * Get a transposed view of this matrix. The view shares the values with this
+	 * matrix (Rows can not be added via the view).
+	 *
+	 * @return Transposed view.
+	 */
+	public DenseDataMatrix transpose() {
+		DenseDataMatrix matrix = new DenseDataMatrix(storage, !transposed);
+		matrix.setNames(this, true);
+		return matrix;
+	}
+
+	@Override
+	public DataProvider getRow(int row) {
+		return view(rowData, row, getRowCount(), true);
+	}
+
+	@Override
+	public DataProvider getColumn(int column) {
+		return view(columnData, column, getColumnCount(), false);
+	}
+
+	private DataProvider view(List<DataProvider> views, int index, int count, boolean row) {
+		if (index < 0 || index >= count) {
+			return null;
+		}
+		while (views.size() <= index) {
+			views.add(new Vector(views.size(), row));
+		}
+		return views.get(index);
+	}
+
+	private void checkGrowable() {
+		if (transposed) {
+			throw new UnsupportedOperationException("Rows can't be added to a transposed view");
+		}
+	}
+
+	private void checkIndex(int row, int column) {
+		if (row < 0 || row >= getRowCount() || column < 0 || column >= getColumnCount()) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + row + ", " + column + ", Size: " + getRowCount() + " x " + getColumnCount());
+		}
+	}
+
+	private static class Storage {
+
+		private double[] values;
+		private int rows;
+		private final int columns;
+
+		private Storage(double[] values, int rows, int columns) {
+			this.values = values;
+			this.rows = rows;
+			this.columns = columns;
+		}
+
+		private void ensureCapacity(int rows) {
+			if (rows * columns > values.length) {
+				values = Arrays.copyOf(values, Math.max(rows, this.rows + (this.rows >> 1)) * columns);
+			}
+		}
+	}
+
+	private class Vector extends BaseData implements DataProvider {
+
+		private final int index;
+		private final boolean row;
+		private final List<Number> list = new Values();
+
+		private Vector(int index, boolean row) {
+			this.index = index;
+			this.row = row;
+		}
+
+		private int size() {
+			return row ? getColumnCount() : getRowCount();
+		}
+
+		private int offset() {
+			return row ? index * rowStride() : index * columnStride();
+		}
+
+		private int stride() {
+			return row ? columnStride() : rowStride();
+		}
+
+		@Override
+		public String getName() {
+			return row ? getRowName(index) : getColumnName(index);
+		}
+
+		@Override
+		public List<Number> asList() {
+			return list;
+		}
+
+		@Override
+		public Stream<Number> stream() {
+			double[] values = storage.values;
+			int offset = offset(), stride = stride();
+			return IntStream.range(0, size()).mapToObj(i -> values[offset + i * stride]);
+		}
+
+		@Override
+		public StringBuilder encodeDataContent(StringBuilder sb) {
+			double[] values = storage.values;
+			int size = size(), stride = stride();
+			sb.append('[');
+			for (int i = 0, p = offset(); i < size; i++, p += stride) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				JsonCodec.appendDouble(sb, values[p]);
+			}
+			return sb.append(']');
+		}
+
+		@Override
+		public void validate() throws ChartException {
+			if (index >= (row ? getRowCount() : getColumnCount())) {
+				throw new ChartException("No data at index " + index + " in " + DenseDataMatrix.this.getName());
+			}
+		}
+
+		private class Values extends AbstractList<Number> implements RandomAccess {
+
+			@Override
+			public Number get(int index) {
+				if (index < 0 || index >= size()) {
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+				}
+				return storage.values[offset() + index * stride()];
+			}
+
+			@Override
+			public int size() {
+				return Vector.this.size();
+			}
+		}
+	}
+}
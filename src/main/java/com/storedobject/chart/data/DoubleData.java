@@ -0,0 +1,192 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.util.Arrays;
+
+import com.storedobject.chart.util.JsonCodec;
+import com.storedobject.chart.util.TriConsumer;
+
+/**
+ * Numeric data backed by an array of <code>double</code> values. (See
+ * {@link AbstractPrimitiveData}).
+ *
+ * @author Syam
+ */
+public class DoubleData extends AbstractPrimitiveData {
+	private static final long serialVersionUID = 2715286843305916052L;
+
+	private double[] values;
+	private Encoder encoder;
+	private transient TriConsumer<StringBuilder, Number, Integer> dataEncoder;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param data Initial data to add
+	 */
+	public DoubleData(double... data) {
+		values = data == null ? new double[10] : Arrays.copyOf(data, Math.max(data.length, 10));
+		size = data == null ? 0 : data.length;
+	}
+
+	/**
+	 * Add a value.
+	 *
+	 * @param value Value to add.
+	 */
+	public void add(double value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+	}
+
+	/**
+	 * Add values.
+	 *
+	 * @param values Values to add.
+	 */
+	public void addAll(double... values) {
+		addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Add a range of values from an array.
+	 *
+	 * @param values Array of values.
+	 * @param from   Index of the first value to add.
+	 * @param to     Index after the last value to add.
+	 */
+	public void addAll(double[] values, int from, int to) {
+		int count = to - from;
+		ensureCapacity(size + count);
+		System.arraycopy(values, from, this.values, size, count);
+		size += count;
+	}
+
+	/**
+	 * Get the value at the given index.
+	 *
+	 * @param index Index.
+	 * @return Value.
+	 */
+	public double get(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Set the value at the given index.
+	 *
+	 * @param index Index.
+	 * @param value Value to set.
+	 */
+	public void set(int index, double value) {
+		checkIndex(index);
+		values[index] = value;
+	}
+
+	/**
+	 * Get a copy of the values.
+	 *
+	 * @return Values.
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Make sure that the given number of values can be held without allocating
+	 * more storage.
+	 *
+	 * @param capacity Required capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, capacity(values.length, capacity));
+		}
+	}
+
+	/**
+	 * Set the encoder for the values. Values are encoded by the default encoder
+	 * if it is not set. (Data with its own encoder is not sent as a binary
+	 * array, and it is written inline in the chart that uses it unless
+	 * {@link #setDataSetEncoding(boolean)} is set).
+	 *
+	 * @param encoder Encoder.
+	 * @return Self reference.
+	 */
+	public DoubleData setDataEncoder(Encoder encoder) {
+		this.encoder = encoder;
+		this.dataEncoder = null;
+		return this;
+	}
+
+	@Override
+	public TriConsumer<StringBuilder, Number, Integer> getDataEncoder() {
+		if (encoder == null) {
+			return super.getDataEncoder();
+		}
+		if (dataEncoder == null) {
+			Encoder e = encoder;
+			dataEncoder = (sb, value, index) -> e.encode(sb, index, value.doubleValue());
+		}
+		return dataEncoder;
+	}
+
+	@Override
+	Number value(int index) {
+		return values[index];
+	}
+
+	@Override
+	void encode(StringBuilder sb, int index) {
+		if (encoder == null) {
+			JsonCodec.appendDouble(sb, values[index]);
+		} else {
+			encoder.encode(sb, index, values[index]);
+		}
+	}
+
+	@Override
+	StringBuilder encodeBinary(StringBuilder sb) {
+		return BinaryEncoding.encode(sb, values, size);
+	}
+
+	@Override
+	double[] doubles() {
+		return values;
+	}
+
+	/**
+	 * Encoder of <code>double</code> values.
+	 *
+	 * @author Syam
+	 */
+	@FunctionalInterface
+	public interface Encoder {
+
+		/**
+		 * Append the encoded value to the string builder.
+		 *
+		 * @param sb    Append to this.
+		 * @param index Index of the value.
+		 * @param value Value.
+		 */
+		void encode(StringBuilder sb, int index, double value);
+	}
+}
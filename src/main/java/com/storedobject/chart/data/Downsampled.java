@@ -0,0 +1,507 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.storedobject.chart.SOChart;
+import com.storedobject.chart.util.TimeCodec;
+import com.vaadin.server.Sizeable.Unit;
+
+/**
+ * <p>
+ * Downsampled view of a pair of X and Y data. Only a visually faithful subset
+ * of the points is provided by {@link #getX()} and {@link #getY()} so that
+ * large data sets can be charted without sending every point to the client.
+ * Two algorithms are available:
+ * </p>
+ * <p>
+ * (1) Largest-Triangle-Three-Buckets ({@link #lttb(AbstractDataProvider,
+ * DataProvider, int)}) that keeps the given number of points, preserving the
+ * shape of the line.<BR>
+ * (2) M4 ({@link #m4(AbstractDataProvider, DataProvider, int)}) that keeps the
+ * first, last, minimum and maximum points of each pixel column. The rendering
+ * of a line chart with the downsampled points is the same as with all the
+ * points.
+ * </p>
+ * <p>
+ * X values may be numbers, dates or times (their positions are used otherwise).
+ * The points are sampled once and the sampled points are reused until the
+ * number of values in the original data changes or the window changes. The
+ * number of values is known only for lists, primitive and mapped data. Any
+ * other data (a stream-only {@link DataProvider} for example) is sampled once
+ * and its sampled points are served until {@link #refresh()} is invoked, even
+ * if it provides more (or different) values later. So, if values are changed in
+ * place, or added to data that is not a list, {@link #refresh()} should be
+ * invoked before updating the chart. (If the original data is
+ * {@link WindowedDataProvider}, the window is passed on to it). Primitive and
+ * mapped data are read directly without boxing the values.
+ * </p>
+ *
+ * <pre>
+ * Downsampled&lt;LocalDateTime&gt; sampled = Downsampled.m4(time, values, soChart);
+ * LineChart lineChart = new LineChart(sampled.getX(), sampled.getY());
+ * </pre>
+ *
+ * @param <X> Type of the X values.
+ * @author Syam
+ */
+public class Downsampled<X> {
+
+	/**
+	 * Pixel width assumed when the width of the {@link SOChart} is not set in
+	 * pixels.
+	 */
+	public static final int DEFAULT_PIXEL_WIDTH = 1920;
+
+	private final AbstractDataProvider<X> x;
+	private final DataProvider y;
+	private final boolean m4;
+	private final IntSupplier threshold;
+	private final SampledX sampledX = new SampledX();
+	private final SampledY sampledY = new SampledY();
+	private List<X> sampledXValues;
+	private double[] sampledYValues;
+	private boolean sampled;
+	private int sampledThreshold = -1, xSize, ySize;
+
+	private Downsampled(AbstractDataProvider<X> x, DataProvider y, boolean m4, IntSupplier threshold) {
+		this.x = x;
+		this.y = y;
+		this.m4 = m4;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Downsample using the Largest-Triangle-Three-Buckets algorithm.
+	 *
+	 * @param <X>          Type of the X values.
+	 * @param x            X values.
+	 * @param y            Y values.
+	 * @param targetPoints Number of points to keep.
+	 * @return Downsampled data.
+	 */
+	public static <X> Downsampled<X> lttb(AbstractDataProvider<X> x, DataProvider y, int targetPoints) {
+		return new Downsampled<>(x, y, false, () -> targetPoints);
+	}
+
+	/**
+	 * Downsample using the M4 algorithm.
+	 *
+	 * @param <X>        Type of the X values.
+	 * @param x          X values.
+	 * @param y          Y values.
+	 * @param pixelWidth Width of the plot area in pixels.
+	 * @return Downsampled data.
+	 */
+	public static <X> Downsampled<X> m4(AbstractDataProvider<X> x, DataProvider y, int pixelWidth) {
+		return new Downsampled<>(x, y, true, () -> pixelWidth);
+	}
+
+	/**
+	 * Downsample using the M4 algorithm. The pixel width is taken from the width
+	 * of the chart at the time of sampling (See {@link #DEFAULT_PIXEL_WIDTH}).
+	 *
+	 * @param <X>   Type of the X values.
+	 * @param x     X values.
+	 * @param y     Y values.
+	 * @param chart Chart in which the data is displayed.
+	 * @return Downsampled data.
+	 */
+	public static <X> Downsampled<X> m4(AbstractDataProvider<X> x, DataProvider y, SOChart chart) {
+		return new Downsampled<>(x, y, true, () -> pixelWidth(chart));
+	}
+
+	private static int pixelWidth(SOChart chart) {
+		if (chart.getWidthUnits() == Unit.PIXELS && chart.getWidth() > 0) {
+			return (int) chart.getWidth();
+		}
+		return DEFAULT_PIXEL_WIDTH;
+	}
+
+	/**
+	 * Get the downsampled X values.
+	 *
+	 * @return Data provider of the downsampled X values.
+	 */
+	public AbstractDataProvider<X> getX() {
+		return sampledX;
+	}
+
+	/**
+	 * Get the downsampled Y values.
+	 *
+	 * @return Data provider of the downsampled Y values.
+	 */
+	public DataProvider getY() {
+		return sampledY;
+	}
+
+	/**
+	 * Sample the points again. This is required if the values of the original
+	 * data are changed in place, or if the original data is neither a list nor
+	 * primitive or mapped data (the number of values of such data is not known,
+	 * so its sampled points are served until this is invoked).
+	 */
+	public synchronized void refresh() {
+		sampled = false;
+	}
+
+	/**
+	 * Sample the points if not already done.
+	 */
+	private synchronized void sample() {
+		int t = threshold.getAsInt();
+		int xs = size(x), ys = size(y);
+		if (sampled && t == sampledThreshold && xs == xSize && ys == ySize) {
+			return;
+		}
+		sampledThreshold = t;
+		xSize = xs;
+		ySize = ys;
+		double[] xValues = doubles(x, x.getTimeCodec()), yValues = doubles(y, null);
+		int n = Math.min(xValues.length, yValues.length);
+		int[] indices = m4 ? m4(xValues, yValues, n, t) : lttb(xValues, yValues, n, t);
+		sampledXValues = values(x, indices);
+		sampledYValues = new double[indices.length];
+		for (int i = 0; i < indices.length; i++) {
+			sampledYValues[i] = yValues[indices[i]];
+		}
+		sampled = true;
+	}
+
+	/**
+	 * Get the number of values if that can be found cheaply.
+	 *
+	 * @return Number of values or -1 if not known.
+	 */
+	private static int size(AbstractDataProvider<?> data) {
+		if (data instanceof AbstractPrimitiveData) {
+			return ((AbstractPrimitiveData) data).size();
+		}
+		if (data instanceof List || data instanceof AbstractMappedData) {
+			return data.asList().size();
+		}
+		return -1;
+	}
+
+	/**
+	 * Read the values as doubles. Primitive and mapped data are read directly,
+	 * lists by index and other data through its stream (only once).
+	 */
+	private static double[] doubles(AbstractDataProvider<?> data, TimeCodec timeCodec) {
+		if (data instanceof AbstractPrimitiveData) {
+			AbstractPrimitiveData primitiveData = (AbstractPrimitiveData) data;
+			double[] values = primitiveData.doubles();
+			return values.length == primitiveData.size() ? values : Arrays.copyOf(values, primitiveData.size());
+		}
+		if (data instanceof AbstractMappedData) {
+			AbstractMappedData<?> mappedData = (AbstractMappedData<?>) data;
+			MappedColumn column = mappedData.getColumn();
+			long from = mappedData.getFrom();
+			double[] values = new double[(int) (mappedData.getTo() - from)];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = column.getDouble(from + i);
+			}
+			return values;
+		}
+		if (data instanceof List) {
+			List<?> list = (List<?>) data;
+			double[] values = new double[list.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = toDouble(timeCodec, list.get(i), i);
+			}
+			return values;
+		}
+		double[] values = new double[1024];
+		int n = 0;
+		Iterator<?> iterator = data.stream().iterator();
+		while (iterator.hasNext()) {
+			if (n == values.length) {
+				values = Arrays.copyOf(values, n << 1);
+			}
+			values[n] = toDouble(timeCodec, iterator.next(), n);
+			++n;
+		}
+		return Arrays.copyOf(values, n);
+	}
+
+	/**
+	 * Get the values at the given (ascending) indices.
+	 */
+	private static <T> List<T> values(AbstractDataProvider<T> data, int[] indices) {
+		List<T> values = new ArrayList<>(indices.length);
+		if (data instanceof List || data instanceof AbstractMappedData) {
+			List<T> list = data.asList();
+			for (int index : indices) {
+				values.add(list.get(index));
+			}
+			return values;
+		}
+		Iterator<T> iterator = data.stream().iterator();
+		int position = 0;
+		for (int index : indices) {
+			T value = null;
+			while (position <= index && iterator.hasNext()) {
+				value = iterator.next();
+				++position;
+			}
+			values.add(value);
+		}
+		return values;
+	}
+
+	private static double toDouble(TimeCodec timeCodec, Object value, int index) {
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value == null) {
+			return Double.NaN;
+		}
+		Long epochMilli = timeCodec == null ? null : timeCodec.toEpochMilli(value);
+		return epochMilli == null ? index : epochMilli;
+	}
+
+	private static int[] all(int n) {
+		return IntStream.range(0, n).toArray();
+	}
+
+	private static int[] lttb(double[] xs, double[] ys, int n, int threshold) {
+		if (threshold >= n || threshold < 3) {
+			return all(n);
+		}
+
+		int[] sampled = new int[threshold];
+		double every = (double) (n - 2) / (threshold - 2);
+		int a = 0;
+		for (int i = 0; i < threshold - 2; i++) {
+			// Average of the next bucket (buckets without any valid point are skipped)
+			double avgX = 0, avgY = 0;
+			int count = 0;
+			for (int bucket = i + 1; count == 0 && bucket < threshold - 1; bucket++) {
+				int avgStart = (int) (bucket * every) + 1, avgEnd = Math.min((int) ((bucket + 1) * every) + 1, n);
+				for (int j = avgStart; j < avgEnd; j++) {
+					if (!Double.isNaN(xs[j]) && !Double.isNaN(ys[j])) {
+						avgX += xs[j];
+						avgY += ys[j];
+						++count;
+					}
+				}
+			}
+			if (count == 0) {
+				avgX = xs[n - 1];
+				avgY = ys[n - 1];
+			} else {
+				avgX /= count;
+				avgY /= count;
+			}
+
+			// Point of the current bucket that forms the largest triangle (if the
+			// bucket has no valid point, its first point is kept to show the gap but
+			// it doesn't become the next vertex)
+			int start = (int) (i * every) + 1, end = (int) ((i + 1) * every) + 1;
+			double maxArea = -1;
+			int next = -1;
+			for (int j = start; j < end; j++) {
+				double area = Math.abs((xs[a] - avgX) * (ys[j] - ys[a]) - (xs[a] - xs[j]) * (avgY - ys[a]));
+				if (area > maxArea) {
+					maxArea = area;
+					next = j;
+				}
+			}
+			if (next < 0) {
+				sampled[i + 1] = start;
+			} else {
+				sampled[i + 1] = a = next;
+			}
+		}
+		sampled[threshold - 1] = n - 1;
+		return sampled;
+	}
+
+	private static int[] m4(double[] xs, double[] ys, int n, int width) {
+		if (width < 1 || n <= 4 * width) {
+			return all(n);
+		}
+
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			double v = xs[i];
+			if (v < min) {
+				min = v;
+			}
+			if (v > max) {
+				max = v;
+			}
+		}
+		if (!(max > min)) {
+			return all(n);
+		}
+
+		// First, last, minimum, maximum and the first gap (missing value) of each
+		// pixel column
+		int[] first = new int[width], last = new int[width], low = new int[width], high = new int[width],
+				gap = new int[width];
+		Arrays.fill(first, -1);
+		Arrays.fill(gap, -1);
+		double scale = width / (max - min);
+		for (int i = 0; i < n; i++) {
+			if (Double.isNaN(xs[i])) {
+				continue;
+			}
+			int column = Math.min((int) ((xs[i] - min) * scale), width - 1);
+			if (first[column] < 0) {
+				first[column] = last[column] = low[column] = high[column] = i;
+			} else {
+				last[column] = i;
+			}
+			if (Double.isNaN(ys[i])) {
+				if (gap[column] < 0) {
+					gap[column] = i;
+				}
+				continue;
+			}
+			if (Double.isNaN(ys[low[column]]) || ys[i] < ys[low[column]]) {
+				low[column] = i;
+			}
+			if (Double.isNaN(ys[high[column]]) || ys[i] > ys[high[column]]) {
+				high[column] = i;
+			}
+		}
+
+		int[] sampled = new int[5 * width];
+		int count = 0;
+		for (int column = 0; column < width; column++) {
+			if (first[column] < 0) {
+				continue;
+			}
+			sampled[count++] = first[column];
+			sampled[count++] = low[column];
+			sampled[count++] = high[column];
+			sampled[count++] = last[column];
+			if (gap[column] >= 0) {
+				sampled[count++] = gap[column];
+			}
+		}
+		return IntStream.of(sampled).limit(count).sorted().distinct().toArray();
+	}
+
+	private synchronized boolean setWindow(double start, double end) {
+		boolean changed = false;
+		if (x instanceof WindowedDataProvider) {
+			changed = ((WindowedDataProvider) x).setWindow(start, end);
+		}
+		if (y instanceof WindowedDataProvider) {
+			changed |= ((WindowedDataProvider) y).setWindow(start, end);
+		}
+		if (changed) {
+			refresh();
+		}
+		return changed;
+	}
+
+	private class SampledX implements AbstractDataProvider<X>, WindowedDataProvider {
+
+		private int serial = -1;
+
+		@Override
+		public Stream<X> stream() {
+			List<X> values;
+			synchronized (Downsampled.this) {
+				sample();
+				values = sampledXValues;
+			}
+			return values.stream();
+		}
+
+		@Override
+		public DataType getDataType() {
+			return x.getDataType();
+		}
+
+		@Override
+		public TimeCodec getTimeCodec() {
+			return x.getTimeCodec();
+		}
+
+		@Override
+		public boolean setWindow(double start, double end) {
+			return Downsampled.this.setWindow(start, end);
+		}
+
+		@Override
+		public int getSerial() {
+			return serial;
+		}
+
+		@Override
+		public void setSerial(int serial) {
+			this.serial = serial;
+		}
+
+		@Override
+		public String getName() {
+			return x.getName();
+		}
+	}
+
+	private class SampledY implements DataProvider, WindowedDataProvider {
+
+		private int serial = -1;
+
+		@Override
+		public Stream<Number> stream() {
+			double[] values;
+			synchronized (Downsampled.this) {
+				sample();
+				values = sampledYValues;
+			}
+			return Arrays.stream(values).mapToObj(v -> Double.isNaN(v) ? null : v);
+		}
+
+		@Override
+		public boolean isBinaryEncoding() {
+			return y.isBinaryEncoding();
+		}
+
+		@Override
+		public boolean setWindow(double start, double end) {
+			return Downsampled.this.setWindow(start, end);
+		}
+
+		@Override
+		public int getSerial() {
+			return serial;
+		}
+
+		@Override
+		public void setSerial(int serial) {
+			this.serial = serial;
+		}
+
+		@Override
+		public String getName() {
+			return y.getName();
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.util.Arrays;
+
+import com.storedobject.chart.util.TriConsumer;
+
+/**
+ * Numeric data backed by an array of <code>long</code> values. (See
+ * {@link AbstractPrimitiveData}).
+ *
+ * @author Syam
+ */
+public class LongData extends AbstractPrimitiveData {
+	private static final long serialVersionUID = 7304164127513429530L;
+
+	private long[] values;
+	private Encoder encoder;
+	private transient TriConsumer<StringBuilder, Number, Integer> dataEncoder;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param data Initial data to add
+	 */
+	public LongData(long... data) {
+		values = data == null ? new long[10] : Arrays.copyOf(data, Math.max(data.length, 10));
+		size = data == null ? 0 : data.length;
+	}
+
+	/**
+	 * Add a value.
+	 *
+	 * @param value Value to add.
+	 */
+	public void add(long value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+	}
+
+	/**
+	 * Add values.
+	 *
+	 * @param values Values to add.
+	 */
+	public void addAll(long... values) {
+		addAll(values, 0, values.length);
+	}
+
+	/**
+	 * Add a range of values from an array.
+	 *
+	 * @param values Array of values.
+	 * @param from   Index of the first value to add.
+	 * @param to     Index after the last value to add.
+	 */
+	public void addAll(long[] values, int from, int to) {
+		int count = to - from;
+		ensureCapacity(size + count);
+		System.arraycopy(values, from, this.values, size, count);
+		size += count;
+	}
+
+	/**
+	 * Get the value at the given index.
+	 *
+	 * @param index Index.
+	 * @return Value.
+	 */
+	public long get(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Set the value at the given index.
+	 *
+	 * @param index Index.
+	 * @param value Value to set.
+	 */
+	public void set(int index, long value) {
+		checkIndex(index);
+		values[index] = value;
+	}
+
+	/**
+	 * Get a copy of the values.
+	 *
+	 * @return Values.
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Make sure that the given number of values can be held without allocating
+	 * more storage.
+	 *
+	 * @param capacity Required capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, capacity(values.length, capacity));
+		}
+	}
+
+	/**
+	 * Set the encoder for the values. Values are encoded by the default encoder
+	 * if it is not set. (Data with its own encoder is not sent as a binary
+	 * array, and it is written inline in the chart that uses it unless
+	 * {@link #setDataSetEncoding(boolean)} is set).
+	 *
+	 * @param encoder Encoder.
+	 * @return Self reference.
+	 */
+	public LongData setDataEncoder(Encoder encoder) {
+		this.encoder = encoder;
+		this.dataEncoder = null;
+		return this;
+	}
+
+	@Override
+	public TriConsumer<StringBuilder, Number, Integer> getDataEncoder() {
+		if (encoder == null) {
+			return super.getDataEncoder();
+		}
+		if (dataEncoder == null) {
+			Encoder e = encoder;
+			dataEncoder = (sb, value, index) -> e.encode(sb, index, value.longValue());
+		}
+		return dataEncoder;
+	}
+
+	@Override
+	Number value(int index) {
+		return values[index];
+	}
+
+	@Override
+	void encode(StringBuilder sb, int index) {
+		if (encoder == null) {
+			sb.append(values[index]);
+		} else {
+			encoder.encode(sb, index, values[index]);
+		}
+	}
+
+	@Override
+	StringBuilder encodeBinary(StringBuilder sb) {
+		return BinaryEncoding.encode(sb, values, size);
+	}
+
+	@Override
+	double[] doubles() {
+		double[] doubles = new double[size];
+		for (int i = 0; i < size; i++) {
+			doubles[i] = values[i];
+		}
+		return doubles;
+	}
+
+	/**
+	 * Encoder of <code>long</code> values.
+	 *
+	 * @author Syam
+	 */
+	@FunctionalInterface
+	public interface Encoder {
+
+		/**
+		 * Append the encoded value to the string builder.
+		 *
+		 * @param sb    Append to this.
+		 * @param index Index of the value.
+		 * @param value Value.
+		 */
+		void encode(StringBuilder sb, int index, long value);
+	}
+}
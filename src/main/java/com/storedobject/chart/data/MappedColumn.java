@@ -0,0 +1,278 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.storedobject.chart.util.JsonCodec;
+
+/**
+ * A column of fixed-width binary values in a file, mapped into memory (off the
+ * JVM heap). Files larger than 2 GB are mapped as a sequence of segments. The
+ * values are read directly from the mapped memory, so only the values that are
+ * actually being encoded are ever brought into the heap.
+ *
+ * <p>
+ * A column is read-only and can be shared between threads and charts. The
+ * mapping remains valid until the column is garbage collected.
+ * </p>
+ *
+ * @author Syam
+ */
+public final class MappedColumn {
+
+	private static final long SEGMENT_BYTES = 1L << 30;
+
+	private final Type type;
+	private final long size;
+	private final MappedByteBuffer[] segments;
+
+	/**
+	 * Type of the values in the column.
+	 *
+	 * @author Syam
+	 */
+	public enum Type {
+
+		/**
+		 * 32-bit signed integers.
+		 */
+		INT32(4),
+		/**
+		 * 64-bit signed integers (Also used for epoch milliseconds).
+		 */
+		INT64(8),
+		/**
+		 * 32-bit floating point values.
+		 */
+		FLOAT32(4),
+		/**
+		 * 64-bit floating point values.
+		 */
+		FLOAT64(8);
+
+		private final int width;
+
+		Type(int width) {
+			this.width = width;
+		}
+
+		/**
+		 * Get the width of a value in bytes.
+		 *
+		 * @return Width.
+		 */
+		public int getWidth() {
+			return width;
+		}
+	}
+
+	private MappedColumn(Type type, long size, MappedByteBuffer[] segments) {
+		this.type = type;
+		this.size = size;
+		this.segments = segments;
+	}
+
+	/**
+	 * Map a file that contains only little-endian values of the given type.
+	 *
+	 * @param file File to map.
+	 * @param type Type of the values.
+	 * @return Column.
+	 * @throws IOException If the file can not be mapped.
+	 */
+	public static MappedColumn open(Path file, Type type) throws IOException {
+		return open(file, 0, -1, type, ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Map a range of a file.
+	 *
+	 * @param file   File to map.
+	 * @param offset Position of the first value in the file (in bytes).
+	 * @param count  Number of values (Pass -1 to map till the end of the file).
+	 * @param type   Type of the values.
+	 * @param order  Byte order of the values.
+	 * @return Column.
+	 * @throws IOException If the file can not be mapped.
+	 */
+	public static MappedColumn open(Path file, long offset, long count, Type type, ByteOrder order)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (count < 0) {
+				count = (channel.size() - offset) / type.width;
+			}
+			long bytes = count * type.width;
+			if (offset < 0 || offset + bytes > channel.size()) {
+				throw new IOException("Range is outside the file - " + file);
+			}
+			MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+			for (int i = 0; i < segments.length; i++) {
+				long start = i * SEGMENT_BYTES;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start,
+						Math.min(SEGMENT_BYTES, bytes - start));
+				segments[i].order(order);
+			}
+			return new MappedColumn(type, count, segments);
+		}
+	}
+
+	/**
+	 * Get the type of the values.
+	 *
+	 * @return Type.
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Get the number of values.
+	 *
+	 * @return Number of values.
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Get a value as a double.
+	 *
+	 * @param index Index of the value.
+	 * @return Value.
+	 */
+	public double getDouble(long index) {
+		long position = index * type.width;
+		MappedByteBuffer segment = segments[(int) (position / SEGMENT_BYTES)];
+		int offset = (int) (position % SEGMENT_BYTES);
+		switch (type) {
+		case INT32:
+			return segment.getInt(offset);
+		case INT64:
+			return segment.getLong(offset);
+		case FLOAT32:
+			return segment.getFloat(offset);
+		default:
+			return segment.getDouble(offset);
+		}
+	}
+
+	/**
+	 * Get a value as a long.
+	 *
+	 * @param index Index of the value.
+	 * @return Value.
+	 */
+	public long getLong(long index) {
+		long position = index * type.width;
+		MappedByteBuffer segment = segments[(int) (position / SEGMENT_BYTES)];
+		int offset = (int) (position % SEGMENT_BYTES);
+		switch (type) {
+		case INT32:
+			return segment.getInt(offset);
+		case INT64:
+			return segment.getLong(offset);
+		case FLOAT32:
+			return (long) segment.getFloat(offset);
+		default:
+			return (long) segment.getDouble(offset);
+		}
+	}
+
+	/**
+	 * Get a value as a boxed number of the natural type of the column.
+	 *
+	 * @param index Index of the value.
+	 * @return Value.
+	 */
+	public Number get(long index) {
+		switch (type) {
+		case INT32:
+		case INT64:
+			return getLong(index);
+		case FLOAT32:
+			return (float) getDouble(index);
+		default:
+			return getDouble(index);
+		}
+	}
+
+	/**
+	 * Append the JSON encoding of a value to the string builder.
+	 *
+	 * @param sb    Append to this.
+	 * @param index Index of the value.
+	 * @return The string builder passed.
+	 */
+	public StringBuilder append(StringBuilder sb, long index) {
+		switch (type) {
+		case INT32:
+		case INT64:
+			return sb.append(getLong(index));
+		case FLOAT32:
+			return JsonCodec.appendFloat(sb, (float) getDouble(index));
+		default:
+			return JsonCodec.appendDouble(sb, getDouble(index));
+		}
+	}
+
+	/**
+	 * Find the index of the first value that is not less than the given value.
+	 * The values of the column should be in ascending order.
+	 *
+	 * @param value Value to search for.
+	 * @return Index (could be {@link #size()} if all the values are less).
+	 */
+	public long lowerBound(double value) {
+		long low = 0, high = size;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (getDouble(mid) < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Find the index of the first value that is greater than the given value. The
+	 * values of the column should be in ascending order.
+	 *
+	 * @param value Value to search for.
+	 * @return Index (could be {@link #size()} if no value is greater).
+	 */
+	public long upperBound(double value) {
+		long low = 0, high = size;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (getDouble(mid) <= value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+/**
+ * Numeric data read from a {@link MappedColumn}. (See
+ * {@link AbstractMappedData}).
+ *
+ * <pre>
+ * MappedColumn time = MappedColumn.open(Paths.get("time.bin"), MappedColumn.Type.INT64);
+ * MappedColumn value = MappedColumn.open(Paths.get("value.bin"), MappedColumn.Type.FLOAT32);
+ * MappedTimeData x = new MappedTimeData(time);
+ * MappedData y = new MappedData(value, time);
+ * Downsampled&lt;LocalDateTime&gt; sampled = Downsampled.m4(x, y, soChart);
+ * </pre>
+ *
+ * @author Syam
+ */
+public class MappedData extends AbstractMappedData<Number> implements DataProvider {
+
+	private boolean binaryEncoding;
+
+	/**
+	 * Constructor. All the values of the column are provided unless a range is
+	 * set.
+	 *
+	 * @param column Column of values.
+	 */
+	public MappedData(MappedColumn column) {
+		this(column, null);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param column  Column of values.
+	 * @param xColumn Column of the X values (in ascending order) that decides the
+	 *                range when the visible range is set (It could be the same
+	 *                column if these are the X values).
+	 */
+	public MappedData(MappedColumn column, MappedColumn xColumn) {
+		super(column, xColumn);
+	}
+
+	@Override
+	Number value(long index) {
+		return getColumn().get(index);
+	}
+
+	@Override
+	void encode(StringBuilder sb, long index) {
+		getColumn().append(sb, index);
+	}
+
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		if (isBinaryEncoding() && isDefaultEncoding()) {
+			MappedColumn column = getColumn();
+			long from = getFrom();
+			int size = (int) (getTo() - from);
+			switch (column.getType()) {
+			case INT32:
+				int[] ints = new int[size];
+				for (int i = 0; i < size; i++) {
+					ints[i] = (int) column.getLong(from + i);
+				}
+				return BinaryEncoding.encode(sb, ints, size);
+			case INT64:
+				long[] longs = new long[size];
+				for (int i = 0; i < size; i++) {
+					longs[i] = column.getLong(from + i);
+				}
+				return BinaryEncoding.encode(sb, longs, size);
+			case FLOAT32:
+				float[] floats = new float[size];
+				for (int i = 0; i < size; i++) {
+					floats[i] = (float) column.getDouble(from + i);
+				}
+				return BinaryEncoding.encode(sb, floats, size);
+			default:
+				double[] doubles = new double[size];
+				for (int i = 0; i < size; i++) {
+					doubles[i] = column.getDouble(from + i);
+				}
+				return BinaryEncoding.encode(sb, doubles, size);
+			}
+		}
+		return super.encodeDataContent(sb);
+	}
+
+	@Override
+	public boolean isBinaryEncoding() {
+		return binaryEncoding;
+	}
+
+	/**
+	 * Set whether the values should be sent to the client as a binary array or
+	 * not. (See {@link BinaryEncoding}).
+	 *
+	 * @param binaryEncoding True to send as a binary array.
+	 */
+	public void setBinaryEncoding(boolean binaryEncoding) {
+		this.binaryEncoding = binaryEncoding;
+	}
+}
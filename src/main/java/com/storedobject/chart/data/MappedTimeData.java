@@ -0,0 +1,51 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time data read from a {@link MappedColumn} of epoch milliseconds. The values
+ * are sent to the client-side as they are and they are converted to
+ * {@link LocalDateTime} (using {@link #getTimeCodec()}) only if they are read
+ * via {@link #asList()} or {@link #stream()}. (See {@link AbstractMappedData}).
+ *
+ * @author Syam
+ */
+public class MappedTimeData extends AbstractMappedData<LocalDateTime> implements TimeDataProvider {
+
+	/**
+	 * Constructor. The range follows the visible range of the chart (The values
+	 * should be in ascending order).
+	 *
+	 * @param column Column of epoch milliseconds.
+	 */
+	public MappedTimeData(MappedColumn column) {
+		super(column, column);
+	}
+
+	@Override
+	LocalDateTime value(long index) {
+		return getTimeCodec().toLocalDateTime(getColumn().getLong(index));
+	}
+
+	@Override
+	void encode(StringBuilder sb, long index) {
+		sb.append(getColumn().getLong(index));
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Encoding of an evenly spaced sequence of integral values as a descriptor
+ * instead of the values themselves. The descriptor is a string tagged with
+ * {@link #PREFIX} that carries the first value, the step and the number of
+ * values, for example, "@sequence@0:1:1000000" for the numbers from 0 to
+ * 999999. The client-side expands it to an array of numbers before the option
+ * is handed over to "echarts".
+ *
+ * @author Syam
+ */
+public final class SequenceEncoding {
+
+	/**
+	 * Prefix used to tag the descriptor.
+	 */
+	public static final String PREFIX = "@sequence@";
+
+	private SequenceEncoding() {
+	}
+
+	/**
+	 * Append the descriptor of a sequence (as a JSON string) to the string
+	 * builder.
+	 *
+	 * @param sb    Append to this.
+	 * @param start First value.
+	 * @param step  Difference between successive values.
+	 * @param count Number of values.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder encode(StringBuilder sb, long start, long step, long count) {
+		return sb.append('"').append(PREFIX).append(start).append(':').append(step).append(':').append(count)
+				.append('"');
+	}
+
+	/**
+	 * Get the step in milliseconds if the given unit always has the same
+	 * duration in local time (as long as the offset of the time zone doesn't
+	 * change).
+	 *
+	 * @param step Number of units.
+	 * @param unit Unit.
+	 * @return Step in milliseconds or <code>null</code> if the unit is not of a
+	 *         fixed duration or if the step is not a whole number of
+	 *         milliseconds.
+	 */
+	static Long stepMillis(int step, ChronoUnit unit) {
+		if (!unit.isTimeBased() && unit != ChronoUnit.DAYS && unit != ChronoUnit.WEEKS) {
+			return null;
+		}
+		Duration duration = unit.getDuration().multipliedBy(step);
+		return duration.getNano() % 1000_000 == 0 ? duration.toMillis() : null;
+	}
+}
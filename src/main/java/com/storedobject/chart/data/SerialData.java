@@ -16,10 +16,9 @@
 
 package com.storedobject.chart.data;
 
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import com.storedobject.helper.StreamJava9;
-
 /**
  * Implementation of serially increasing/decreasing numbers as data.
  *
@@ -28,6 +27,7 @@ import com.storedobject.helper.StreamJava9;
 public class SerialData implements AbstractDataProvider<Integer> {
 
 	private final int start, end, step;
+	private int serial = -1;
 
 	/**
 	 * Constructor.
@@ -57,13 +57,39 @@ public class SerialData implements AbstractDataProvider<Integer> {
 		}
 	}
 
+	private long count() {
+		return ((long) end - start) / step + 1;
+	}
+
 	@Override
 	public Stream<Integer> stream() {
-		return StreamJava9.iterate(start, i -> (step > 1 ? i <= end : i >= end), i -> i + step);
+		return LongStream.range(0, count()).mapToObj(i -> (int) (start + i * step));
+	}
+
+	/**
+	 * The values are sent as a descriptor of the sequence (See
+	 * {@link SequenceEncoding}).
+	 */
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		if (isDefaultEncoding()) {
+			return SequenceEncoding.encode(sb, start, step, count());
+		}
+		return AbstractDataProvider.super.encodeDataContent(sb);
 	}
 
 	@Override
 	public DataType getDataType() {
 		return DataType.NUMBER;
 	}
+
+	@Override
+	public int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public void setSerial(int serial) {
+		this.serial = serial;
+	}
 }
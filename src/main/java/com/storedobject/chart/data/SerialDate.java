@@ -20,6 +20,7 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.stream.Stream;
 
+import com.storedobject.chart.util.TimeCodec;
 import com.storedobject.helper.StreamJava9;
 
 /**
@@ -32,6 +33,7 @@ public class SerialDate implements AbstractDataProvider<LocalDate> {
 	private final LocalDate start, end;
 	private final int step;
 	private final ChronoUnit stepUnit;
+	private int serial = -1;
 
 	/**
 	 * Constructor.
@@ -77,11 +79,37 @@ public class SerialDate implements AbstractDataProvider<LocalDate> {
 	@Override
 	public Stream<LocalDate> stream() {
 		return StreamJava9.iterate(start, d -> step > 0 ? !d.isAfter(end) : !d.isBefore(end),
-				d -> start.plus(step, stepUnit));
+				d -> d.plus(step, stepUnit));
+	}
+
+	/**
+	 * The values are sent as a descriptor of the sequence (See
+	 * {@link SequenceEncoding}) if they are evenly spaced in time.
+	 */
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		TimeCodec timeCodec = getTimeCodec();
+		Long stepMillis = SequenceEncoding.stepMillis(step, stepUnit);
+		if (stepMillis != null && isDefaultEncoding()
+				&& timeCodec.hasConstantOffset(start.atStartOfDay(), end.atStartOfDay())) {
+			return SequenceEncoding.encode(sb, timeCodec.toEpochMilli(start), stepMillis,
+					stepUnit.between(start, end) / step + 1);
+		}
+		return AbstractDataProvider.super.encodeDataContent(sb);
 	}
 
 	@Override
 	public DataType getDataType() {
 		return DataType.DATE;
 	}
+
+	@Override
+	public int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public void setSerial(int serial) {
+		this.serial = serial;
+	}
 }
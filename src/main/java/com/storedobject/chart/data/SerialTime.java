@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.stream.Stream;
 
+import com.storedobject.chart.util.TimeCodec;
 import com.storedobject.helper.StreamJava9;
 
 /**
@@ -32,6 +33,7 @@ public class SerialTime implements AbstractDataProvider<LocalDateTime> {
 	private final LocalDateTime start, end;
 	private final int step;
 	private final ChronoUnit stepUnit;
+	private int serial = -1;
 
 	/**
 	 * Constructor.
@@ -77,11 +79,36 @@ public class SerialTime implements AbstractDataProvider<LocalDateTime> {
 	@Override
 	public Stream<LocalDateTime> stream() {
 		return StreamJava9.iterate(start, t -> step > 0 ? !t.isAfter(end) : !t.isBefore(end),
-				t -> start.plus(step, stepUnit));
+				t -> t.plus(step, stepUnit));
+	}
+
+	/**
+	 * The values are sent as a descriptor of the sequence (See
+	 * {@link SequenceEncoding}) if they are evenly spaced in time.
+	 */
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		TimeCodec timeCodec = getTimeCodec();
+		Long stepMillis = SequenceEncoding.stepMillis(step, stepUnit);
+		if (stepMillis != null && isDefaultEncoding() && timeCodec.hasConstantOffset(start, end)) {
+			return SequenceEncoding.encode(sb, timeCodec.toEpochMilli(start), stepMillis,
+					stepUnit.between(start, end) / step + 1);
+		}
+		return AbstractDataProvider.super.encodeDataContent(sb);
 	}
 
 	@Override
 	public DataType getDataType() {
 		return DataType.TIME;
 	}
+
+	@Override
+	public int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public void setSerial(int serial) {
+		this.serial = serial;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+import com.storedobject.chart.util.TimeCodec;
+
+/**
+ * Evenly spaced time values as data. Only the first value, the step and the
+ * number of values are sent to the client-side (See {@link SequenceEncoding})
+ * and thus, the size of the payload doesn't depend on the number of values.
+ *
+ * @author Syam
+ */
+public class TimeSequence implements TimeDataProvider {
+
+	private final long start, step;
+	private final int count;
+	private final List<LocalDateTime> list = new Values();
+	private int serial = -1;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param startEpochMilli First value (epoch milliseconds).
+	 * @param stepMillis      Difference between successive values in
+	 *                        milliseconds.
+	 * @param count           Number of values.
+	 */
+	public TimeSequence(long startEpochMilli, long stepMillis, int count) {
+		this.start = startEpochMilli;
+		this.step = stepMillis;
+		this.count = Math.max(count, 0);
+	}
+
+	/**
+	 * Constructor. The first value is converted to epoch milliseconds using
+	 * {@link TimeCodec#UTC}.
+	 *
+	 * @param start First value.
+	 * @param step  Difference between successive values.
+	 * @param count Number of values.
+	 */
+	public TimeSequence(LocalDateTime start, Duration step, int count) {
+		this(TimeCodec.UTC.toEpochMilli(start), step.toMillis(), count);
+	}
+
+	/**
+	 * Get the value at the given index (epoch milliseconds).
+	 *
+	 * @param index Index.
+	 * @return Value.
+	 */
+	public long get(int index) {
+		return start + index * step;
+	}
+
+	/**
+	 * Get the number of values.
+	 *
+	 * @return Number of values.
+	 */
+	public int size() {
+		return count;
+	}
+
+	@Override
+	public List<LocalDateTime> asList() {
+		return list;
+	}
+
+	@Override
+	public Stream<LocalDateTime> stream() {
+		return list.stream();
+	}
+
+	@Override
+	public StringBuilder encodeDataContent(StringBuilder sb) {
+		if (isDefaultEncoding()) {
+			return SequenceEncoding.encode(sb, start, step, count);
+		}
+		return TimeDataProvider.super.encodeDataContent(sb);
+	}
+
+	@Override
+	public int getSerial() {
+		return serial;
+	}
+
+	@Override
+	public void setSerial(int serial) {
+		this.serial = serial;
+	}
+
+	private class Values extends AbstractList<LocalDateTime> implements RandomAccess {
+
+		@Override
+		public LocalDateTime get(int index) {
+			if (index < 0 || index >= count) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+			}
+			return getTimeCodec().toLocalDateTime(TimeSequence.this.get(index));
+		}
+
+		@Override
+		public int size() {
+			return count;
+		}
+	}
+}
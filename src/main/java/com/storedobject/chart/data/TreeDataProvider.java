@@ -17,11 +17,11 @@
 package com.storedobject.chart.data;
 
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeStream;
-import static com.storedobject.chart.util.ComponentPropertyUtil.escape;
 
 import java.util.stream.Stream;
 
 import com.storedobject.chart.component.ComponentPart;
+import com.storedobject.chart.util.JsonCodec;
 
 /**
  * Representation of tree-type data.
@@ -46,11 +46,8 @@ public interface TreeDataProvider extends ComponentPart {
 
 	@Override
 	default void encodeJSON(StringBuilder sb) {
-		String name = getName();
-		if (name == null) {
-			name = "Name?";
-		}
-		sb.append("{\"name\":").append(escape(name)).append(",\"value\":").append(getValue());
+		sb.append('{');
+		encodeNode(sb);
 		Stream<? extends TreeDataProvider> children = getChildren();
 		if (children != null) {
 			encodeStream(sb, children, ",\"children\":[", "]", false,
@@ -59,6 +56,20 @@ public interface TreeDataProvider extends ComponentPart {
 		sb.append('}');
 	}
 
+	/**
+	 * Append the JSON encoding of this node without its child nodes and without
+	 * the enclosing braces.
+	 *
+	 * @param sb Append the JSONified string to this.
+	 */
+	default void encodeNode(StringBuilder sb) {
+		String name = getName();
+		if (name == null) {
+			name = "Name?";
+		}
+		JsonCodec.append(sb.append("\"name\":"), name).append(",\"value\":").append(getValue());
+	}
+
 	@Override
 	default void validate() {
 	}
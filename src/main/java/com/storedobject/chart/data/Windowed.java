@@ -0,0 +1,235 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * X and Y data that is loaded only for a window of X values. The values within
+ * the visible range (plus a margin on either side so that small pans do not
+ * require a reload) are loaded via a {@link Loader} and they are loaded again
+ * whenever the visible range goes out of the loaded range.
+ * </p>
+ * <p>
+ * Since only the values within the window are available, the axis should have
+ * its minimum and maximum values set to cover the full range and the data zoom
+ * should be set to the initial window.
+ * </p>
+ *
+ * <pre>
+ * Windowed&lt;LocalDateTime&gt; windowed = new Windowed&lt;&gt;(DataType.TIME, (start, end, x, y) -&gt; {
+ * 	// Add values between start and end (epoch milliseconds) to x and y
+ * }, start, end);
+ * LineChart lineChart = new LineChart(windowed.getX(), windowed.getY());
+ * </pre>
+ *
+ * @param <X> Type of the X values.
+ * @author Syam
+ */
+public class Windowed<X> {
+
+	private final DataType dataType;
+	private final Loader<X> loader;
+	private final List<X> xValues = new ArrayList<>();
+	private final List<Number> yValues = new ArrayList<>();
+	private final WindowedX windowedX = new WindowedX();
+	private final WindowedY windowedY = new WindowedY();
+	private double start, end, loadedStart = Double.NaN, loadedEnd = Double.NaN;
+	private double prefetch = 0.5;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dataType Type of the X values.
+	 * @param loader   Loader of the values.
+	 * @param start    Start of the initial window.
+	 * @param end      End of the initial window.
+	 */
+	public Windowed(DataType dataType, Loader<X> loader, double start, double end) {
+		this.dataType = dataType;
+		this.loader = loader;
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Get the X values.
+	 *
+	 * @return Data provider of the X values.
+	 */
+	public AbstractDataProvider<X> getX() {
+		return windowedX;
+	}
+
+	/**
+	 * Get the Y values.
+	 *
+	 * @return Data provider of the Y values.
+	 */
+	public DataProvider getY() {
+		return windowedY;
+	}
+
+	/**
+	 * Get the margin loaded on either side of the window.
+	 *
+	 * @return Margin as a fraction of the window size.
+	 */
+	public double getPrefetch() {
+		return prefetch;
+	}
+
+	/**
+	 * Set the margin to load on either side of the window. Default is 0.5, i.e.,
+	 * half the window size on either side.
+	 *
+	 * @param prefetch Margin as a fraction of the window size.
+	 */
+	public void setPrefetch(double prefetch) {
+		this.prefetch = Math.max(0, prefetch);
+	}
+
+	/**
+	 * Set the visible range of the X values. The values are loaded again if the
+	 * range is not within the loaded range.
+	 *
+	 * @param start Start of the range.
+	 * @param end   End of the range.
+	 * @return True if the values are loaded again.
+	 */
+	public synchronized boolean setWindow(double start, double end) {
+		this.start = start;
+		this.end = end;
+		if (start >= loadedStart && end <= loadedEnd) {
+			return false;
+		}
+		load();
+		return true;
+	}
+
+	/**
+	 * Load the values for the current window again.
+	 */
+	public synchronized void reload() {
+		load();
+	}
+
+	private void load() {
+		double margin = (end - start) * prefetch;
+		loadedStart = start - margin;
+		loadedEnd = end + margin;
+		xValues.clear();
+		yValues.clear();
+		loader.load(loadedStart, loadedEnd, xValues, yValues);
+	}
+
+	private synchronized void loadIfRequired() {
+		if (Double.isNaN(loadedStart)) {
+			load();
+		}
+	}
+
+	/**
+	 * Loader of the values within a range of X values.
+	 *
+	 * @param <X> Type of the X values.
+	 */
+	@FunctionalInterface
+	public interface Loader<X> {
+
+		/**
+		 * Load the values within the given range. The values are numbers for value
+		 * axes, epoch milliseconds for time axes and indices for category axes.
+		 *
+		 * @param start Start of the range.
+		 * @param end   End of the range.
+		 * @param x     X values to be added to this.
+		 * @param y     Y values to be added to this.
+		 */
+		void load(double start, double end, List<X> x, List<Number> y);
+	}
+
+	private class WindowedX implements AbstractDataProvider<X>, WindowedDataProvider {
+
+		private int serial = -1;
+
+		@Override
+		public Stream<X> stream() {
+			return asList().stream();
+		}
+
+		@Override
+		public List<X> asList() {
+			loadIfRequired();
+			return xValues;
+		}
+
+		@Override
+		public DataType getDataType() {
+			return dataType;
+		}
+
+		@Override
+		public boolean setWindow(double start, double end) {
+			return Windowed.this.setWindow(start, end);
+		}
+
+		@Override
+		public int getSerial() {
+			return serial;
+		}
+
+		@Override
+		public void setSerial(int serial) {
+			this.serial = serial;
+		}
+	}
+
+	private class WindowedY implements DataProvider, WindowedDataProvider {
+
+		private int serial = -1;
+
+		@Override
+		public Stream<Number> stream() {
+			return asList().stream();
+		}
+
+		@Override
+		public List<Number> asList() {
+			loadIfRequired();
+			return yValues;
+		}
+
+		@Override
+		public boolean setWindow(double start, double end) {
+			return Windowed.this.setWindow(start, end);
+		}
+
+		@Override
+		public int getSerial() {
+			return serial;
+		}
+
+		@Override
+		public void setSerial(int serial) {
+			this.serial = serial;
+		}
+	}
+}
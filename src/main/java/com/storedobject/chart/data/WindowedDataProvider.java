@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.data;
+
+/**
+ * A data provider that provides only the values within a "window" of X values.
+ * When the visible range of a chart is changed at the client-side via a data
+ * zoom, the new range is passed to the data providers of the chart that
+ * implement this interface and the chart is updated if any of them is changed.
+ * (See {@link Windowed}).
+ *
+ * @author Syam
+ */
+public interface WindowedDataProvider {
+
+	/**
+	 * Set the visible range of the X values. The values are numbers for value
+	 * axes, epoch milliseconds for time axes and indices for category axes.
+	 *
+	 * @param start Start of the range.
+	 * @param end   End of the range.
+	 * @return True if the values provided are changed due to this.
+	 */
+	boolean setWindow(double start, double end);
+}
@@ -1,8 +1,8 @@
 package com.storedobject.chart.encoder;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.storedobject.chart.component.ComponentPart;
 import com.storedobject.chart.component.ComponentParts;
 import com.storedobject.chart.coordinate_system.Axis;
 import com.storedobject.chart.coordinate_system.Axis.AxisWrapper;
@@ -24,17 +24,15 @@ public abstract class AxisEncoder extends ComponentEncoder {
 	}
 
 	protected void encodeCategoryDataIfNecessary(StringBuilder sb, ComponentParts parts) {
-		@SuppressWarnings("unchecked")
-		List<AxisWrapper> axisWrapperList = (List<AxisWrapper>) parts.stream().filter(this::support)
-				.collect(Collectors.toList());
+		List<? extends ComponentPart> axisWrapperList = parts.partsOf(getPartType());
 		if (axisWrapperList.size() != 1)
 			return;
 
-		Axis axis = axisWrapperList.get(0).getAxis();
+		Axis axis = ((AxisWrapper) axisWrapperList.get(0)).getAxis();
 		if (!axis.isDataType(DataType.CATEGORY))
 			return;
 
-		List<CategoryDataProvider> categoryDataList = parts.categoryDataProviderStream().collect(Collectors.toList());
+		List<CategoryDataProvider> categoryDataList = parts.partsOf(CategoryDataProvider.class);
 		if (categoryDataList.size() != 1)
 			return;
 
@@ -7,4 +7,9 @@ public class ChartEncoder extends ComponentEncoder {
 	public ChartEncoder() {
 		super("series", Chart.class);
 	}
+
+	@Override
+	protected boolean isParallel() {
+		return true;
+	}
 }
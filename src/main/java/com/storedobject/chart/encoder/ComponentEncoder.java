@@ -3,6 +3,9 @@ package com.storedobject.chart.encoder;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.storedobject.chart.component.ComponentPart;
@@ -43,8 +46,20 @@ public abstract class ComponentEncoder {
 	}
 
 	public void encode(StringBuilder sb, ComponentParts parts) {
+		encode(sb, parts, null);
+	}
+
+	/**
+	 * Encode the supported parts into the option.
+	 *
+	 * @param sb        Option being built.
+	 * @param parts     Parts of the chart.
+	 * @param fragments If not <code>null</code>, the member and the parts written
+	 *                  are recorded in this.
+	 */
+	public void encode(StringBuilder sb, ComponentParts parts, OptionFragments fragments) {
 		Set<Integer> serials = new HashSet<>();
-		List<ComponentPart> partList = parts.stream().filter(this::support).filter(part -> {
+		List<ComponentPart> partList = parts.partsOf(partType).stream().filter(this::isEncoded).filter(part -> {
 			int serial = part.getSerial();
 			boolean first = !serials.contains(serial);
 			if (first) {
@@ -53,18 +68,21 @@ public abstract class ComponentEncoder {
 			return first;
 		}).collect(Collectors.toList());
 
+		List<CompletableFuture<StringBuilder>> encodedParts = encodeInParallel(partList, parts);
 		boolean first = true;
 		int serial = -2;
 		int partCount = partList.size();
-		for (ComponentPart part : partList) {
+		for (int i = 0; i < partCount; i++) {
+			ComponentPart part = partList.get(i);
 			if (part.getSerial() < serial)
 				break;
 
 			serial = part.getSerial();
 			if (first) {
 				first = false;
-				if (sb.length() > 1) {
-					sb.append(',');
+				ComponentPart.addComma(sb);
+				if (fragments != null) {
+					fragments.beginMember(label, sb.length(), getPartsPath());
 				}
 				sb.append('"').append(label).append("\":");
 				begin(sb, partCount);
@@ -73,20 +91,120 @@ public abstract class ComponentEncoder {
 				sb.append(',');
 			}
 
+			int start = sb.length();
 			partBegin(sb);
 
-			part.encodeJSON(sb);
+			if (encodedParts == null) {
+				encodePart(sb, part, parts.getLayout());
+			} else {
+				sb.append(join(encodedParts.get(i)));
+			}
 			afterPartEncode(sb, parts);
-
-			ComponentPart.removeComma(sb);
 			partEnd(sb);
+			if (fragments != null) {
+				fragments.part(part.getId(), sb, start);
+			}
 		}
 
 		if (!first) {
 			end(sb, partCount);
+			if (fragments != null) {
+				fragments.endMember(sb);
+			}
 		}
 	}
 
+	/**
+	 * Encode a part. The fragment encoded earlier is reused if the part is not
+	 * modified since then.
+	 *
+	 * @param sb     Option being built.
+	 * @param part   Part to encode.
+	 * @param layout Layout of the parts (See {@link ComponentParts#getLayout()}).
+	 */
+	protected void encodePart(StringBuilder sb, ComponentPart part, long layout) {
+		EncodedFragment fragment = part.getEncodedFragment();
+		if (fragment == null) {
+			part.encodeJSON(sb);
+			return;
+		}
+		if (fragment.appendTo(sb, part.getModification(), layout)) {
+			return;
+		}
+		int start = sb.length();
+		part.encodeJSON(sb);
+		fragment.set(sb, start, part.getModification(), layout);
+	}
+
+	/**
+	 * Whether the parts of this encoder can be encoded independent of each other
+	 * (and thus, in parallel) or not.
+	 *
+	 * @return False by default.
+	 */
+	protected boolean isParallel() {
+		return false;
+	}
+
+	/**
+	 * Encode the parts in parallel into separate buffers if an executor is set on
+	 * the parts and this encoder supports it. The buffers are concatenated in
+	 * the order of the parts later and thus, the output is the same as that of
+	 * encoding them one after the other.
+	 *
+	 * @param partList Parts to encode.
+	 * @param parts    Parts of the chart.
+	 * @return Encoded parts or <code>null</code> if not encoded in parallel.
+	 */
+	private List<CompletableFuture<StringBuilder>> encodeInParallel(List<ComponentPart> partList,
+			ComponentParts parts) {
+		Executor executor = parts.getExecutor();
+		if (executor == null || partList.size() < 2 || !isParallel()) {
+			return null;
+		}
+		long layout = parts.getLayout();
+		return partList.stream().map(part -> CompletableFuture.supplyAsync(() -> {
+			StringBuilder sb = new StringBuilder();
+			encodePart(sb, part, layout);
+			return sb;
+		}, executor)).collect(Collectors.toList());
+	}
+
+	private static StringBuilder join(CompletableFuture<StringBuilder> encodedPart) {
+		try {
+			return encodedPart.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Key of the object (within the member written by this encoder) whose members
+	 * are the parts. Such parts are patched by their keys (See
+	 * {@link OptionFragments}).
+	 *
+	 * @return Null by default (the parts are the elements of the member).
+	 */
+	protected String getPartsPath() {
+		return null;
+	}
+
+	/**
+	 * Check whether a supported part is to be encoded by this encoder or not.
+	 *
+	 * @param part Part (already checked with {@link #support(ComponentPart)}).
+	 * @return True by default.
+	 */
+	protected boolean isEncoded(ComponentPart part) {
+		return true;
+	}
+
 	protected void begin(StringBuilder sb, int partCount) {
 		if (partCount > 1) {
 			sb.append('[');
@@ -0,0 +1,198 @@
+package com.storedobject.chart.encoder;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.storedobject.chart.component.AbstractDataChart;
+import com.storedobject.chart.component.Chart;
+import com.storedobject.chart.component.ComponentPart;
+import com.storedobject.chart.component.ComponentParts;
+import com.storedobject.chart.data.AbstractData;
+import com.storedobject.chart.data.AbstractDataProvider;
+import com.storedobject.chart.data.AbstractPrimitiveData;
+import com.storedobject.chart.data.DataProvider;
+import com.storedobject.chart.util.TriConsumer;
+
+/**
+ * Keeps track of the data providers rendered at the client-side so that values
+ * appended to them later can be sent as a "tail" without rebuilding the whole
+ * option. A data provider is appendable if it is {@link AbstractData} or
+ * {@link AbstractPrimitiveData} (the number of values of those is known without
+ * generating them) and it was rendered as a column of the "dataset" or as the
+ * inline data of one or more series. Other data providers (generated, sampled
+ * or windowed data) are never read here. The tail is encoded
+ * as:
+ *
+ * <pre>
+ * {"dataset":{"d0":[...],"d1":[...]},"series":[{"id":5,"data":[...]}]}
+ * </pre>
+ *
+ * @author Syam
+ */
+public class DataAppender {
+
+	private final Map<AbstractDataProvider<?>, Target> targets = new IdentityHashMap<>();
+	private final List<Target> pending = new ArrayList<>();
+
+	/**
+	 * Record the data providers rendered with the given parts. This should be
+	 * invoked after building the option since the serials of the data providers
+	 * are used as the names of the "dataset" columns.
+	 *
+	 * @param parts    Parts rendered.
+	 * @param skipData Whether data was skipped while rendering (The previously
+	 *                 rendered data remains at the client-side in that case).
+	 */
+	public void setup(ComponentParts parts, boolean skipData) {
+		pending.clear();
+		if (skipData) {
+			return;
+		}
+
+		targets.clear();
+		parts.dataProviderStream().filter(data -> isAppendable(data) && data.isDataSetEncoding())
+				.forEach(data -> target(data).dataSet = data.datasetName());
+
+		parts.stream().filter(part -> part instanceof Chart && !(part instanceof AbstractDataChart))
+				.map(part -> (Chart) part).filter(chart -> chart.getData() != null).forEach(chart -> {
+					ComponentParts dataParts = ComponentParts.of(chart.getData());
+					if (dataParts.isDataSetEncoding()) {
+						return;
+					}
+					List<DataProvider> valueDataList = dataParts.valueDataProviderStream()
+							.filter(DataProvider::nonDataSetEncoding).collect(Collectors.toList());
+					if (valueDataList.size() == 1 && isAppendable(valueDataList.get(0))) {
+						List<Long> series = target(valueDataList.get(0)).series;
+						if (!series.contains(chart.getId())) {
+							series.add(chart.getId());
+						}
+					}
+				});
+	}
+
+	private Target target(AbstractDataProvider<?> data) {
+		return targets.computeIfAbsent(data, d -> new Target(d));
+	}
+
+	private static boolean isAppendable(AbstractDataProvider<?> data) {
+		return data instanceof AbstractData || data instanceof AbstractPrimitiveData;
+	}
+
+	/**
+	 * Get the number of values of an appendable data provider (without copying
+	 * them).
+	 */
+	private static int size(AbstractDataProvider<?> data) {
+		return data instanceof AbstractPrimitiveData ? ((AbstractPrimitiveData) data).size()
+				: ((AbstractData<?>) data).size();
+	}
+
+	/**
+	 * Mark the given data provider as appended. The values added to it after it
+	 * was last sent will be part of the next tail.
+	 *
+	 * @param data Data provider.
+	 * @return False if the data provider was not rendered or if values were
+	 *         removed from it (A full update is required in that case).
+	 */
+	public boolean append(AbstractDataProvider<?> data) {
+		Target target = targets.get(data);
+		if (target == null || size(data) < target.sent) {
+			return false;
+		}
+		if (!pending.contains(target)) {
+			pending.add(target);
+		}
+		return true;
+	}
+
+	/**
+	 * Check whether any tail is waiting to be sent.
+	 *
+	 * @return True if there are appended values that are not yet sent.
+	 */
+	public boolean isPending() {
+		return !pending.isEmpty();
+	}
+
+	/**
+	 * Encode the tail of all the appended data providers and mark them as sent.
+	 *
+	 * @return Encoded tail or <code>null</code> if a full update is required
+	 *         since values were removed from some data provider.
+	 */
+	public String encode() {
+		StringBuilder dataSet = new StringBuilder(), series = new StringBuilder();
+		for (Target target : pending) {
+			List<?> values = target.data.asList();
+			if (values.size() < target.sent) {
+				pending.clear();
+				return null;
+			}
+			if (values.size() == target.sent) {
+				continue;
+			}
+			if (target.dataSet != null) {
+				ComponentPart.addComma(dataSet);
+				dataSet.append('"').append(target.dataSet).append("\":");
+				target.encodeTail(dataSet, values);
+			}
+			for (long id : target.series) {
+				ComponentPart.addComma(series);
+				series.append("{\"id\":").append(id).append(",\"data\":");
+				target.encodeTail(series, values);
+				series.append('}');
+			}
+			target.sent = values.size();
+		}
+		pending.clear();
+
+		StringBuilder sb = new StringBuilder("{");
+		if (dataSet.length() > 0) {
+			sb.append("\"dataset\":{").append(dataSet).append('}');
+		}
+		if (series.length() > 0) {
+			ComponentPart.addComma(sb);
+			sb.append("\"series\":[").append(series).append(']');
+		}
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * Forget everything about the rendered data providers.
+	 */
+	public void clear() {
+		targets.clear();
+		pending.clear();
+	}
+
+	private static class Target {
+
+		private final AbstractDataProvider<?> data;
+		private final List<Long> series = new ArrayList<>();
+		private String dataSet;
+		private int sent;
+
+		private Target(AbstractDataProvider<?> data) {
+			this.data = data;
+			this.sent = size(data);
+		}
+
+		private void encodeTail(StringBuilder sb, List<?> values) {
+			@SuppressWarnings("unchecked")
+			TriConsumer<StringBuilder, Object, Integer> encoder = (TriConsumer<StringBuilder, Object, Integer>) data
+					.getDataEncoder();
+			sb.append('[');
+			for (int i = sent; i < values.size(); i++) {
+				if (i > sent) {
+					sb.append(',');
+				}
+				encoder.accept(sb, values.get(i), i);
+			}
+			sb.append(']');
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.storedobject.chart.encoder;
 
+import com.storedobject.chart.component.ComponentPart;
 import com.storedobject.chart.component.ComponentParts;
 import com.storedobject.chart.data.AbstractDataProvider;
 
@@ -10,11 +11,35 @@ public class DataSetEncoder extends ComponentEncoder {
 	}
 
 	@Override
-	public void encode(StringBuilder sb, ComponentParts parts) {
-		if (parts.isSkippingData() || !parts.isDataSetEncoding())
+	public void encode(StringBuilder sb, ComponentParts parts, OptionFragments fragments) {
+		if (parts.isSkippingData() || parts.dataProviderStream().noneMatch(AbstractDataProvider::isDataSetEncoding))
 			return;
 
-		super.encode(sb, parts);
+		super.encode(sb, parts, fragments);
+	}
+
+	/**
+	 * Every data becomes a column of the "dataset", written with its own encoder,
+	 * unless it opts out (See {@link AbstractDataProvider#isDataSetEncoding()}).
+	 * Such data is encoded inline by the charts that use it.
+	 */
+	@Override
+	protected boolean isEncoded(ComponentPart part) {
+		return ((AbstractDataProvider<?>) part).isDataSetEncoding();
+	}
+
+	/**
+	 * The columns are the members of the "source", so a column that is changed
+	 * (a window reloaded for example) is sent alone in a patch.
+	 */
+	@Override
+	protected String getPartsPath() {
+		return "source";
+	}
+
+	@Override
+	protected boolean isParallel() {
+		return true;
 	}
 
 	@Override
@@ -0,0 +1,57 @@
+package com.storedobject.chart.encoder;
+
+/**
+ * Keeps the JSON fragment encoded for a part so that it can be reused by the
+ * {@link ComponentEncoder} while the part is not modified. The fragment is
+ * valid only as long as the modification counter of the part and the layout of
+ * the parts (serials assigned to them) remain the same.
+ *
+ * @author Syam
+ */
+public class EncodedFragment {
+
+	private String json;
+	private long modification = -1, layout;
+
+	/**
+	 * Append the fragment if it is still valid.
+	 *
+	 * @param sb           Append to this.
+	 * @param modification Current modification counter of the part.
+	 * @param layout       Current layout of the parts.
+	 * @return True if the fragment was valid and appended.
+	 */
+	public boolean appendTo(StringBuilder sb, long modification, long layout) {
+		if (json == null || modification < 0 || this.modification != modification || this.layout != layout) {
+			return false;
+		}
+		sb.append(json);
+		return true;
+	}
+
+	/**
+	 * Remember the fragment just encoded.
+	 *
+	 * @param option       Option being built.
+	 * @param start        Starting position of the fragment.
+	 * @param modification Modification counter of the part after encoding.
+	 * @param layout       Current layout of the parts.
+	 */
+	public void set(CharSequence option, int start, long modification, long layout) {
+		if (modification < 0) {
+			clear();
+			return;
+		}
+		this.json = option.subSequence(start, option.length()).toString();
+		this.modification = modification;
+		this.layout = layout;
+	}
+
+	/**
+	 * Discard the fragment.
+	 */
+	public void clear() {
+		json = null;
+		modification = -1;
+	}
+}
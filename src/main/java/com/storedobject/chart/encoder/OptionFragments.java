@@ -0,0 +1,437 @@
+package com.storedobject.chart.encoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.storedobject.chart.component.ComponentPart;
+
+/**
+ * Keeps track of the top-level option members (and the parts within them)
+ * written by the {@link ComponentEncoder}s while building the option, along
+ * with a hash of their encoded content. The fragments of two consecutive
+ * renderings are compared to build a "merge patch" that carries only the parts
+ * that are changed. The key names written in the parts (within nested objects
+ * too, but not within arrays) are also recorded since a merge can not remove a
+ * key: the patch is not possible if any key disappears.
+ *
+ * <p>
+ * The parts of a member are either the elements of its array (patched by their
+ * ids) or the members of an object within it (the columns of the "dataset"
+ * within its "source", for example). The latter are patched by their keys: the
+ * patch carries only the keys whose values are changed and the client-side
+ * merges them into the object it retained.
+ * </p>
+ *
+ * @author Syam
+ */
+public class OptionFragments {
+
+	private final Map<String, Member> members = new LinkedHashMap<>();
+	private Member member;
+
+	/**
+	 * Mark the beginning of a top-level member.
+	 *
+	 * @param label Label of the member.
+	 * @param start Position of the member in the option.
+	 */
+	public void beginMember(String label, int start) {
+		beginMember(label, start, null);
+	}
+
+	/**
+	 * Mark the beginning of a top-level member.
+	 *
+	 * @param label Label of the member.
+	 * @param start Position of the member in the option.
+	 * @param path  Key of the object (within the member) whose members are the
+	 *              parts, or <code>null</code> if the parts are the elements of
+	 *              the member.
+	 */
+	public void beginMember(String label, int start, String path) {
+		member = new Member(label, start, path);
+	}
+
+	/**
+	 * Mark a part written within the current member.
+	 *
+	 * @param id     Id of the part (A part can be patched individually only if it
+	 *               encodes its id). Not used if the parts are keyed.
+	 * @param option Option being built.
+	 * @param start  Starting position of the part.
+	 */
+	public void part(long id, CharSequence option, int start) {
+		int end = option.length();
+		if (member.path != null) {
+			member.parts.add(new Part(id, key(option, start, end), start, end, hash(option, start, end),
+					Collections.emptySet()));
+			return;
+		}
+		member.parts.add(new Part(id, null, start, end, hash(option, start, end),
+				new KeyScanner(option, start, end).keys()));
+	}
+
+	/**
+	 * Mark the end of the current member.
+	 *
+	 * @param option Option being built.
+	 */
+	public void endMember(CharSequence option) {
+		member.end = option.length();
+		if (member.byId() || member.path != null) {
+			long h = 17;
+			for (Part part : member.parts) {
+				h = 31 * h + part.hash;
+			}
+			member.hash = h;
+		} else {
+			member.hash = hash(option, member.start, member.end);
+			member.keys = new KeyScanner(option, member.start, member.end).memberKeys();
+		}
+		members.put(member.label, member);
+		member = null;
+	}
+
+	/**
+	 * Build a "merge patch" that brings the option rendered earlier up-to-date
+	 * with the current one.
+	 *
+	 * @param previous     Fragments of the previous rendering.
+	 * @param option       Current option.
+	 * @param skippingData Whether the current rendering skipped the data or not.
+	 *                     (Members that are missing because of that are treated
+	 *                     as unchanged).
+	 * @return Patch or <code>null</code> if the changes can not be expressed as a
+	 *         merge (new or removed components etc.). An empty object is returned
+	 *         if nothing is changed.
+	 */
+	public String patch(OptionFragments previous, CharSequence option, boolean skippingData) {
+		if (previous == null) {
+			return null;
+		}
+
+		for (Member p : previous.members.values()) {
+			if (!members.containsKey(p.label)) {
+				if (!skippingData) {
+					return null;
+				}
+				members.put(p.label, p.carried());
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append('{');
+		for (Member m : members.values()) {
+			if (m.end < 0) {
+				continue; // Carried over
+			}
+
+			Member p = previous.members.get(m.label);
+			if (p == null) {
+				return null;
+			}
+			if (m.hash == p.hash) {
+				continue;
+			}
+
+			if (m.path != null && p.path != null) {
+				if (!m.path.equals(p.path) || !m.patchKeys(p, option, sb)) {
+					return null;
+				}
+			} else if (m.byId() && p.byId() && m.sameParts(p)) {
+				ComponentPart.addComma(sb);
+				sb.append('"').append(m.label).append("\":[");
+				for (int i = 0; i < m.parts.size(); i++) {
+					Part part = m.parts.get(i), previousPart = p.parts.get(i);
+					if (part.hash != previousPart.hash) {
+						if (removed(previousPart.keys, part.keys, skippingData)) {
+							return null;
+						}
+						ComponentPart.addComma(sb);
+						sb.append(option, part.start, part.end);
+					}
+				}
+				sb.append(']');
+			} else if (!m.byId() && !p.byId()) {
+				if (removed(p.keys, m.keys, skippingData)) {
+					return null;
+				}
+				ComponentPart.addComma(sb);
+				sb.append(option, m.start, m.end);
+			} else {
+				return null;
+			}
+		}
+		sb.append('}');
+
+		return sb.toString();
+	}
+
+	/**
+	 * Check whether any of the keys written earlier is missing now. (The data
+	 * that is not written while skipping the data remains as such).
+	 */
+	private static boolean removed(Set<String> previous, Set<String> current, boolean skippingData) {
+		for (String key : previous) {
+			if (!current.contains(key) && !(skippingData && (key.equals("data") || key.startsWith("data.")))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Key of a keyed part (the part is written as "key":value).
+	 */
+	private static String key(CharSequence cs, int start, int end) {
+		int open = start;
+		while (open < end && cs.charAt(open) != '"') {
+			open++;
+		}
+		int close = open + 1;
+		while (close < end && cs.charAt(close) != '"') {
+			close++;
+		}
+		return cs.subSequence(open + 1, close).toString();
+	}
+
+	private static long hash(CharSequence cs, int start, int end) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = start; i < end; i++) {
+			h ^= cs.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	private static class Member {
+
+		final String label;
+		final int start;
+		final String path;
+		int end = -1;
+		long hash;
+		Set<String> keys;
+		final List<Part> parts = new ArrayList<>();
+
+		Member(String label, int start, String path) {
+			this.label = label;
+			this.start = start;
+			this.path = path;
+		}
+
+		boolean byId() {
+			return !parts.isEmpty() && parts.stream().allMatch(part -> part.id > 0);
+		}
+
+		boolean sameParts(Member other) {
+			if (parts.size() != other.parts.size()) {
+				return false;
+			}
+			for (int i = 0; i < parts.size(); i++) {
+				if (parts.get(i).id != other.parts.get(i).id) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Append the keyed parts that are new or changed since the previous
+		 * rendering.
+		 *
+		 * @return False if any of the keys written earlier is missing now.
+		 */
+		boolean patchKeys(Member previous, CharSequence option, StringBuilder sb) {
+			Map<String, Long> hashes = new HashMap<>();
+			for (Part part : parts) {
+				hashes.put(part.key, part.hash);
+			}
+			for (Part part : previous.parts) {
+				if (!hashes.containsKey(part.key)) {
+					return false;
+				}
+				if (hashes.get(part.key) == part.hash) {
+					hashes.remove(part.key);
+				}
+			}
+			ComponentPart.addComma(sb);
+			sb.append('"').append(label).append("\":{\"").append(path).append("\":{");
+			boolean first = true;
+			for (Part part : parts) {
+				if (hashes.containsKey(part.key)) {
+					if (first) {
+						first = false;
+					} else {
+						sb.append(',');
+					}
+					sb.append(option, part.start, part.end);
+				}
+			}
+			sb.append("}}");
+			return true;
+		}
+
+		Member carried() {
+			Member m = new Member(label, -1, path);
+			m.hash = hash;
+			m.keys = keys;
+			m.parts.addAll(parts);
+			return m;
+		}
+	}
+
+	private static class Part {
+
+		final long id;
+		final String key;
+		final int start, end;
+		final long hash;
+		final Set<String> keys;
+
+		Part(long id, String key, int start, int end, long hash, Set<String> keys) {
+			this.id = id;
+			this.key = key;
+			this.start = start;
+			this.end = end;
+			this.hash = hash;
+			this.keys = keys;
+		}
+	}
+
+	/**
+	 * Collects the key paths (dot separated) of a JSON value. Arrays are not
+	 * looked into except the top-level array of a member (the elements are then
+	 * prefixed with their indices) since arrays are replaced, not merged.
+	 */
+	private static class KeyScanner {
+
+		private final CharSequence cs;
+		private final int end;
+		private int pos;
+		private final Set<String> keys = new HashSet<>();
+
+		KeyScanner(CharSequence cs, int start, int end) {
+			this.cs = cs;
+			this.pos = start;
+			this.end = end;
+		}
+
+		Set<String> keys() {
+			skipSpace();
+			value("", false);
+			return keys;
+		}
+
+		Set<String> memberKeys() {
+			skipSpace();
+			skipString(); // Label
+			skipSpace();
+			pos++; // ':'
+			skipSpace();
+			value("", true);
+			return keys;
+		}
+
+		private void value(String path, boolean intoArray) {
+			if (pos >= end) {
+				return;
+			}
+			switch (cs.charAt(pos)) {
+			case '{':
+				object(path);
+				break;
+			case '[':
+				if (intoArray) {
+					array(path);
+				} else {
+					skipNested();
+				}
+				break;
+			case '"':
+				skipString();
+				break;
+			default:
+				while (pos < end && ",}]".indexOf(cs.charAt(pos)) < 0) {
+					pos++;
+				}
+			}
+		}
+
+		private void object(String path) {
+			pos++;
+			skipSpace();
+			while (pos < end && cs.charAt(pos) != '}') {
+				int keyStart = pos + 1;
+				skipString();
+				String key = path + cs.subSequence(keyStart, pos - 1);
+				keys.add(key);
+				skipSpace();
+				pos++; // ':'
+				skipSpace();
+				value(key + ".", false);
+				skipSpace();
+				if (pos < end && cs.charAt(pos) == ',') {
+					pos++;
+					skipSpace();
+				}
+			}
+			pos++;
+		}
+
+		private void array(String path) {
+			pos++;
+			skipSpace();
+			for (int index = 0; pos < end && cs.charAt(pos) != ']'; index++) {
+				value(path + index + ".", false);
+				skipSpace();
+				if (pos < end && cs.charAt(pos) == ',') {
+					pos++;
+					skipSpace();
+				}
+			}
+			pos++;
+		}
+
+		private void skipString() {
+			pos++;
+			while (pos < end) {
+				char c = cs.charAt(pos++);
+				if (c == '\\') {
+					pos++;
+				} else if (c == '"') {
+					return;
+				}
+			}
+		}
+
+		private void skipNested() {
+			int depth = 0;
+			while (pos < end) {
+				char c = cs.charAt(pos);
+				if (c == '"') {
+					skipString();
+					continue;
+				}
+				pos++;
+				if (c == '{' || c == '[') {
+					depth++;
+				} else if ((c == '}' || c == ']') && --depth == 0) {
+					return;
+				}
+			}
+		}
+
+		private void skipSpace() {
+			while (pos < end && Character.isWhitespace(cs.charAt(pos))) {
+				pos++;
+			}
+		}
+	}
+}
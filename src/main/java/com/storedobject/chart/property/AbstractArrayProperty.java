@@ -11,6 +11,7 @@ public abstract class AbstractArrayProperty implements Iterable<PropertyValue> {
 
 	final String name;
 	final List<PropertyValue> valueList = new ArrayList<>();
+	private long modification;
 
 	protected AbstractArrayProperty(String name) {
 		if (name != null && (name = name.trim()).length() > 0) {
@@ -41,6 +42,7 @@ public abstract class AbstractArrayProperty implements Iterable<PropertyValue> {
 	}
 
 	public AbstractArrayProperty addPropertyValue(PropertyValue propertyValue) {
+		modification++;
 		int index = valueList.indexOf(propertyValue);
 		if (index >= 0) {
 			valueList.set(index, propertyValue);
@@ -51,10 +53,29 @@ public abstract class AbstractArrayProperty implements Iterable<PropertyValue> {
 	}
 
 	public AbstractArrayProperty copyProperties(AbstractArrayProperty other) {
+		modification++;
 		valueList.addAll(other.valueList);
 		return this;
 	}
 
+	/**
+	 * Get the modification counter. The values in the array are also taken into
+	 * account. (See {@link ComponentProperty#getModification()}).
+	 *
+	 * @return Modification counter.
+	 */
+	public long getModification() {
+		long m = modification;
+		for (PropertyValue value : valueList) {
+			long vm = AbstractComponentProperty.modificationOf(value);
+			if (vm < 0) {
+				return -1;
+			}
+			m += vm;
+		}
+		return m;
+	}
+
 	@Override
 	public Iterator<PropertyValue> iterator() {
 		return valueList.iterator();
@@ -65,6 +86,7 @@ public abstract class AbstractArrayProperty implements Iterable<PropertyValue> {
 	}
 
 	public AbstractArrayProperty clear() {
+		modification++;
 		valueList.clear();
 		return this;
 	}
@@ -21,7 +21,7 @@ package com.storedobject.chart.property;
  *
  * @author Syam
  */
-public abstract class AbstractColor implements ComponentProperty {
+public abstract class AbstractColor implements ComponentProperty, EscapeString {
 
 	@Override
 	public void encodeJSON(StringBuilder sb) {
@@ -1,5 +1,10 @@
 package com.storedobject.chart.property;
 
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -7,21 +12,51 @@ public abstract class AbstractComponentProperty implements ComponentProperty {
 
 	final private ComponentProperties customProperties = new ComponentProperties();
 	final private ComponentProperties properties = new ComponentProperties();
+	// Values of the custom properties that may change by themselves, keyed by the
+	// name of the property (or by the value itself if it has no name)
+	final private Map<Object, Object> customValues = new HashMap<>();
+	final private List<Object> values = new ArrayList<>();
+	private long modification;
 
 	protected AbstractComponentProperty() {
 	}
 
-	public ComponentProperties getProperties() {
+	/**
+	 * Get a copy of the properties (as last built) merged with the custom
+	 * properties. Rendering does not use this (the properties are encoded or
+	 * copied in place), so the copy is made only when this is invoked.
+	 *
+	 * @return Copy of the properties.
+	 */
+	public synchronized ComponentProperties getProperties() {
 		return new ComponentProperties().setAll(properties).setAll(customProperties);
 	}
 
-	public ComponentProperties buildAndGetProperties() {
+	/**
+	 * Build the properties and get a copy of those. A property may be shared by
+	 * parts that are encoded in parallel and hence, the properties are built and
+	 * read while holding the lock of this.
+	 *
+	 * @return Copy of the built properties.
+	 */
+	public synchronized ComponentProperties buildAndGetProperties() {
 		buildProperties();
 		return getProperties();
 	}
 
+	/**
+	 * Build the properties and add those to the given properties (without making
+	 * a copy as {@link #buildAndGetProperties()} does).
+	 *
+	 * @param target Properties to add to.
+	 */
+	synchronized void buildAndCopyTo(ComponentProperties target) {
+		buildProperties();
+		target.setAll(properties).setAll(customProperties);
+	}
+
 	@Override
-	public void encodeJSON(StringBuilder sb) {
+	public synchronized void encodeJSON(StringBuilder sb) {
 		buildProperties();
 		if (isEmpty())
 			return;
@@ -30,69 +65,210 @@ public abstract class AbstractComponentProperty implements ComponentProperty {
 	}
 
 	final protected void encodeProperties(StringBuilder sb) {
-		getProperties().encode(sb);
+		properties.encode(sb, customProperties);
 	}
 
 	protected void buildProperties() {
 		properties.clear();
+		values.clear();
+	}
+
+	/**
+	 * Mark this as changed. This should be invoked by all the methods that change
+	 * anything that affects the encoded JSON string of this.
+	 */
+	protected final void changed() {
+		modification++;
+	}
+
+	/**
+	 * Get the modification counter. The counter includes the modifications of all
+	 * the values used in the last encoding of this and of the current values of
+	 * the custom properties. If any of those values is not tracked, -1 is
+	 * returned (a custom property with such a value makes this untracked only
+	 * until it is replaced).
+	 *
+	 * @return Modification counter.
+	 */
+	@Override
+	public synchronized long getModification() {
+		long m = modification;
+		for (Object value : values) {
+			long vm = modificationOf(value);
+			if (vm < 0) {
+				return -1;
+			}
+			m += vm;
+		}
+		for (Object value : customValues.values()) {
+			long vm = modificationOf(value);
+			if (vm < 0) {
+				return -1;
+			}
+			m += vm;
+		}
+		return m;
+	}
+
+	/**
+	 * Get the modification counter of a property value. Immutable values are
+	 * counted as 0 and values that can not be tracked (collections, for example)
+	 * are counted as -1.
+	 *
+	 * @param value Property value.
+	 * @return Modification counter.
+	 */
+	public static long modificationOf(Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof Enum || value instanceof JSFunction
+				|| value instanceof FontWeight || value instanceof Temporal) {
+			return 0;
+		}
+		if (value instanceof ComponentProperty) {
+			return ((ComponentProperty) value).getModification();
+		}
+		if (value instanceof AbstractArrayProperty) {
+			return ((AbstractArrayProperty) value).getModification();
+		}
+		if (value instanceof Size) {
+			return ((Size) value).getModification();
+		}
+		if (value instanceof Object[]) {
+			long m = 0;
+			for (Object v : (Object[]) value) {
+				long vm = modificationOf(v);
+				if (vm < 0) {
+					return -1;
+				}
+				m += vm;
+			}
+			return m;
+		}
+		if (value.getClass().isArray()) {
+			return 0; // Primitive array
+		}
+		return -1;
+	}
+
+	private static void track(List<Object> list, Object value) {
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+			return;
+		}
+		for (int i = list.size() - 1; i >= 0; i--) {
+			if (list.get(i) == value) {
+				return;
+			}
+		}
+		list.add(value);
+	}
+
+	/**
+	 * Track the value of a custom property if it was set (a conditional set may
+	 * not happen).
+	 */
+	private void trackCustom(int puts, Object key, Object value) {
+		if (puts != customProperties.puts) {
+			trackCustom(key, value);
+		}
+	}
+
+	private void trackCustom(Object key, Object value) {
+		if (key == null) {
+			return;
+		}
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+			customValues.remove(key);
+		} else {
+			customValues.put(key, value);
+		}
 	}
 
 	final public AbstractComponentProperty setProperty(String name, Object value) {
+		changed();
+		int puts = customProperties.puts;
 		customProperties.set(name, value);
+		trackCustom(puts, name, value);
 		return this;
 	}
 
 	final public <T> AbstractComponentProperty setProperty(String name, T value, Function<T, Object> mapper) {
+		changed();
+		int puts = customProperties.puts;
 		customProperties.set(name, value, mapper);
+		trackCustom(puts, name, value);
 		return this;
 	}
 
 	final public <T> AbstractComponentProperty setProperty(String name, T value, Predicate<T> condition) {
+		changed();
+		int puts = customProperties.puts;
 		customProperties.set(name, value, condition);
+		trackCustom(puts, name, value);
 		return this;
 	}
 
 	final public <T> AbstractComponentProperty setProperty(String name, T value, boolean condition) {
+		changed();
+		int puts = customProperties.puts;
 		customProperties.set(name, value, condition);
+		trackCustom(puts, name, value);
 		return this;
 	}
 
 	public AbstractComponentProperty setProperty(ComponentProperty componentProperty) {
+		changed();
+		int puts = customProperties.puts;
 		customProperties.set(componentProperty);
+		trackCustom(puts, componentProperty, componentProperty);
 		return this;
 	}
 
 	final public AbstractComponentProperty setProperty(String propertyJson) {
+		changed();
 		customProperties.set(propertyJson);
 		return this;
 	}
 
 	final public AbstractComponentProperty setProperty(ComponentProperties props) {
+		changed();
 		customProperties.setAll(props);
+		for (int i = 0; i < props.names.size(); i++) {
+			String name = props.names.get(i);
+			Object value = props.values.get(i);
+			trackCustom(name == null ? value : name, value);
+		}
 		return this;
 	}
 
 	final protected void property(String name, Object value) {
+		track(values, value);
 		properties.set(name, value);
 	}
 
 	final protected <T> void property(String name, T value, Function<T, Object> mapper) {
+		track(values, value);
 		properties.set(name, value, mapper);
 	}
 
 	final protected <T> void property(String property, T value, Predicate<T> condition) {
+		track(values, value);
 		properties.set(property, value, condition);
 	}
 
 	final protected <T> void property(String property, T value, boolean condition) {
+		if (condition) {
+			track(values, value);
+		}
 		properties.set(property, value, condition);
 	}
 
 	final protected void property(PropertyComponentValue propertyValue) {
+		track(values, propertyValue);
 		copyProperties(propertyValue);
 	}
 
 	final protected void property(ComponentProperty componentProperty) {
+		track(values, componentProperty);
 		properties.set(componentProperty);
 	}
 
@@ -101,6 +277,7 @@ public abstract class AbstractComponentProperty implements ComponentProperty {
 	}
 
 	final protected void property(ComponentProperties otherProperties) {
+		otherProperties.forEachValue(value -> track(values, value));
 		properties.setAll(otherProperties);
 	}
 
@@ -108,14 +285,19 @@ public abstract class AbstractComponentProperty implements ComponentProperty {
 		if (other == null)
 			return;
 
-		other.buildProperties();
-		customProperties.setAll(other.customProperties);
-		properties.setAll(other.properties);
+		synchronized (other) {
+			other.buildProperties();
+			customProperties.setAll(other.customProperties);
+			properties.setAll(other.properties);
+		}
 	}
 
 	public void clear() {
+		changed();
 		customProperties.clear();
+		customValues.clear();
 		properties.clear();
+		values.clear();
 	}
 
 	public boolean isEmpty() {
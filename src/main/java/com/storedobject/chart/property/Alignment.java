@@ -43,6 +43,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Justify left.
 	 */
 	public Alignment justifyLeft() {
+		changed();
 		this.justify = "left";
 		return this;
 	}
@@ -51,6 +52,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Justify right.
 	 */
 	public Alignment justifyRight() {
+		changed();
 		this.justify = "right";
 		return this;
 	}
@@ -59,6 +61,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Justify center.
 	 */
 	public Alignment justifyCenter() {
+		changed();
 		this.justify = "center";
 		return this;
 	}
@@ -67,6 +70,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Align top.
 	 */
 	public Alignment alignTop() {
+		changed();
 		align = "top";
 		return this;
 	}
@@ -75,6 +79,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Align center/middle.
 	 */
 	public Alignment alignCenter() {
+		changed();
 		align = "middle";
 		return this;
 	}
@@ -83,6 +88,7 @@ public class Alignment extends PropertyComponentValue {
 	 * Align bottom.
 	 */
 	public Alignment alignBottom() {
+		changed();
 		align = "bottom";
 		return this;
 	}
@@ -97,6 +103,7 @@ public class Alignment extends PropertyComponentValue {
 	}
 
 	public Alignment setPrefix(String prefix) {
+		changed();
 		this.prefix = prefix;
 		return this;
 	}
@@ -55,6 +55,7 @@ public class Area extends VisibleProperty {
 	 * @param style Style to set.
 	 */
 	public void setStyle(AreaStyle style) {
+		changed();
 		this.style = style;
 	}
 }
@@ -60,6 +60,7 @@ public class AreaStyle extends PropertyComponentValue {
 	 * @param colors Colors to set.
 	 */
 	public void setColors(Color... colors) {
+		changed();
 		this.colors.clear();
 		if (colors != null) {
 			for (Color c : colors) {
@@ -78,6 +79,7 @@ public class AreaStyle extends PropertyComponentValue {
 	 */
 	public final Shadow getShadow(boolean create) {
 		if (shadow == null && create) {
+			changed();
 			shadow = new Shadow();
 		}
 		return shadow;
@@ -89,6 +91,7 @@ public class AreaStyle extends PropertyComponentValue {
 	 * @param shadow Shadow.
 	 */
 	public void setShadow(Shadow shadow) {
+		changed();
 		this.shadow = shadow;
 	}
 
@@ -107,6 +110,7 @@ public class AreaStyle extends PropertyComponentValue {
 	 * @param opacity Opacity.
 	 */
 	public void setOpacity(int opacity) {
+		changed();
 		this.opacity = opacity;
 	}
 }
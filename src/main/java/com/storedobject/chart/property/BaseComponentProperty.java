@@ -12,7 +12,7 @@ public class BaseComponentProperty extends AbstractComponentProperty {
 	}
 
 	@Override
-	public void encodeJSON(StringBuilder sb) {
+	public synchronized void encodeJSON(StringBuilder sb) {
 		buildProperties();
 		if (isEmpty())
 			return;
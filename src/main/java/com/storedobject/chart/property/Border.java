@@ -68,6 +68,7 @@ public class Border extends TextBorder {
 	 * @param background Background color.
 	 */
 	public Border setBackground(Color background) {
+		changed();
 		this.background = background;
 		return this;
 	}
@@ -90,6 +91,7 @@ public class Border extends TextBorder {
 	 * @param radius Radius to set in degrees.
 	 */
 	public Border setRadius(int index, int radius) {
+		changed();
 		if (index >= 0) {
 			this.radius[index % this.radius.length] = Math.min(90, Math.max(0, radius));
 		}
@@ -33,6 +33,7 @@ public class Color extends AbstractColor {
 	public static final Color TRANSPARENT = new SpecialColor("transparent");
 
 	private int red, green, blue, alpha = Integer.MAX_VALUE;
+	private long modification;
 
 	/**
 	 * Constructor. (Alpha value will be set to 100).
@@ -102,6 +103,7 @@ public class Color extends AbstractColor {
 		if (hexValue == null) {
 			return;
 		}
+		modification++;
 		if (hexValue.startsWith("#")) {
 			hexValue = hexValue.substring(1);
 		}
@@ -185,6 +187,7 @@ public class Color extends AbstractColor {
 	}
 
 	private void validate() {
+		modification++;
 		red = Math.max(0, Math.min(red, 0xFF));
 		green = Math.max(0, Math.min(green, 0xFF));
 		blue = Math.max(0, Math.min(blue, 0xFF));
@@ -193,6 +196,11 @@ public class Color extends AbstractColor {
 		}
 	}
 
+	@Override
+	public long getModification() {
+		return modification;
+	}
+
 	public java.awt.Color toAwtColor() {
 		return new java.awt.Color(red, green, blue, alpha);
 	}
@@ -1,40 +1,106 @@
 package com.storedobject.chart.property;
 
-import static com.storedobject.chart.component.ComponentPart.addComma;
 import static com.storedobject.chart.property.PropertyValue.toProperty;
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeComponentProperty;
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeJsonProperty;
 import static com.storedobject.chart.util.ComponentPropertyUtil.encodeValueProperty;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
-import com.storedobject.helper.ID;
-
+/**
+ * Properties to be encoded as the members of a JSON object. The properties are
+ * kept in slots, in the order in which they are set. A named value replaces the
+ * value of the same name set earlier (keeping its position). Nested component
+ * properties and JSON fragments do not have names and they are matched by the
+ * value itself.
+ */
 public class ComponentProperties {
 
-	private static final String PREFIX_PROPERTY_JSON = "-json";
-	private static final String PREFIX_COMPONENT_PROPERTY = "+property";
-
-	final Map<String, Object> properties = new LinkedHashMap<>();
+	// Slots: name (null for nested component properties and JSON fragments) and
+	// value (a JSON fragment is a String without a name)
+	final List<String> names = new ArrayList<>();
+	final List<Object> values = new ArrayList<>();
+	// Number of values put so far (to see whether a conditional set happened)
+	int puts;
 
 	public void encode(StringBuilder sb) {
-		if (isEmpty())
+		encode(sb, null);
+	}
+
+	/**
+	 * Encode these properties merged with another set of properties without
+	 * creating the merged set. A named value in the other set replaces the value of
+	 * the same name here and the rest of the other set is encoded at the end.
+	 *
+	 * @param sb    Append the encoded properties to this.
+	 * @param other Other set of properties (could be <code>null</code>).
+	 */
+	public void encode(StringBuilder sb, ComponentProperties other) {
+		int size = names.size();
+		for (int i = 0; i < size; i++) {
+			String name = names.get(i);
+			Object value = values.get(i);
+			if (other != null && name != null) {
+				int index = other.names.indexOf(name);
+				if (index >= 0) {
+					value = other.values.get(index);
+				}
+			}
+			encode(sb, name, value);
+		}
+		if (other == null) {
 			return;
+		}
+		size = other.names.size();
+		for (int i = 0; i < size; i++) {
+			String name = other.names.get(i);
+			Object value = other.values.get(i);
+			if (indexOf(name, value) < 0) {
+				encode(sb, name, value);
+			}
+		}
+	}
+
+	private static void encode(StringBuilder sb, String name, Object value) {
+		if (name != null) {
+			encodeValueProperty(name, value, sb);
+		} else if (value instanceof String) {
+			encodeJsonProperty((String) value, sb);
+		} else {
+			encodeComponentProperty((ComponentProperty) value, sb);
+		}
+	}
 
-		addComma(sb);
-		for (Map.Entry<String, Object> entry : properties.entrySet()) {
-			String key = entry.getKey();
-			if (key.startsWith(PREFIX_COMPONENT_PROPERTY)) {
-				encodeComponentProperty(((ComponentProperty) entry.getValue()), sb);
-			} else if (key.startsWith(PREFIX_PROPERTY_JSON)) {
-				encodeJsonProperty(((String) entry.getValue()), sb);
-			} else {
-				encodeValueProperty(entry.getKey(), entry.getValue(), sb);
+	private int indexOf(String name, Object value) {
+		if (name != null) {
+			return names.indexOf(name);
+		}
+		int size = values.size();
+		for (int i = 0; i < size; i++) {
+			if (names.get(i) == null && (value instanceof String ? value.equals(values.get(i)) : value == values.get(i))) {
+				return i;
 			}
 		}
+		return -1;
+	}
+
+	private ComponentProperties put(String name, Object value) {
+		++puts;
+		int index = indexOf(name, value);
+		if (index >= 0) {
+			values.set(index, value);
+		} else {
+			names.add(name);
+			values.add(value);
+		}
+		return this;
+	}
+
+	void forEachValue(Consumer<Object> action) {
+		values.forEach(action);
 	}
 
 	final public ComponentProperties set(String name, PropertyValue propertyValue) {
@@ -72,40 +138,45 @@ public class ComponentProperties {
 	}
 
 	final public <T> ComponentProperties set(String name, T value, boolean condition) {
-		if (value instanceof PropertyValue && !name.startsWith(PREFIX_COMPONENT_PROPERTY)) {
+		if (value instanceof PropertyValue) {
 			return set(name, (PropertyValue) value, condition);
 		}
 
 		if (name != null && value != null && condition) {
-			properties.put(name, value);
+			put(name, value);
 		}
 		return this;
 	}
 
 	final public ComponentProperties set(ComponentProperty componentProperty) {
 		if (componentProperty instanceof PropertyComponentValue) {
-			return setAll(((PropertyComponentValue) componentProperty).buildAndGetProperties());
+			((PropertyComponentValue) componentProperty).buildAndCopyTo(this);
+			return this;
 		}
 
-		return set(PREFIX_COMPONENT_PROPERTY + ID.newID(), componentProperty);
+		return componentProperty == null ? this : put(null, componentProperty);
 	}
 
 	final public ComponentProperties set(String propertyJson) {
-		return set(PREFIX_PROPERTY_JSON + ID.newID(), propertyJson);
+		return propertyJson == null ? this : put(null, propertyJson);
 	}
 
 	public ComponentProperties setAll(ComponentProperties props) {
-		properties.putAll(props.properties);
+		int size = props.names.size();
+		for (int i = 0; i < size; i++) {
+			put(props.names.get(i), props.values.get(i));
+		}
 		return this;
 	}
 
 	public ComponentProperties clear() {
-		properties.clear();
+		names.clear();
+		values.clear();
 		return this;
 	}
 
 	public boolean isEmpty() {
-		return properties.values().stream().allMatch(Objects::isNull);
+		return values.isEmpty();
 	}
 
 	private <T> Object mapValue(T value, Function<T, Object> mapper) {
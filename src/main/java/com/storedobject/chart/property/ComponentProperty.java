@@ -55,4 +55,17 @@ public interface ComponentProperty {
 	 * @param sb Encoded JSON string to be appended to this.
 	 */
 	void encodeJSON(StringBuilder sb);
+
+	/**
+	 * Get the modification counter of this property. The counter should be bumped
+	 * whenever anything that affects the encoded JSON string is changed so that a
+	 * previously encoded JSON string can be reused while the counter remains the
+	 * same.
+	 *
+	 * @return Modification counter. Default is -1 (changes are not tracked and the
+	 *         encoding will never be reused).
+	 */
+	default long getModification() {
+		return -1;
+	}
 }
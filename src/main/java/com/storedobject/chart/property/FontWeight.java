@@ -21,7 +21,7 @@ package com.storedobject.chart.property;
  *
  * @author Syam
  */
-public class FontWeight {
+public class FontWeight implements EscapeString {
 
 	/**
 	 * Normal font-weight.
@@ -34,6 +34,7 @@ public class ItemStyle extends BaseComponentProperty {
 	}
 
 	public ItemStyle setColor(Color color) {
+		changed();
 		this.color = color;
 		return this;
 	}
@@ -43,6 +44,7 @@ public class ItemStyle extends BaseComponentProperty {
 	}
 
 	public ItemStyle setBorderColor(Color borderColor) {
+		changed();
 		this.borderColor = borderColor;
 		return this;
 	}
@@ -52,6 +54,7 @@ public class ItemStyle extends BaseComponentProperty {
 	}
 
 	public ItemStyle setBorderWidth(Integer borderWidth) {
+		changed();
 		this.borderWidth = borderWidth;
 		return this;
 	}
@@ -61,6 +64,7 @@ public class ItemStyle extends BaseComponentProperty {
 	}
 
 	public ItemStyle setBorderType(LineStyle.Type borderType) {
+		changed();
 		this.borderType = borderType;
 
 		return this;
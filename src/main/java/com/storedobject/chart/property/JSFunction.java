@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.property;
+
+import static com.storedobject.chart.util.ComponentPropertyUtil.escape;
+
+import java.util.Objects;
+
+/**
+ * Representation of a JavaScript function value (for example, a "formatter").
+ * A function can not be carried by JSON as it is, so it is encoded as a string
+ * tagged with {@link #PREFIX} and the client-side turns it back into a function
+ * before the option is handed over to "echarts". Any string value that starts
+ * with "function(" is treated the same way.
+ *
+ * <pre>
+ * tooltip.setProperty("formatter", new JSFunction("params", "return params.name;"));
+ * </pre>
+ *
+ * @author Syam
+ */
+public class JSFunction implements EscapeString {
+
+	/**
+	 * Prefix used to tag the encoded function source.
+	 */
+	public static final String PREFIX = "@function@";
+
+	private final String source;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param source Complete source of the function, e.g.,
+	 *               "function(params) { return params.name; }".
+	 */
+	public JSFunction(String source) {
+		this.source = Objects.requireNonNull(source);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param parameters Comma separated parameter names.
+	 * @param body       Body of the function.
+	 */
+	public JSFunction(String parameters, String body) {
+		this("function(" + (parameters == null ? "" : parameters) + ") {" + body + "}");
+	}
+
+	/**
+	 * Get the source of the function.
+	 *
+	 * @return Source.
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Check whether the given text is the source of a JavaScript function.
+	 *
+	 * @param text Text to check.
+	 * @return True if it starts with "function(" or "function (".
+	 */
+	public static boolean isFunction(String text) {
+		return text.startsWith("function(") || text.startsWith("function (");
+	}
+
+	@Override
+	public String toString() {
+		return escape(PREFIX + source);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		return source.equals(((JSFunction) o).source);
+	}
+
+	@Override
+	public int hashCode() {
+		return source.hashCode();
+	}
+}
@@ -37,6 +37,7 @@ public class LabelLine extends BaseComponentProperty {
 	}
 
 	public LabelLine setShow(Boolean show) {
+		changed();
 		this.show = show;
 
 		return this;
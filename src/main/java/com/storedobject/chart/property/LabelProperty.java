@@ -39,6 +39,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty show(boolean show) {
+		changed();
 		this.show = show;
 		return this;
 	}
@@ -48,6 +49,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty setPosition(Position position) {
+		changed();
 		this.position = position;
 		return this;
 	}
@@ -57,6 +59,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty setDistance(Integer distance) {
+		changed();
 		this.distance = distance;
 		return this;
 	}
@@ -66,6 +69,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty setRotate(Integer rotate) {
+		changed();
 		this.rotate = rotate;
 		return this;
 	}
@@ -75,6 +79,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty setOffset(Integer offset) {
+		changed();
 		if (offset == null) {
 			this.offset = null;
 			return this;
@@ -84,6 +89,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 	}
 
 	public LabelProperty setOffset(int x, int y) {
+		changed();
 		if (offset == null) {
 			offset = new int[2];
 		}
@@ -100,6 +106,7 @@ public class LabelProperty extends TextStyle implements HasFormatter<LabelProper
 
 	@Override
 	public LabelProperty setFormatter(Formatter formatter) {
+		changed();
 		this.formatter = formatter.toString();
 		return this;
 	}
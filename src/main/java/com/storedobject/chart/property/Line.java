@@ -46,6 +46,7 @@ public class Line extends VisibleProperty {
 	 */
 	public LineStyle getStyle(boolean create) {
 		if (style == null && create) {
+			changed();
 			style = new LineStyle();
 		}
 
@@ -58,6 +59,7 @@ public class Line extends VisibleProperty {
 	 * @param style Style to set.
 	 */
 	public void setStyle(LineStyle style) {
+		changed();
 		this.style = style;
 	}
 }
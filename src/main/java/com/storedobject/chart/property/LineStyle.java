@@ -61,6 +61,7 @@ public class LineStyle extends PropertyComponentValue {
 	 * @param color Color.
 	 */
 	public void setColor(Color color) {
+		changed();
 		this.color = color;
 	}
 
@@ -79,6 +80,7 @@ public class LineStyle extends PropertyComponentValue {
 	 * @param width Width of the line in pixels.
 	 */
 	public void setWidth(int width) {
+		changed();
 		this.width = width;
 	}
 
@@ -97,6 +99,7 @@ public class LineStyle extends PropertyComponentValue {
 	 * @param type Line type.
 	 */
 	public void setType(Type type) {
+		changed();
 		this.type = type;
 	}
 
@@ -108,6 +111,7 @@ public class LineStyle extends PropertyComponentValue {
 	 */
 	public final Shadow getShadow(boolean create) {
 		if (shadow == null && create) {
+			changed();
 			shadow = new Shadow();
 		}
 		return shadow;
@@ -119,6 +123,7 @@ public class LineStyle extends PropertyComponentValue {
 	 * @param shadow Shadow.
 	 */
 	public void setShadow(Shadow shadow) {
+		changed();
 		this.shadow = shadow;
 	}
 
@@ -137,6 +142,7 @@ public class LineStyle extends PropertyComponentValue {
 	 * @param opacity Opacity.
 	 */
 	public void setOpacity(int opacity) {
+		changed();
 		this.opacity = opacity;
 	}
 
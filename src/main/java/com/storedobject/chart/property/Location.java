@@ -21,7 +21,7 @@ package com.storedobject.chart.property;
  *
  * @author Syam
  */
-public enum Location {
+public enum Location implements EscapeString {
 
 	/**
 	 * Start (On Left-to-Right systems, it is the left-end).
@@ -22,18 +22,21 @@ public class MarkLine extends Marker<MarkLine> {
 	}
 
 	public MarkLine setPrecision(Integer precision) {
+		changed();
 		this.precision = precision;
 		return this;
 	}
 
 	public LineStyle getLineStyle(boolean create) {
 		if (lineStyle == null && create) {
+			changed();
 			lineStyle = new LineStyle();
 		}
 		return lineStyle;
 	}
 
 	public MarkLine setLineStyle(LineStyle lineStyle) {
+		changed();
 		this.lineStyle = lineStyle;
 		return this;
 	}
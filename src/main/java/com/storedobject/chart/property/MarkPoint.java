@@ -24,6 +24,7 @@ public class MarkPoint extends Marker<MarkPoint> {
 	}
 
 	public MarkPoint setSymbolRotate(Integer symbolRotate) {
+		changed();
 		this.symbolRotate = symbolRotate;
 		return this;
 	}
@@ -33,6 +34,7 @@ public class MarkPoint extends Marker<MarkPoint> {
 	}
 
 	public MarkPoint setSymbolOffset(Size offset) {
+		changed();
 		if (offset == null) {
 			symbolOffset = null;
 		} else {
@@ -42,6 +44,7 @@ public class MarkPoint extends Marker<MarkPoint> {
 	}
 
 	public MarkPoint setSymbolOffset(Size right, Size top) {
+		changed();
 		if (symbolOffset == null) {
 			symbolOffset = new Size[2];
 		}
@@ -54,12 +57,14 @@ public class MarkPoint extends Marker<MarkPoint> {
 
 	public ItemStyle getItemStyle(boolean create) {
 		if (itemStyle == null && create) {
+			changed();
 			itemStyle = new ItemStyle();
 		}
 		return itemStyle;
 	}
 
 	public MarkPoint setItemStyle(ItemStyle itemStyle) {
+		changed();
 		this.itemStyle = itemStyle;
 		return this;
 	}
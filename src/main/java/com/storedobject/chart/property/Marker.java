@@ -31,6 +31,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 	}
 
 	public MARKER setSymbol(Symbol symbol) {
+		changed();
 		this.symbol = symbol;
 		return _this;
 	}
@@ -40,6 +41,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 	}
 
 	public MARKER setSymbolSize(Integer size) {
+		changed();
 		if (size == null) {
 			symbolSize = null;
 		} else {
@@ -49,6 +51,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 	}
 
 	public MARKER setSymbolSize(int width, int height) {
+		changed();
 		if (symbolSize == null) {
 			symbolSize = new Integer[2];
 		}
@@ -64,36 +67,42 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 	}
 
 	public MARKER setSilent(Boolean silent) {
+		changed();
 		this.silent = silent;
 		return _this;
 	}
 
 	public LabelProperty getLabel(boolean create) {
 		if (label == null && create) {
+			changed();
 			label = new LabelProperty();
 		}
 		return label;
 	}
 
 	public MARKER setLabel(LabelProperty label) {
+		changed();
 		this.label = label;
 		return _this;
 	}
 
 	public PropertyValueArray getData(boolean create) {
 		if (data == null && create) {
+			changed();
 			data = new PropertyValueArray();
 		}
 		return data;
 	}
 
 	public MARKER addData(String name, TypeData.Type type) {
+		changed();
 		TypeData data = Data.typeData(name, type);
 		getData(true).addPropertyValue(data);
 		return _this;
 	}
 
 	public MARKER addData(String name, Size x, Size y) {
+		changed();
 		XYData data = Data.xyData(name, x, y);
 		getData(true).addPropertyValue(data);
 		return _this;
@@ -118,6 +127,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 		}
 
 		public void setName(String name) {
+			changed();
 			this.name = name;
 		}
 
@@ -151,6 +161,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 		}
 
 		public void setType(Type type) {
+			changed();
 			this.type = type;
 		}
 
@@ -200,6 +211,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 		}
 
 		public void setX(Size x) {
+			changed();
 			this.x = x;
 		}
 
@@ -208,6 +220,7 @@ public abstract class Marker<MARKER extends Marker<MARKER>> extends BaseComponen
 		}
 
 		public void setY(Size y) {
+			changed();
 			this.y = y;
 		}
 
@@ -57,6 +57,7 @@ public class Padding extends PropertyComponentValue {
 	 * @param paddingTop Padding.
 	 */
 	public Padding setPaddingTop(int paddingTop) {
+		changed();
 		this.paddingTop = Math.max(0, paddingTop);
 		return this;
 	}
@@ -67,6 +68,7 @@ public class Padding extends PropertyComponentValue {
 	 * @param paddingRight Padding.
 	 */
 	public Padding setPaddingRight(int paddingRight) {
+		changed();
 		this.paddingRight = Math.max(0, paddingRight);
 		return this;
 	}
@@ -77,6 +79,7 @@ public class Padding extends PropertyComponentValue {
 	 * @param paddingBottom Padding.
 	 */
 	public Padding setGetPaddingBottom(int paddingBottom) {
+		changed();
 		this.paddingBottom = Math.max(0, paddingBottom);
 		return this;
 	}
@@ -87,6 +90,7 @@ public class Padding extends PropertyComponentValue {
 	 * @param paddingLeft Padding.
 	 */
 	public Padding setGetPaddingLeft(int paddingLeft) {
+		changed();
 		this.paddingLeft = Math.max(0, paddingLeft);
 		return this;
 	}
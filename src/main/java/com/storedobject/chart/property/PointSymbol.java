@@ -103,15 +103,18 @@ public class PointSymbol implements ComponentProperty {
 
 	@Override
 	public void encodeJSON(StringBuilder sb) {
-		sb.append(",\"showSymbol\":").append(show);
+		ComponentPart.addComma(sb);
+		sb.append("\"showSymbol\":").append(show);
 		if (type != null) {
 			ComponentPart.encode(sb, "symbol", type, true);
 			type = null;
 		}
 		if (size != null) {
-			sb.append(",\"symbolSize\":").append(size);
+			ComponentPart.addComma(sb);
+			sb.append("\"symbolSize\":").append(size);
 			size = null;
 		}
-		sb.append(",\"hoverAnimation\":").append(hoverAnimation);
+		ComponentPart.addComma(sb);
+		sb.append("\"hoverAnimation\":").append(hoverAnimation);
 	}
 }
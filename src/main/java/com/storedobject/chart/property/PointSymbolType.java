@@ -24,7 +24,7 @@ import com.storedobject.chart.component.LineChart;
  *
  * @author Syam
  */
-public enum PointSymbolType {
+public enum PointSymbolType implements EscapeString {
 
 	/**
 	 * Circle.
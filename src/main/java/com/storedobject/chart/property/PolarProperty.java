@@ -30,6 +30,7 @@ public class PolarProperty implements ComponentProperty {
 
 	private int innerRadius = 0, radius = -75;
 	private int centerH = -50, centerV = -50;
+	private long modification;
 
 	/**
 	 * Set size of the radius.
@@ -38,6 +39,7 @@ public class PolarProperty implements ComponentProperty {
 	 */
 	public void setRadius(Size radius) {
 		this.radius = radius.get();
+		modification++;
 	}
 
 	/**
@@ -47,6 +49,7 @@ public class PolarProperty implements ComponentProperty {
 	 */
 	public void setInnerRadius(Size innerRadius) {
 		this.innerRadius = innerRadius.get();
+		modification++;
 	}
 
 	/**
@@ -58,6 +61,12 @@ public class PolarProperty implements ComponentProperty {
 	public void setCenter(Size horizontal, Size vertical) {
 		this.centerH = horizontal.get();
 		this.centerV = vertical.get();
+		modification++;
+	}
+
+	@Override
+	public long getModification() {
+		return modification;
 	}
 
 	@Override
@@ -5,8 +5,11 @@ import static com.storedobject.chart.util.ComponentPropertyUtil.endNode;
 
 public class PropertyComponentValue extends AbstractComponentProperty implements PropertyValue {
 
+	// The wrapper is reused since this is set as a named property on every render
+	private transient PropertyComponentValueWrapper wrapper;
+
 	@Override
-	public StringBuilder encodeValue(StringBuilder sb) {
+	public synchronized StringBuilder encodeValue(StringBuilder sb) {
 		buildProperties();
 		if (isEmpty()) {
 			return sb;
@@ -26,7 +29,11 @@ public class PropertyComponentValue extends AbstractComponentProperty implements
 
 	@Override
 	public PropertyComponentValueWrapper asProperty(String name) {
-		return new PropertyComponentValueWrapper(name, this);
+		PropertyComponentValueWrapper w = wrapper;
+		if (w == null || !w.name.equals(name)) {
+			wrapper = w = new PropertyComponentValueWrapper(name, this);
+		}
+		return w;
 	}
 
 	public static BaseComponentProperty toComponentProperty(String name, PropertyComponentValue propertyValue) {
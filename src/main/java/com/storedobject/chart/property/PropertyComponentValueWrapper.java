@@ -26,10 +26,13 @@ final public class PropertyComponentValueWrapper extends BaseComponentProperty {
 
 	@Override
 	public void encodeJSON(StringBuilder sb) {
-		_value.property(buildAndGetProperties());
-
-		beginNode(name, sb);
-		_value.encodeJSON(sb);
-		endNode(sb);
+		// The wrapped value may be shared, so it is encoded under its lock (The
+		// properties of this are not copied into it since its encoding builds its
+		// properties afresh)
+		synchronized (_value) {
+			beginNode(name, sb);
+			_value.encodeJSON(sb);
+			endNode(sb);
+		}
 	}
 }
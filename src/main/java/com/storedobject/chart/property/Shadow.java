@@ -64,6 +64,7 @@ public class Shadow extends PropertyComponentValue {
 	 * @param blur Blur.
 	 */
 	public Shadow setBlur(Integer blur) {
+		changed();
 		this.blur = blur;
 		return this;
 	}
@@ -83,6 +84,7 @@ public class Shadow extends PropertyComponentValue {
 	 * @param color Color.
 	 */
 	public Shadow setColor(Color color) {
+		changed();
 		this.color = color;
 		return this;
 	}
@@ -102,6 +104,7 @@ public class Shadow extends PropertyComponentValue {
 	 * @param offsetX X offset.
 	 */
 	public Shadow setOffsetX(Integer offsetX) {
+		changed();
 		this.offsetX = offsetX;
 		return this;
 	}
@@ -121,6 +124,7 @@ public class Shadow extends PropertyComponentValue {
 	 * @param offsetY Y offset.
 	 */
 	public Shadow setOffsetY(Integer offsetY) {
+		changed();
 		this.offsetY = offsetY;
 		return this;
 	}
@@ -140,11 +144,13 @@ public class Shadow extends PropertyComponentValue {
 	 * @param opacity Opacity.
 	 */
 	public Shadow setOpacity(Integer opacity) {
+		changed();
 		this.opacity = opacity;
 		return this;
 	}
 
 	public Shadow setPrefix(String prefix) {
+		changed();
 		this.prefix = prefix;
 		return this;
 	}
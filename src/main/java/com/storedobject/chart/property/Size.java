@@ -27,6 +27,7 @@ import java.util.Objects;
 public class Size implements EscapeString {
 
 	private int size;
+	private long modification;
 
 	public Size() {
 		this(Integer.MIN_VALUE);
@@ -41,37 +42,54 @@ public class Size implements EscapeString {
 	}
 
 	public void set(Size size) {
+		modification++;
 		this.size = size.size;
 	}
 
 	public void set(int size) {
+		modification++;
 		this.size = size;
 	}
 
 	public void left() {
+		modification++;
 		size = -101;
 	}
 
 	public void center() {
+		modification++;
 		size = -102;
 	}
 
 	public void right() {
+		modification++;
 		size = -103;
 	}
 
 	public void top() {
+		modification++;
 		size = -111;
 	}
 
 	public void middle() {
+		modification++;
 		size = -112;
 	}
 
 	public void bottom() {
+		modification++;
 		size = -113;
 	}
 
+	/**
+	 * Get the modification counter. (See {@link ComponentProperty#getModification()}).
+	 *
+	 * @return Modification counter.
+	 */
+	public long getModification() {
+		return modification;
+	}
+
 	public boolean isNull() {
 		return size == Integer.MIN_VALUE;
 	}
@@ -102,24 +120,37 @@ public class Size implements EscapeString {
 		if (size == Integer.MIN_VALUE) {
 			return null;
 		}
+		return encode(new StringBuilder()).toString();
+	}
+
+	/**
+	 * Append the encoded value to the string builder ("null" for a "null" size).
+	 *
+	 * @param sb Append to this.
+	 * @return The string builder passed.
+	 */
+	public StringBuilder encode(StringBuilder sb) {
+		if (size == Integer.MIN_VALUE) {
+			return sb.append("null");
+		}
 		switch (size) {
 		case -101:
-			return "\"left\"";
+			return sb.append("\"left\"");
 		case -102:
-			return "\"center\"";
+			return sb.append("\"center\"");
 		case -103:
-			return "\"right\"";
+			return sb.append("\"right\"");
 		case -111:
-			return "\"top\"";
+			return sb.append("\"top\"");
 		case -112:
-			return "\"middle\"";
+			return sb.append("\"middle\"");
 		case -113:
-			return "\"bottom\"";
+			return sb.append("\"bottom\"");
 		}
 		if (size < 0) {
-			return "\"" + (-size) + "%\"";
+			return sb.append('"').append(-size).append("%\"");
 		}
-		return "" + size;
+		return sb.append(size);
 	}
 
 	public static String code(int size) {
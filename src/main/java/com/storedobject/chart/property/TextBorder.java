@@ -62,6 +62,7 @@ public class TextBorder extends PropertyComponentValue {
 	 * @param color Color to set.
 	 */
 	public TextBorder setColor(Color color) {
+		changed();
 		this.color = color;
 		return this;
 	}
@@ -86,6 +87,7 @@ public class TextBorder extends PropertyComponentValue {
 	 * @param width Width of the border.
 	 */
 	public TextBorder setWidth(Integer width) {
+		changed();
 		this.width = width;
 		return this;
 	}
@@ -98,6 +100,7 @@ public class TextBorder extends PropertyComponentValue {
 	 */
 	public final Shadow getShadow(boolean create) {
 		if (shadow == null && create) {
+			changed();
 			shadow = new Shadow();
 		}
 		return shadow;
@@ -109,11 +112,13 @@ public class TextBorder extends PropertyComponentValue {
 	 * @param shadow Shadow.
 	 */
 	public TextBorder setShadow(Shadow shadow) {
+		changed();
 		this.shadow = shadow;
 		return this;
 	}
 
 	public TextBorder setPrefix(String prefix) {
+		changed();
 		this.prefix = prefix;
 		return this;
 	}
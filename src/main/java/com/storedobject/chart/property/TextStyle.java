@@ -78,6 +78,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param color Color.
 	 */
 	public TextStyle setColor(Color color) {
+		changed();
 		this.color = color;
 		return this;
 	}
@@ -97,6 +98,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param fontStyle Font-style.
 	 */
 	public TextStyle setFontStyle(FontStyle fontStyle) {
+		changed();
 		this.fontStyle = fontStyle;
 		return this;
 	}
@@ -116,6 +118,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param fontSize Font-size.
 	 */
 	public TextStyle setFontSize(Integer fontSize) {
+		changed();
 		this.fontSize = fontSize;
 		return this;
 	}
@@ -135,6 +138,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param fontWeight Font-weight.
 	 */
 	public TextStyle setFontWeight(FontWeight fontWeight) {
+		changed();
 		this.fontWeight = fontWeight;
 		return this;
 	}
@@ -154,6 +158,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param fontFamily Font-family.
 	 */
 	public TextStyle setFontFamily(String fontFamily) {
+		changed();
 		this.fontFamily = fontFamily;
 		return this;
 	}
@@ -163,6 +168,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setLineHeight(Integer lineHeight) {
+		changed();
 		this.lineHeight = lineHeight;
 		return this;
 	}
@@ -172,6 +178,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setWidth(Integer width) {
+		changed();
 		this.width = width;
 		return this;
 	}
@@ -181,6 +188,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setHeight(Integer height) {
+		changed();
 		this.height = height;
 		return this;
 	}
@@ -193,6 +201,7 @@ public class TextStyle extends PropertyComponentValue {
 	 */
 	public final TextBorder getTextBorder(boolean create) {
 		if (textBorder == null && create) {
+			changed();
 			textBorder = new TextBorder();
 		}
 		return textBorder;
@@ -204,6 +213,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param textBorder Text border.
 	 */
 	public final TextStyle setTextBorder(TextBorder textBorder) {
+		changed();
 		this.textBorder = textBorder;
 		return this;
 	}
@@ -213,6 +223,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setOverflow(Overflow overFlow) {
+		changed();
 		this.overFlow = overFlow;
 		return this;
 	}
@@ -222,6 +233,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setEllipsis(String ellipsis) {
+		changed();
 		this.ellipsis = ellipsis;
 		return this;
 	}
@@ -231,6 +243,7 @@ public class TextStyle extends PropertyComponentValue {
 	}
 
 	public TextStyle setLineOverflow(Overflow lineOverflow) {
+		changed();
 		this.lineOverflow = lineOverflow;
 		return this;
 	}
@@ -250,6 +263,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param background Background color.
 	 */
 	public TextStyle setBackground(Color background) {
+		changed();
 		this.background = background;
 		return this;
 	}
@@ -263,6 +277,7 @@ public class TextStyle extends PropertyComponentValue {
 	 */
 	public final Border getBorder(boolean create) {
 		if (border == null && create) {
+			changed();
 			border = new Border();
 		}
 		return border;
@@ -274,6 +289,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param border Border.
 	 */
 	public TextStyle setBorder(Border border) {
+		changed();
 		this.border = border;
 		return this;
 	}
@@ -287,6 +303,7 @@ public class TextStyle extends PropertyComponentValue {
 	 */
 	public final Padding getPadding(boolean create) {
 		if (padding == null && create) {
+			changed();
 			padding = new Padding();
 		}
 		return padding;
@@ -298,6 +315,7 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param padding Padding.
 	 */
 	public TextStyle setPadding(Padding padding) {
+		changed();
 		this.padding = padding;
 		return this;
 	}
@@ -318,26 +336,40 @@ public class TextStyle extends PropertyComponentValue {
 	 * @param alignment Alignment.
 	 */
 	public TextStyle setAlignment(Alignment alignment) {
+		changed();
 		this.alignment = alignment;
 		return this;
 	}
 
+	/**
+	 * Move the properties that are encoded outside the text style (by the owner of
+	 * it) to the given holder. They should be put back by
+	 * {@link #restore(OuterProperties)} after encoding. (This is not counted as a
+	 * modification since the pair leaves this as it was).
+	 *
+	 * @param op Holder of the outer properties.
+	 */
 	public void save(OuterProperties op) {
 		op.background = background;
-		setBackground(null);
+		background = null;
 		op.padding = padding;
-		setPadding(null);
+		padding = null;
 		op.border = border;
-		setBorder(null);
+		border = null;
 		op.alignment = alignment;
-		setAlignment(null);
+		alignment = null;
 	}
 
+	/**
+	 * Put back the properties moved by {@link #save(OuterProperties)}.
+	 *
+	 * @param op Holder of the outer properties.
+	 */
 	public void restore(OuterProperties op) {
-		setBackground(op.background);
-		setPadding(op.padding);
-		setBorder(op.border);
-		setAlignment(op.alignment);
+		background = op.background;
+		padding = op.padding;
+		border = op.border;
+		alignment = op.alignment;
 	}
 
 	public static enum Overflow {
@@ -31,6 +31,7 @@ public abstract class VisibleComponentProperty extends BaseComponentProperty {
 	}
 
 	public void show() {
+		changed();
 		show = true;
 	}
 
@@ -38,6 +39,7 @@ public abstract class VisibleComponentProperty extends BaseComponentProperty {
 	 * Hide this part.
 	 */
 	public void hide() {
+		changed();
 		show = false;
 	}
 
@@ -32,6 +32,7 @@ public abstract class VisibleProperty extends PropertyComponentValue {
 	 * Show this part.
 	 */
 	public void show() {
+		changed();
 		show = true;
 	}
 
@@ -39,6 +40,7 @@ public abstract class VisibleProperty extends PropertyComponentValue {
 	 * Hide this part.
 	 */
 	public void hide() {
+		changed();
 		show = false;
 	}
 
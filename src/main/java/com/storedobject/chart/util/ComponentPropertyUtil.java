@@ -4,8 +4,6 @@ import static com.storedobject.chart.component.ComponentPart.addComma;
 
 import java.lang.reflect.Array;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -13,13 +11,19 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import com.storedobject.chart.property.ComponentProperty;
-import com.storedobject.chart.property.EscapeString;
 import elemental.json.Json;
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
 
 public class ComponentPropertyUtil {
 
+	/**
+	 * Date formatter that was used for encoding dates. It is not thread-safe and
+	 * is not used anymore.
+	 *
+	 * @deprecated Use {@link TimeCodec#format(java.util.Date)} instead.
+	 */
+	@Deprecated
 	public static final SimpleDateFormat ISO_DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
 
 	public static StringBuilder encodeValueProperty(String name, Object value, StringBuilder sb) {
@@ -28,7 +32,8 @@ public class ComponentPropertyUtil {
 		}
 
 		addComma(sb);
-		return sb.append("\"").append(name).append("\":").append(escape(value)).append(",");
+		sb.append("\"").append(name).append("\":");
+		return JsonCodec.append(sb, value);
 	}
 
 	public static <T> StringBuilder encodeValueProperty(String name, T value, Function<T, Object> mapper,
@@ -40,14 +45,30 @@ public class ComponentPropertyUtil {
 		return encodeValueProperty(name, mapper.apply(value), sb);
 	}
 
+	/**
+	 * Append the JSON encoding of the given property as a member of the object
+	 * being built. The separating comma is taken back if the property did not
+	 * encode anything so that no dangling commas are left in the output.
+	 *
+	 * @param property Property to encode (could be <code>null</code>).
+	 * @param sb       Append the JSONified string to this.
+	 * @return The same string builder.
+	 */
 	public static StringBuilder encodeComponentProperty(ComponentProperty property, StringBuilder sb) {
 		if (property == null) {
 			return sb;
 		}
 
+		int mark = sb.length();
 		addComma(sb);
-		property.encodeJSON(sb);
-		addComma(sb);
+		int start = sb.length();
+		// A property may be shared by parts that are encoded in parallel
+		synchronized (property) {
+			property.encodeJSON(sb);
+		}
+		if (sb.length() == start) {
+			sb.setLength(mark);
+		}
 
 		return sb;
 	}
@@ -58,7 +79,9 @@ public class ComponentPropertyUtil {
 		}
 
 		beginNode(name, sb);
-		property.encodeJSON(sb);
+		synchronized (property) {
+			property.encodeJSON(sb);
+		}
 		endNode(sb);
 
 		return sb;
@@ -73,7 +96,7 @@ public class ComponentPropertyUtil {
 		JsonObject json = Json.parse("{" + propertyJson + "}");
 		propertyJson = JsonUtil.stringify(json);
 		propertyJson = propertyJson.substring(1, propertyJson.length() - 1);
-		return sb.append(propertyJson).append(",");
+		return sb.append(propertyJson);
 	}
 
 	public static StringBuilder beginNode(String node, StringBuilder sb) {
@@ -91,7 +114,7 @@ public class ComponentPropertyUtil {
 	}
 
 	public static StringBuilder endNode(StringBuilder sb) {
-		return sb.append("},");
+		return sb.append('}');
 	}
 
 	/**
@@ -136,72 +159,15 @@ public class ComponentPropertyUtil {
 	/**
 	 * Helper method to escape invalid characters in JSON strings. Please note that
 	 * this method returns a double-quoted string unless the parameter is a number.
-	 * For example, escape("Hello") will return "Hello" not Hello.
+	 * For example, escape("Hello") will return "Hello" not Hello. Use
+	 * {@link JsonCodec#append(StringBuilder, Object)} to append the encoded value
+	 * directly to a buffer.
 	 *
 	 * @param any Anything to encode.
 	 * @return Encoded string.
 	 */
 	public static String escape(Object any) {
-		if (any.getClass().isArray()) {
-			any = Arrays.asList(toObjectArray(any));
-		}
-		if (any instanceof Iterable) {
-			StringBuilder sb = new StringBuilder();
-			Iterable<?> iter = (Iterable<?>) any;
-			int size;
-			if (iter instanceof Collection) {
-				size = ((Collection<?>) iter).size();
-			} else {
-				size = (int) iter.spliterator().getExactSizeIfKnown();
-			}
-
-			if (size > 1) {
-				sb.append("[");
-				boolean first = true;
-				for (Object obj : iter) {
-					if (first) {
-						first = false;
-					} else {
-						sb.append(',');
-					}
-					sb.append(escape(obj));
-				}
-				sb.append("]");
-				return sb.toString();
-
-			} else if (size == 1) {
-				any = iter.iterator().next();
-
-			} else {
-				any = null;
-			}
-		}
-
-		if (any instanceof Number || any instanceof Boolean //
-				|| any instanceof StringBuilder //
-				|| any instanceof EscapeString) {
-			return any.toString();
-		}
-
-		if (any instanceof Date) {
-			any = ISO_DATE_FORMATTER.format((Date) any);
-//			any = DataType.TIME.mapValue(any); 
-		}
-
-		String string = any != null ? any.toString() : null;
-		if (string == null) {
-			string = "";
-		}
-		if (string.startsWith("\"") && string.endsWith("\"")) {
-			return string; // Special case - already encoded.
-		}
-		if (string.contains("\"")) {
-			string = string.replace("\"", "\\\"");
-		}
-		if (string.contains("\n")) {
-			string = string.replace("\n", "\\n");
-		}
-		return '"' + string + '"';
+		return JsonCodec.append(new StringBuilder(), any).toString();
 	}
 
 	public static String camelName(String name) {
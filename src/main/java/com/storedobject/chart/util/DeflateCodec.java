@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.Deflater;
+
+/**
+ * Compressor of large option payloads. The JSON string is compressed in the
+ * zlib format and the bytes are carried as a Base64 string. The client-side
+ * inflates it using the browser's <code>DecompressionStream</code> (or a
+ * bundled inflater if that is not available).
+ *
+ * <p>
+ * Even noisy numeric data shrinks to about a third (including the Base64
+ * overhead) and repetitive data compresses much better. Compression costs
+ * server CPU time (and the client needs time to inflate) so it pays off only
+ * for large payloads sent over slow links. The fastest level is used by
+ * default since higher levels cost several times more for a few percent.
+ * </p>
+ *
+ * @author Syam
+ */
+public final class DeflateCodec {
+
+	private DeflateCodec() {
+	}
+
+	/**
+	 * Compress a JSON string using the fastest level of compression.
+	 *
+	 * @param json JSON string.
+	 * @return Base64 encoded compressed bytes.
+	 */
+	public static String encode(String json) {
+		return encode(json, Deflater.BEST_SPEED);
+	}
+
+	/**
+	 * Compress a JSON string.
+	 *
+	 * @param json  JSON string.
+	 * @param level Compression level (1 to 9, see {@link Deflater}).
+	 * @return Base64 encoded compressed bytes.
+	 */
+	public static String encode(String json, int level) {
+		byte[] input = json.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(input);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return Base64.getEncoder().encodeToString(out.toByteArray());
+		} finally {
+			deflater.end();
+		}
+	}
+}
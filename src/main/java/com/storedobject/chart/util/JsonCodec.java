@@ -0,0 +1,284 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Iterator;
+
+import com.storedobject.chart.property.EscapeString;
+import com.storedobject.chart.property.JSFunction;
+import com.storedobject.chart.property.Size;
+
+/**
+ * Encoder of values into JSON. Everything is written directly into the output
+ * buffer: numbers are appended without creating intermediate strings, strings
+ * are escaped using a lookup table and arrays of primitive types are encoded
+ * without boxing their elements. This is the innermost loop while encoding data
+ * points, so the code is kept simple and allocation-free.
+ *
+ * <p>
+ * The encoding is compatible with {@link ComponentPropertyUtil#escape(Object)}:
+ * a collection or an array with a single element is encoded as that element and
+ * an empty one is encoded as an empty string. Numbers that are not finite are
+ * encoded as "null" since JSON can not represent them. Strings are always
+ * escaped and quoted. A value that is already encoded should be passed as an
+ * {@link EscapeString} (its <code>toString()</code> is written as is) or as a
+ * {@link StringBuilder}.
+ * </p>
+ *
+ * @author Syam
+ */
+public final class JsonCodec {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private static final char[] ESCAPES = new char[128];
+	private static final double MAX_EXACT_LONG = 1e15;
+
+	static {
+		for (int c = 0; c < 0x20; c++) {
+			ESCAPES[c] = 'u';
+		}
+		ESCAPES['"'] = '"';
+		ESCAPES['\\'] = '\\';
+		ESCAPES['\n'] = 'n';
+		ESCAPES['\r'] = 'r';
+		ESCAPES['\t'] = 't';
+		ESCAPES['\b'] = 'b';
+		ESCAPES['\f'] = 'f';
+	}
+
+	private JsonCodec() {
+	}
+
+	/**
+	 * Append the JSON encoding of any value.
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode (could be <code>null</code>).
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder append(StringBuilder sb, Object value) {
+		if (value == null) {
+			return sb.append("null");
+		}
+		if (value instanceof Number) {
+			return appendNumber(sb, (Number) value);
+		}
+		if (value instanceof String) {
+			return appendText(sb, (String) value);
+		}
+		if (value instanceof Boolean) {
+			return sb.append(((Boolean) value).booleanValue());
+		}
+		if (value instanceof StringBuilder) {
+			return sb.append((StringBuilder) value);
+		}
+		if (value instanceof Size) {
+			return ((Size) value).encode(sb);
+		}
+		if (value instanceof EscapeString) {
+			return sb.append(value.toString());
+		}
+		if (value instanceof Date || value instanceof LocalDateTime || value instanceof LocalDate) {
+			return TimeCodec.UTC.append(sb, value);
+		}
+		if (value instanceof Iterable) {
+			return appendIterable(sb, (Iterable<?>) value);
+		}
+		if (value.getClass().isArray()) {
+			return appendArray(sb, value);
+		}
+		return appendText(sb, value.toString());
+	}
+
+	/**
+	 * Append a number.
+	 *
+	 * @param sb     Append to this.
+	 * @param number Number to encode.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder appendNumber(StringBuilder sb, Number number) {
+		if (number instanceof Integer || number instanceof Long || number instanceof Short
+				|| number instanceof Byte) {
+			return sb.append(number.longValue());
+		}
+		if (number instanceof Double) {
+			return appendDouble(sb, number.doubleValue());
+		}
+		if (number instanceof Float) {
+			return appendFloat(sb, number.floatValue());
+		}
+		return sb.append(number.toString());
+	}
+
+	/**
+	 * Append a double value. Whole numbers are written without a fraction and
+	 * other values with the fewest digits that read back as the same value (the
+	 * same digits {@link Double#toString(double)} writes since Java 19, whatever
+	 * the Java version is).
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder appendDouble(StringBuilder sb, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return sb.append("null");
+		}
+		if (value == (long) value && Math.abs(value) < MAX_EXACT_LONG) {
+			return sb.append((long) value);
+		}
+		return ShortestDecimal.appendDouble(sb, value);
+	}
+
+	/**
+	 * Append a float value. Whole numbers are written without a fraction and
+	 * other values with the fewest digits that read back as the same float value.
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder appendFloat(StringBuilder sb, float value) {
+		if (Float.isNaN(value) || Float.isInfinite(value)) {
+			return sb.append("null");
+		}
+		if (value == (long) value && Math.abs(value) < MAX_EXACT_LONG) {
+			return sb.append((long) value);
+		}
+		return ShortestDecimal.appendFloat(sb, value);
+	}
+
+	/**
+	 * Append a string as a double-quoted, escaped JSON string.
+	 *
+	 * @param sb   Append to this.
+	 * @param text Text to encode.
+	 * @return The string builder passed.
+	 */
+	public static StringBuilder appendString(StringBuilder sb, CharSequence text) {
+		return appendEscaped(sb.append('"'), text).append('"');
+	}
+
+	private static StringBuilder appendEscaped(StringBuilder sb, CharSequence text) {
+		int length = text.length(), start = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			char escape = c < 128 ? ESCAPES[c] : 0;
+			if (escape == 0) {
+				continue;
+			}
+			sb.append(text, start, i).append('\\').append(escape);
+			if (escape == 'u') {
+				sb.append("00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+			}
+			start = i + 1;
+		}
+		return sb.append(text, start, length);
+	}
+
+	private static StringBuilder appendText(StringBuilder sb, String text) {
+		if (JSFunction.isFunction(text)) {
+			return appendEscaped(sb.append('"').append(JSFunction.PREFIX), text).append('"');
+		}
+		return appendString(sb, text);
+	}
+
+	private static StringBuilder appendIterable(StringBuilder sb, Iterable<?> values) {
+		int mark = sb.length(), count = 0;
+		sb.append('[');
+		for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); count++) {
+			if (count > 0) {
+				sb.append(',');
+			}
+			append(sb, iterator.next());
+		}
+		return close(sb, mark, count);
+	}
+
+	private static StringBuilder appendArray(StringBuilder sb, Object array) {
+		int mark = sb.length(), count;
+		sb.append('[');
+		if (array instanceof double[]) {
+			double[] a = (double[]) array;
+			for (count = 0; count < a.length; count++) {
+				appendDouble(comma(sb, count), a[count]);
+			}
+		} else if (array instanceof int[]) {
+			int[] a = (int[]) array;
+			for (count = 0; count < a.length; count++) {
+				comma(sb, count).append(a[count]);
+			}
+		} else if (array instanceof long[]) {
+			long[] a = (long[]) array;
+			for (count = 0; count < a.length; count++) {
+				comma(sb, count).append(a[count]);
+			}
+		} else if (array instanceof float[]) {
+			float[] a = (float[]) array;
+			for (count = 0; count < a.length; count++) {
+				appendFloat(comma(sb, count), a[count]);
+			}
+		} else if (array instanceof short[]) {
+			short[] a = (short[]) array;
+			for (count = 0; count < a.length; count++) {
+				comma(sb, count).append(a[count]);
+			}
+		} else if (array instanceof byte[]) {
+			byte[] a = (byte[]) array;
+			for (count = 0; count < a.length; count++) {
+				comma(sb, count).append(a[count]);
+			}
+		} else if (array instanceof boolean[]) {
+			boolean[] a = (boolean[]) array;
+			for (count = 0; count < a.length; count++) {
+				comma(sb, count).append(a[count]);
+			}
+		} else if (array instanceof char[]) {
+			char[] a = (char[]) array;
+			for (count = 0; count < a.length; count++) {
+				appendText(comma(sb, count), String.valueOf(a[count]));
+			}
+		} else {
+			Object[] a = (Object[]) array;
+			for (count = 0; count < a.length; count++) {
+				append(comma(sb, count), a[count]);
+			}
+		}
+		return close(sb, mark, count);
+	}
+
+	private static StringBuilder comma(StringBuilder sb, int index) {
+		return index > 0 ? sb.append(',') : sb;
+	}
+
+	private static StringBuilder close(StringBuilder sb, int mark, int count) {
+		switch (count) {
+		case 0:
+			sb.setLength(mark);
+			return sb.append("\"\"");
+		case 1:
+			return sb.deleteCharAt(mark);
+		default:
+			return sb.append(']');
+		}
+	}
+}
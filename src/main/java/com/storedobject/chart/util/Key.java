@@ -16,12 +16,14 @@
 
 package com.storedobject.chart.util;
 
+import com.storedobject.chart.property.EscapeString;
+
 /**
  * Representation of special combination keys on the keyboard.
  *
  * @author Syam
  */
-public enum Key {
+public enum Key implements EscapeString {
 
 	/**
 	 * Shift key.
@@ -0,0 +1,332 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.util;
+
+import java.math.BigInteger;
+
+/**
+ * Writer of the shortest decimal representation of double and float values.
+ * The digits written are the fewest that read back as the same value and, among
+ * those, the ones closest to the exact value. This is what
+ * {@link Double#toString(double)} writes since Java 19. Older versions may write
+ * more digits than needed (JDK-4511638), 2.0E-3 is written as 0.0020 on Java 8
+ * for example. The layout is the same as that of {@link Double#toString(double)}
+ * and {@link Float#toString(float)}: plain notation for magnitudes from 10^-3 to
+ * 10^7 and computerized scientific notation otherwise.
+ *
+ * <p>
+ * The algorithm is "Schubfach" by Raffaello Giulietti ("The Schubfach way to
+ * render doubles", 2020). It uses only integer arithmetic on long values and
+ * writes directly into the output buffer. The table of the powers of 10 that it
+ * needs is computed once when this class is loaded.
+ * </p>
+ *
+ * @author Syam
+ */
+final class ShortestDecimal {
+
+	private static final int K_MIN = -324, K_MAX = 292;
+	private static final long MASK_63 = 0x7FFF_FFFF_FFFF_FFFFL;
+	private static final long MASK_32 = 0xFFFF_FFFFL;
+
+	private static final int D_P = 53, D_Q_MIN = -1074, D_C_TINY = 3;
+	private static final long D_C_MIN = 1L << (D_P - 1);
+
+	private static final int F_P = 24, F_Q_MIN = -149, F_C_TINY = 8;
+	private static final int F_C_MIN = 1 << (F_P - 1);
+
+	private static final long[] POW10 = new long[19];
+
+	/*
+	 * For each k from K_MIN to K_MAX, 10^-k = b 2^r with 2^125 <= b < 2^126. The
+	 * 126 bits of g = floor(b) + 1 are kept in two halves of 63 bits each.
+	 */
+	private static final long[] G1 = new long[K_MAX - K_MIN + 1];
+	private static final long[] G0 = new long[K_MAX - K_MIN + 1];
+
+	static {
+		POW10[0] = 1;
+		for (int i = 1; i < POW10.length; i++) {
+			POW10[i] = 10 * POW10[i - 1];
+		}
+		BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			BigInteger g;
+			if (k <= 0) {
+				BigInteger n = BigInteger.TEN.pow(-k);
+				int r = n.bitLength() - 126;
+				g = r < 0 ? n.shiftLeft(-r) : n.shiftRight(r);
+			} else {
+				BigInteger d = BigInteger.TEN.pow(k);
+				g = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+			}
+			g = g.add(BigInteger.ONE);
+			G1[k - K_MIN] = g.shiftRight(63).longValue();
+			G0[k - K_MIN] = g.and(mask).longValue();
+		}
+	}
+
+	private ShortestDecimal() {
+	}
+
+	/**
+	 * Append a finite double value.
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode.
+	 * @return The string builder passed.
+	 */
+	static StringBuilder appendDouble(StringBuilder sb, double value) {
+		long bits = Double.doubleToRawLongBits(value);
+		long t = bits & ((1L << (D_P - 1)) - 1);
+		int bq = (int) (bits >>> (D_P - 1)) & 0x7FF;
+		if (bits < 0) {
+			sb.append('-');
+		}
+		if (bq != 0) {
+			int mq = -D_Q_MIN + 1 - bq;
+			long c = D_C_MIN | t;
+			if (0 < mq && mq < D_P) {
+				long f = c >> mq;
+				if (f << mq == c) {
+					return appendDecimal(sb, f, 0);
+				}
+			}
+			return toDecimal(sb, -mq, c, 0);
+		}
+		if (t != 0) {
+			return t < D_C_TINY ? toDecimal(sb, D_Q_MIN, 10 * t, -1) : toDecimal(sb, D_Q_MIN, t, 0);
+		}
+		return sb.append("0.0");
+	}
+
+	/**
+	 * Append a finite float value.
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode.
+	 * @return The string builder passed.
+	 */
+	static StringBuilder appendFloat(StringBuilder sb, float value) {
+		int bits = Float.floatToRawIntBits(value);
+		int t = bits & ((1 << (F_P - 1)) - 1);
+		int bq = (bits >>> (F_P - 1)) & 0xFF;
+		if (bits < 0) {
+			sb.append('-');
+		}
+		if (bq != 0) {
+			int mq = -F_Q_MIN + 1 - bq;
+			int c = F_C_MIN | t;
+			if (0 < mq && mq < F_P) {
+				int f = c >> mq;
+				if (f << mq == c) {
+					return appendDecimal(sb, f, 0);
+				}
+			}
+			return toDecimal(sb, -mq, c, 0);
+		}
+		if (t != 0) {
+			return t < F_C_TINY ? toDecimal(sb, F_Q_MIN, 10 * t, -1) : toDecimal(sb, F_Q_MIN, t, 0);
+		}
+		return sb.append("0.0");
+	}
+
+	/*
+	 * The value is c 2^q. The decimal written is d 10^(k + dk) where d is the
+	 * shortest (then the closest) one within the rounding interval.
+	 */
+	private static StringBuilder toDecimal(StringBuilder sb, int q, long c, int dk) {
+		int out = (int) c & 1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != D_C_MIN || q == D_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 2;
+		long g1 = G1[k - K_MIN], g0 = G0[k - K_MIN];
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+		long s = vb >> 2;
+		if (s >= 100) {
+			long sp10 = 10 * (s / 10);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return appendDecimal(sb, upin ? sp10 : tp10, k);
+			}
+		}
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return appendDecimal(sb, uin ? s : t, k + dk);
+		}
+		long cmp = vb - (s + t << 1);
+		return appendDecimal(sb, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+	}
+
+	private static StringBuilder toDecimal(StringBuilder sb, int q, int c, int dk) {
+		int out = c & 1;
+		long cb = (long) c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != F_C_MIN || q == F_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 33;
+		long g = G1[k - K_MIN] + 1;
+		int vb = rop(g, cb << h);
+		int vbl = rop(g, cbl << h);
+		int vbr = rop(g, cbr << h);
+		int s = vb >> 2;
+		if (s >= 100) {
+			int sp10 = 10 * (s / 10);
+			int tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return appendDecimal(sb, upin ? sp10 : tp10, k);
+			}
+		}
+		int t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return appendDecimal(sb, uin ? s : t, k + dk);
+		}
+		int cmp = vb - (s + t << 1);
+		return appendDecimal(sb, cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk);
+	}
+
+	/*
+	 * Round to odd of g cp 2^-127 where g = g1 2^63 + g0.
+	 */
+	private static long rop(long g1, long g0, long cp) {
+		long x1 = multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+
+	/*
+	 * Round to odd of g cp 2^-95.
+	 */
+	private static int rop(long g, long cp) {
+		long x1 = multiplyHigh(g, cp);
+		long vbp = x1 >>> 31;
+		return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+	}
+
+	/*
+	 * High 64 bits of the 128-bit product (Math.multiplyHigh is not there in Java
+	 * 8).
+	 */
+	private static long multiplyHigh(long x, long y) {
+		long x1 = x >> 32, x2 = x & MASK_32;
+		long y1 = y >> 32, y2 = y & MASK_32;
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = (t & MASK_32) + x2 * y1;
+		long z0 = t >> 32;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	/*
+	 * floor(log10(2^e)), floor(log10(3/4 2^e)) and floor(log2(10^e)) for the
+	 * ranges of e used here.
+	 */
+	private static int flog10pow2(int e) {
+		return (int) (e * 661_971_961_083L >> 41);
+	}
+
+	private static int flog10threeQuartersPow2(int e) {
+		return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+
+	private static int flog2pow10(int e) {
+		return (int) (e * 913_124_641_741L >> 38);
+	}
+
+	/*
+	 * Append f 10^e (f > 0) in the layout of Double.toString(double).
+	 */
+	private static StringBuilder appendDecimal(StringBuilder sb, long f, int e) {
+		while (f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		int n = digits(f);
+		int exponent = e + n - 1;
+		if (exponent >= -3 && exponent < 7) {
+			if (exponent < 0) {
+				sb.append("0.");
+				zeros(sb, -exponent - 1);
+				return sb.append(f);
+			}
+			if (n <= exponent + 1) {
+				sb.append(f);
+				zeros(sb, exponent + 1 - n);
+				return sb.append(".0");
+			}
+			int fraction = n - exponent - 1;
+			sb.append(f / POW10[fraction]).append('.');
+			return appendPadded(sb, f % POW10[fraction], fraction);
+		}
+		sb.append(f / POW10[n - 1]).append('.');
+		if (n == 1) {
+			sb.append('0');
+		} else {
+			appendPadded(sb, f % POW10[n - 1], n - 1);
+		}
+		return sb.append('E').append(exponent);
+	}
+
+	private static StringBuilder appendPadded(StringBuilder sb, long value, int width) {
+		zeros(sb, width - digits(value));
+		return sb.append(value);
+	}
+
+	private static void zeros(StringBuilder sb, int count) {
+		for (int i = 0; i < count; i++) {
+			sb.append('0');
+		}
+	}
+
+	private static int digits(long value) {
+		int n = 1;
+		while (n < POW10.length && value >= POW10[n]) {
+			n++;
+		}
+		return n;
+	}
+}
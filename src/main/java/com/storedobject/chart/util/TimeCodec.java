@@ -0,0 +1,252 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion of date/time values to and from epoch milliseconds in a given time
+ * zone. "echarts" accepts epoch milliseconds natively on its "time" axis, so
+ * date/time data is sent in that form: it is smaller than the ISO string and
+ * the client-side does not need to parse it.
+ *
+ * <p>
+ * Every date/time value of a chart (data, axis limits, markers, zoom values
+ * etc.) is encoded with the {@link #UTC} codec and the chart is displayed in
+ * UTC ("useUTC" option of "echarts"). So, {@link LocalDateTime} and
+ * {@link LocalDate} values are displayed exactly as they are, irrespective of
+ * the time zones of the server and the browser, and {@link Date} values are
+ * displayed as UTC time.
+ * </p>
+ * <p>
+ * A codec is immutable and thus, can be shared between threads. The rules of
+ * its time zone are resolved only once when the codec is created and codecs are
+ * cached per time zone (See {@link #of(ZoneId)}).
+ * </p>
+ *
+ * @author Syam
+ */
+public final class TimeCodec {
+
+	private static final Map<ZoneId, TimeCodec> CODECS = new ConcurrentHashMap<>();
+
+	/**
+	 * Codec used for encoding all date/time values sent to the client-side.
+	 */
+	public static final TimeCodec UTC = of(ZoneOffset.UTC);
+
+	private final ZoneId zoneId;
+	private final ZoneRules rules;
+	private final ZoneOffset fixedOffset;
+	private final TriConsumer<StringBuilder, Object, Integer> dataEncoder = (sb, value, index) -> append(sb, value);
+
+	private TimeCodec(ZoneId zoneId) {
+		this.zoneId = zoneId;
+		this.rules = zoneId.getRules();
+		this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+	}
+
+	/**
+	 * Get the codec for the given time zone.
+	 *
+	 * @param zoneId Time zone.
+	 * @return Codec.
+	 */
+	public static TimeCodec of(ZoneId zoneId) {
+		return CODECS.computeIfAbsent(zoneId, TimeCodec::new);
+	}
+
+	/**
+	 * Get the codec for the default time zone of the system. (Date/time values
+	 * sent to the client-side are encoded with {@link #UTC}, not with this).
+	 *
+	 * @return Codec.
+	 */
+	public static TimeCodec systemDefault() {
+		return of(ZoneId.systemDefault());
+	}
+
+	/**
+	 * Get the time zone of this codec.
+	 *
+	 * @return Time zone.
+	 */
+	public ZoneId getZoneId() {
+		return zoneId;
+	}
+
+	/**
+	 * Get the data encoder that encodes date/time values as epoch milliseconds.
+	 * The same instance is returned every time.
+	 *
+	 * @return Data encoder.
+	 */
+	public TriConsumer<StringBuilder, Object, Integer> getDataEncoder() {
+		return dataEncoder;
+	}
+
+	/**
+	 * Append the given value as epoch milliseconds. Values that are not
+	 * date/time values are encoded as they are.
+	 *
+	 * @param sb    Append to this.
+	 * @param value Value to encode.
+	 * @return The string builder passed.
+	 */
+	public StringBuilder append(StringBuilder sb, Object value) {
+		if (value instanceof LocalDateTime) {
+			return sb.append(toEpochMilli((LocalDateTime) value));
+		}
+		if (value instanceof LocalDate) {
+			return sb.append(toEpochMilli((LocalDate) value));
+		}
+		if (value instanceof Date) {
+			return sb.append(((Date) value).getTime());
+		}
+		return JsonCodec.append(sb, value);
+	}
+
+	/**
+	 * Convert to epoch milliseconds.
+	 *
+	 * @param value Value to convert.
+	 * @return Epoch milliseconds.
+	 */
+	public long toEpochMilli(LocalDateTime value) {
+		ZoneOffset offset = fixedOffset != null ? fixedOffset : rules.getOffset(value);
+		return value.toEpochSecond(offset) * 1000L + value.getNano() / 1000_000;
+	}
+
+	/**
+	 * Convert to epoch milliseconds (start of the day).
+	 *
+	 * @param value Value to convert.
+	 * @return Epoch milliseconds.
+	 */
+	public long toEpochMilli(LocalDate value) {
+		return toEpochMilli(value.atStartOfDay());
+	}
+
+	/**
+	 * Convert any date/time value or number to epoch milliseconds.
+	 *
+	 * @param value Value to convert.
+	 * @return Epoch milliseconds or <code>null</code> if the value is not a
+	 *         date/time value or a number.
+	 */
+	public Long toEpochMilli(Object value) {
+		if (value instanceof LocalDateTime) {
+			return toEpochMilli((LocalDateTime) value);
+		}
+		if (value instanceof LocalDate) {
+			return toEpochMilli((LocalDate) value);
+		}
+		if (value instanceof Date) {
+			return ((Date) value).getTime();
+		}
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		return null;
+	}
+
+	/**
+	 * Check whether the offset of the time zone remains the same between two
+	 * date/time values, i.e., there is no transition (such as daylight saving)
+	 * in between.
+	 *
+	 * @param from One end of the range.
+	 * @param to   The other end of the range.
+	 * @return True if the offset doesn't change.
+	 */
+	public boolean hasConstantOffset(LocalDateTime from, LocalDateTime to) {
+		if (fixedOffset != null) {
+			return true;
+		}
+		if (from.isAfter(to)) {
+			LocalDateTime t = from;
+			from = to;
+			to = t;
+		}
+		ZoneOffsetTransition transition = rules.nextTransition(from.toInstant(rules.getOffset(from)));
+		return transition == null || transition.getInstant().toEpochMilli() > toEpochMilli(to);
+	}
+
+	/**
+	 * Convert epoch milliseconds to a date/time value.
+	 *
+	 * @param epochMilli Epoch milliseconds.
+	 * @return Date/time.
+	 */
+	public LocalDateTime toLocalDateTime(long epochMilli) {
+		Instant instant = Instant.ofEpochMilli(epochMilli);
+		ZoneOffset offset = fixedOffset != null ? fixedOffset : rules.getOffset(instant);
+		return LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), offset);
+	}
+
+	/**
+	 * Convert epoch milliseconds to a date value.
+	 *
+	 * @param epochMilli Epoch milliseconds.
+	 * @return Date.
+	 */
+	public LocalDate toLocalDate(long epochMilli) {
+		return toLocalDateTime(epochMilli).toLocalDate();
+	}
+
+	/**
+	 * Convert a date/time value to {@link Date}.
+	 *
+	 * @param value Value to convert.
+	 * @return Date.
+	 */
+	public Date toDate(LocalDateTime value) {
+		return new Date(toEpochMilli(value));
+	}
+
+	/**
+	 * Convert a date value to {@link Date} (start of the day).
+	 *
+	 * @param value Value to convert.
+	 * @return Date.
+	 */
+	public Date toDate(LocalDate value) {
+		return new Date(toEpochMilli(value));
+	}
+
+	/**
+	 * Format the given date as an ISO-8601 UTC instant, for example,
+	 * "2020-03-01T10:15:30.250Z". (Thread-safe).
+	 *
+	 * @param date Date to format.
+	 * @return Formatted string.
+	 */
+	public static String format(Date date) {
+		return DateTimeFormatter.ISO_INSTANT.format(date.toInstant());
+	}
+}
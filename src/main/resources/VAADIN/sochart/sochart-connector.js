@@ -2,8 +2,23 @@ window.com_storedobject_chart_SOChart = function() {
 	// Create the component
 	var sochart = new sochartLib.SOChart(this);
 
-	// Handle changes from the server-side
+	// Handle changes to the size and the id
 	this.onStateChange = function() {
-		sochart.updateChart();
+		sochart.updateState();
+	};
+
+	// Handle the option sent from the server-side
+	this.updateChart = function(option, notMerge, compressed) {
+		sochart.updateChart(option, notMerge, compressed);
+	};
+
+	// Handle values appended to the data
+	this.appendData = function(tail) {
+		sochart.appendData(tail);
+	};
+
+	// Handle the child nodes sent for an expanded tree node
+	this.expandTree = function(expansion) {
+		sochart.expandTree(expansion);
 	};
 };
\ No newline at end of file
@@ -0,0 +1,177 @@
+// Define the namespace
+var sochartLib = sochartLib || {};
+
+// Inflate zlib (RFC 1950) compressed bytes. This is used only when the browser
+// doesn't support DecompressionStream.
+sochartLib.inflate = (function() {
+  var LENGTH_BASE = [3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115,
+    131, 163, 195, 227, 258];
+  var LENGTH_EXTRA = [0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0];
+  var DISTANCE_BASE = [1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537,
+    2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577];
+  var DISTANCE_EXTRA = [0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12,
+    13, 13];
+  var LENGTH_ORDER = [16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15];
+
+  // Canonical Huffman code: number of codes of each length and the symbols in
+  // the order of their codes
+  function Huffman(lengths) {
+    this.counts = new Uint16Array(16);
+    this.symbols = new Uint16Array(lengths.length);
+    for (var i = 0; i < lengths.length; i++) {
+      this.counts[lengths[i]]++;
+    }
+    this.counts[0] = 0;
+    var offsets = new Uint16Array(16);
+    for (var i = 1; i < 16; i++) {
+      offsets[i] = offsets[i - 1] + this.counts[i - 1];
+    }
+    for (var i = 0; i < lengths.length; i++) {
+      if (lengths[i] > 0) {
+        this.symbols[offsets[lengths[i]]++] = i;
+      }
+    }
+  }
+
+  var fixedLiterals, fixedDistances;
+
+  function fixedCodes() {
+    if (!fixedLiterals) {
+      var lengths = new Uint8Array(288);
+      lengths.fill(8, 0, 144);
+      lengths.fill(9, 144, 256);
+      lengths.fill(7, 256, 280);
+      lengths.fill(8, 280, 288);
+      fixedLiterals = new Huffman(lengths);
+      fixedDistances = new Huffman(new Uint8Array(30).fill(5));
+    }
+  }
+
+  return function(data) {
+    if ((data[0] & 0x0f) != 8) {
+      throw new Error("Not a deflate stream");
+    }
+    var position = data[1] & 0x20 ? 6 : 2;
+    var bitBuffer = 0, bitCount = 0;
+    var out = new Uint8Array(Math.max(1024, data.length * 8)), length = 0;
+
+    function bits(count) {
+      while (bitCount < count) {
+        if (position >= data.length) {
+          throw new Error("Unexpected end of the deflate stream");
+        }
+        bitBuffer |= data[position++] << bitCount;
+        bitCount += 8;
+      }
+      var value = bitBuffer & ((1 << count) - 1);
+      bitBuffer >>>= count;
+      bitCount -= count;
+      return value;
+    }
+
+    function decode(huffman) {
+      var code = 0, first = 0, index = 0;
+      for (var bitLength = 1; bitLength < 16; bitLength++) {
+        code |= bits(1);
+        var count = huffman.counts[bitLength];
+        if (code - count < first) {
+          return huffman.symbols[index + code - first];
+        }
+        index += count;
+        first = (first + count) << 1;
+        code <<= 1;
+      }
+      throw new Error("Invalid Huffman code");
+    }
+
+    function ensure(count) {
+      if (length + count > out.length) {
+        var grown = new Uint8Array(Math.max(out.length * 2, length + count));
+        grown.set(out.subarray(0, length));
+        out = grown;
+      }
+    }
+
+    function dynamicCodes() {
+      var literalCount = bits(5) + 257, distanceCount = bits(5) + 1, lengthCount = bits(4) + 4;
+      var lengths = new Uint8Array(19);
+      for (var i = 0; i < lengthCount; i++) {
+        lengths[LENGTH_ORDER[i]] = bits(3);
+      }
+      var lengthCode = new Huffman(lengths);
+      lengths = new Uint8Array(literalCount + distanceCount);
+      for (var i = 0; i < lengths.length;) {
+        var symbol = decode(lengthCode);
+        if (symbol < 16) {
+          lengths[i++] = symbol;
+          continue;
+        }
+        var previous = 0, repeat;
+        if (symbol == 16) {
+          if (i == 0) {
+            throw new Error("Invalid code lengths");
+          }
+          previous = lengths[i - 1];
+          repeat = 3 + bits(2);
+        } else {
+          repeat = symbol == 17 ? 3 + bits(3) : 11 + bits(7);
+        }
+        if (i + repeat > lengths.length) {
+          throw new Error("Invalid code lengths");
+        }
+        lengths.fill(previous, i, i + repeat);
+        i += repeat;
+      }
+      return [new Huffman(lengths.subarray(0, literalCount)), new Huffman(lengths.subarray(literalCount))];
+    }
+
+    function codes(literals, distances) {
+      for (;;) {
+        var symbol = decode(literals);
+        if (symbol < 256) {
+          ensure(1);
+          out[length++] = symbol;
+        } else if (symbol == 256) {
+          return;
+        } else {
+          symbol -= 257;
+          var count = LENGTH_BASE[symbol] + bits(LENGTH_EXTRA[symbol]);
+          symbol = decode(distances);
+          var distance = DISTANCE_BASE[symbol] + bits(DISTANCE_EXTRA[symbol]);
+          if (distance > length) {
+            throw new Error("Invalid distance");
+          }
+          ensure(count);
+          for (var i = 0; i < count; i++, length++) {
+            out[length] = out[length - distance];
+          }
+        }
+      }
+    }
+
+    var last;
+    do {
+      last = bits(1);
+      var type = bits(2);
+      if (type == 0) {
+        // Stored block, starts at the next byte
+        bitBuffer = bitCount = 0;
+        var count = data[position] | (data[position + 1] << 8);
+        position += 4;
+        ensure(count);
+        out.set(data.subarray(position, position + count), length);
+        position += count;
+        length += count;
+      } else if (type == 1) {
+        fixedCodes();
+        codes(fixedLiterals, fixedDistances);
+      } else if (type == 2) {
+        var dynamic = dynamicCodes();
+        codes(dynamic[0], dynamic[1]);
+      } else {
+        throw new Error("Invalid block type");
+      }
+    } while (!last);
+    return out.subarray(0, length);
+  };
+})();
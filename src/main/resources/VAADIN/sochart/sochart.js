@@ -8,6 +8,9 @@ var themeEC4 = {
   ]
 };
 
+// Compiled functions (shared by all the charts) keyed by their sources
+sochartLib.functions = sochartLib.functions || new Map();
+
 sochartLib.SOChart = function(connector) {
   rootElement = connector.getElement();
   rootElement.innerHTML = "<div id='' class='sochart' " +
@@ -18,32 +21,225 @@ sochartLib.SOChart = function(connector) {
     return rootElement.getElementsByClassName("sochart")[0];
   }
 
-  this.updateChart = function() {
-    var state = connector.getState();
-    var option = state.option;
+  this.updateState = function() {
+    updateIdAndStyle(this.chartElement(), connector.getState());
+    if (this.chart && this.chart != null) {
+      this.chart.resize();
+    }
+  }
+
+  // Calls from the server-side are handled in order: the calls received while
+  // a compressed option is being inflated wait for it
+  var pending = null;
+  function inOrder(task, wait) {
+    if (pending == null && !wait) {
+      task();
+      return;
+    }
+    var current = pending = (pending || Promise.resolve()).then(task)
+      .catch(error => console.error(error))
+      .then(() => {
+        if (pending === current)
+          pending = null;
+      });
+  }
+
+  this.updateChart = function(option, notMerge, compressed) {
+    if (compressed) {
+      var inflated = inflateOption(option);
+      inOrder(() => inflated.then(json => updateChart.call(this, json, notMerge)), true);
+    } else {
+      inOrder(() => updateChart.call(this, option, notMerge));
+    }
+  }
+
+  this.appendData = function(tail) {
+    inOrder(() => appendData.call(this, tail));
+  }
+
+  this.expandTree = function(expansion) {
+    inOrder(() => expandTree.call(this, expansion));
+  }
+
+  function updateChart(option, notMerge) {
     if (!option || option.length == 0)
       return;
 
     var chartElement = this.chartElement();
 
+    var state = connector.getState();
     updateIdAndStyle(chartElement, state);
 
+    // A chart can not switch its renderer, it is created again when the whole
+    // option is sent with different rendering properties
+    var init = initOptions(state);
+    if (this.chart && this.chart != null && notMerge && JSON.stringify(init) !== this.init) {
+      this.chart.dispose();
+      this.chart = null;
+    }
+
     if (!this.chart || this.chart == null) {
-      this.chart = echarts.init(chartElement, themeEC4);
+      this.chart = echarts.init(chartElement, themeEC4, init);
+      this.init = JSON.stringify(init);
 
       this.chart.on('click', params => {
+        // Child nodes of a lazy tree (or treemap) node are loaded when it is expanded
+        if ((params.seriesType === "tree" || params.seriesType === "treemap") && params.data && params.data.lazy) {
+          connector.onTreeExpand(String(params.seriesId), params.data.lazy);
+        }
         connector.onClick(toEventData(params));
       });
 
-      connector.addResizeListener(rootElement, event => {
-        this.chart.resize();
+      var zoomTimer;
+      this.chart.on('datazoom', params => {
+        var properties = connector.getState().properties;
+        if (!properties || !properties.zoomEvents)
+          return;
+
+        var id = params.dataZoomId;
+        if (!id && params.batch && params.batch.length > 0) {
+          id = params.batch[0].dataZoomId;
+        }
+        // Report only when the zooming is over
+        clearTimeout(zoomTimer);
+        zoomTimer = setTimeout(() => {
+          var zoom = (this.chart.getOption().dataZoom || []).find(dz => !id || dz.id == id);
+          if (zoom && typeof zoom.startValue === "number" && typeof zoom.endValue === "number") {
+            connector.onDataZoom(String(zoom.id), zoom.startValue, zoom.endValue);
+          }
+        }, 250);
+      });
+
+      if (!this.resizing) {
+        connector.addResizeListener(rootElement, event => {
+          this.chart.resize();
+        });
+        this.resizing = true;
+      }
+    }
+
+    var parsed = parseOption(option);
+    retain(parsed, notMerge);
+    this.chart.setOption(parsed, notMerge);
+  }
+
+  function appendData(tail) {
+    if (!this.chart || this.chart == null)
+      return;
+
+    // Add the appended values to the retained data (echarts "appendData" can
+    // not be used since it doesn't support dataset). Only the tail is received
+    // and pushed in place, but setOption() makes echarts process the whole
+    // column (or series data) again, so a tick still costs O(retained points)
+    // at the client-side.
+    var append = parseOption(tail);
+    var update = {};
+    if (append.dataset && retained.source) {
+      for (var name in append.dataset) {
+        retained.source[name] = addAll(retained.source[name], append.dataset[name]);
+      }
+      update.dataset = { source: retained.source };
+    }
+    if (append.series) {
+      update.series = append.series.map(appended => {
+        retained.series[appended.id] = addAll(retained.series[appended.id], appended.data);
+        return { id: appended.id, data: retained.series[appended.id] };
       });
     }
+    this.chart.setOption(update, false);
+  }
 
-    var jsOption = parseOption(option);
-    //		console.log(jsOption);
-    eval(jsOption);
-    this.chart.setOption(option, state.notMerge);
+  // The data columns and the series data as they were sent, values are appended
+  // to these (getOption() would clone the whole option for every append)
+  var retained = { source: null, series: {} };
+
+  function retain(option, notMerge) {
+    if (notMerge) {
+      retained = { source: null, series: {} };
+    }
+    if (option.dataset && option.dataset.source) {
+      if (!notMerge && retained.source) {
+        // A patch carries only the columns that are changed
+        option.dataset.source = Object.assign(retained.source, option.dataset.source);
+      }
+      retained.source = option.dataset.source;
+    }
+    (option.series || []).forEach(series => {
+      if (series.id !== undefined && series.data) {
+        retained.series[series.id] = series.data;
+      }
+    });
+  }
+
+  function addAll(values, appended) {
+    if (!values) {
+      values = [];
+    } else if (!Array.isArray(values)) {
+      // Typed array (binary encoded)
+      values = Array.from(values);
+    }
+    for (var i = 0; i < appended.length; i++) {
+      values.push(appended[i]);
+    }
+    return values;
+  }
+
+  function expandTree(expansion) {
+    if (!this.chart || this.chart == null)
+      return;
+
+    // Replace the placeholder children of the node with the ones received
+    var expand = parseOption(expansion);
+    var option = this.chart.getOption();
+    var series = (option.series || []).find(current => current.id == expand.id);
+    if (!series || !series.data)
+      return;
+    var nodes = findLazy(series.data, expand.path);
+    if (!nodes)
+      return;
+    var node = nodes[nodes.length - 1];
+    if (series.type === "tree") {
+      nodes.forEach(n => n.collapsed = false);
+    }
+    node.children = expand.children;
+    delete node.lazy;
+    this.chart.setOption({ series: [{ id: series.id, data: series.data }] }, false);
+    if (series.type === "treemap") {
+      // Replacing the data resets the drill-down
+      this.chart.dispatchAction({ type: "treemapZoomToNode", seriesId: series.id, targetNodeId: node.id });
+    }
+  }
+
+  // Find the node with the given lazy marker, returns the node along with its ancestors
+  function findLazy(nodes, path) {
+    for (var i = 0; i < nodes.length; i++) {
+      var node = nodes[i];
+      if (node.lazy === path)
+        return [node];
+      var found = node.children ? findLazy(node.children, path) : null;
+      if (found) {
+        found.unshift(node);
+        return found;
+      }
+    }
+    return null;
+  }
+
+  function initOptions(state) {
+    var init = {};
+    var properties = state.properties;
+    if (properties) {
+      if (properties.renderer) {
+        init.renderer = properties.renderer;
+      }
+      if (properties.dirtyRect) {
+        init.useDirtyRect = true;
+      }
+      if (properties.dpr > 0) {
+        init.devicePixelRatio = properties.dpr;
+      }
+    }
+    return init;
   }
 
   function updateIdAndStyle(chartElement, state) {
@@ -75,28 +271,99 @@ sochartLib.SOChart = function(connector) {
   }
 
   function parseOption(option) {
-    var json = JSON.parse(option);
-    var keyVarMap = new Map();
-    var js = "";
-    for (var key in json) {
-      var functionPrefix = "@function@";
-      if (!key.startsWith(functionPrefix))
-        continue;
-
-      var varName = key.substring(functionPrefix.length) + "Function";
-      js += "var " + varName + " = " + json[key] + ";\n";
-      keyVarMap.set(key, varName);
-      delete json[key];
-    }
-
-    option = JSON.stringify(json);
-    keyVarMap.forEach(function(varName, key) {
-      option = option.replace("\"" + key + "\"", varName);
+    var functionPrefix = "@function@";
+    var binaryPrefix = "@binary@";
+    var sequencePrefix = "@sequence@";
+    return JSON.parse(option, function(key, value) {
+      if (typeof value === "string") {
+        if (value.startsWith(functionPrefix)) {
+          return compileFunction(value.substring(functionPrefix.length));
+        }
+        if (value.startsWith(binaryPrefix)) {
+          return decodeBinary(value.substring(binaryPrefix.length));
+        }
+        if (value.startsWith(sequencePrefix)) {
+          return decodeSequence(value.substring(sequencePrefix.length));
+        }
+      }
+      return value;
     });
+  }
+
+  // Compile the source of a function, only once for every distinct source (the
+  // same functions are typically sent again with every update)
+  function compileFunction(source) {
+    var compiled = sochartLib.functions.get(source);
+    if (!compiled) {
+      compiled = new Function("return (" + source + ");")();
+      sochartLib.functions.set(source, compiled);
+    }
+    return compiled;
+  }
 
-    return js + "\n" + "option = " + option;
+  // Expand "start:step:count" to the values of the sequence
+  function decodeSequence(encoded) {
+    var parts = encoded.split(":");
+    var start = Number(parts[0]), step = Number(parts[1]);
+    var values = new Array(Number(parts[2]));
+    for (var i = 0; i < values.length; i++) {
+      values[i] = start + i * step;
+    }
+    return values;
   }
 
+  // Inflate "base64" of a zlib compressed option (the bundled inflater is used
+  // if the browser doesn't support DecompressionStream)
+  function inflateOption(encoded) {
+    var bytes = atob(encoded);
+    var buffer = new Uint8Array(bytes.length);
+    for (var i = 0; i < bytes.length; i++) {
+      buffer[i] = bytes.charCodeAt(i);
+    }
+    if (typeof DecompressionStream === "function") {
+      var stream = new Blob([buffer]).stream().pipeThrough(new DecompressionStream("deflate"));
+      return new Response(stream).text();
+    }
+    return Promise.resolve(new TextDecoder().decode(sochartLib.inflate(buffer)));
+  }
+
+  // Decode "type:base64" of little-endian int32/float32/float64 values into a typed array
+  function decodeBinary(encoded) {
+    var colon = encoded.indexOf(":");
+    var type = encoded.substring(0, colon);
+    var bytes = atob(encoded.substring(colon + 1));
+    // A new buffer is aligned for any of the typed arrays
+    var buffer = new ArrayBuffer(bytes.length);
+    var octets = new Uint8Array(buffer);
+    for (var i = 0; i < bytes.length; i++) {
+      octets[i] = bytes.charCodeAt(i);
+    }
+    if (littleEndian) {
+      if (type === "int32") {
+        return new Int32Array(buffer);
+      }
+      return type === "float32" ? new Float32Array(buffer) : new Float64Array(buffer);
+    }
+    var view = new DataView(buffer);
+    var size = type === "float64" ? 8 : 4;
+    var values = type === "int32" ? new Int32Array(bytes.length / size)
+      : (type === "float32" ? new Float32Array(bytes.length / size) : new Float64Array(bytes.length / size));
+    for (var i = 0; i < values.length; i++) {
+      var offset = i * size;
+      if (type === "int32") {
+        values[i] = view.getInt32(offset, true);
+      } else if (type === "float32") {
+        values[i] = view.getFloat32(offset, true);
+      } else {
+        values[i] = view.getFloat64(offset, true);
+      }
+    }
+    return values;
+  }
+
+  // Typed arrays use the byte order of the platform
+  var littleEndian = new Uint8Array(new Uint16Array([1]).buffer)[0] == 1;
+
   function toEventData(params) {
     var eventData = {};
     var keys = ['componentType', 'seriesType', 'seriesIndex', 'seriesName', 'name', 'dataIndex', 'data', 'dataType', 'value', 'color'];
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the points kept by {@link Downsampled}.
+ *
+ * @author Syam
+ */
+public class DownsampledTest {
+
+	private static final int POINTS = 10000;
+
+	@Test
+	public void lttbKeepsFirstAndLastPoints() {
+		DoubleData x = positions(POINTS), y = randomWalk(POINTS);
+		Downsampled<Number> sampled = Downsampled.lttb(x, y, 100);
+		List<Number> xs = values(sampled.getX().stream()), ys = values(sampled.getY().stream());
+		assertEquals(0.0, xs.get(0).doubleValue());
+		assertEquals(y.get(0), ys.get(0).doubleValue());
+		assertEquals(POINTS - 1.0, xs.get(xs.size() - 1).doubleValue());
+		assertEquals(y.get(POINTS - 1), ys.get(ys.size() - 1).doubleValue());
+	}
+
+	@Test
+	public void lttbKeepsThresholdPoints() {
+		DoubleData x = positions(POINTS), y = randomWalk(POINTS);
+		for (int threshold : new int[] { 3, 100, 999, POINTS - 1 }) {
+			Downsampled<Number> sampled = Downsampled.lttb(x, y, threshold);
+			assertEquals(threshold, values(sampled.getX().stream()).size());
+			assertEquals(threshold, values(sampled.getY().stream()).size());
+		}
+	}
+
+	@Test
+	public void m4KeepsMinimumAndMaximumOfEachColumn() {
+		int width = 50;
+		DoubleData x = positions(POINTS), y = randomWalk(POINTS);
+		Downsampled<Number> sampled = Downsampled.m4(x, y, width);
+		List<Number> xs = values(sampled.getX().stream()), ys = values(sampled.getY().stream());
+		assertTrue(xs.size() <= 4 * width, "Points kept: " + xs.size());
+		double scale = width / (POINTS - 1.0);
+		for (int column = 0; column < width; column++) {
+			double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < POINTS; i++) {
+				if (column(i, scale, width) == column) {
+					min = Math.min(min, y.get(i));
+					max = Math.max(max, y.get(i));
+				}
+			}
+			boolean minKept = false, maxKept = false;
+			for (int i = 0; i < xs.size(); i++) {
+				if (column(xs.get(i).doubleValue(), scale, width) == column) {
+					minKept |= ys.get(i).doubleValue() == min;
+					maxKept |= ys.get(i).doubleValue() == max;
+				}
+			}
+			assertTrue(minKept, "Minimum of column " + column);
+			assertTrue(maxKept, "Maximum of column " + column);
+		}
+	}
+
+	@Test
+	public void shortInputPassesThrough() {
+		DoubleData x = positions(50), y = randomWalk(50);
+		assertUnchanged(x, y, Downsampled.lttb(x, y, 100));
+		assertUnchanged(x, y, Downsampled.m4(x, y, 100));
+	}
+
+	@Test
+	public void unknownSizeIsSampledAgainOnlyOnRefresh() {
+		DoubleData x = positions(POINTS), values = randomWalk(POINTS);
+		DataProvider y = values::stream; // Size not known
+		Downsampled<Number> sampled = Downsampled.lttb(x, y, 100);
+		double last = values(sampled.getY().stream()).get(99).doubleValue();
+		values.set(POINTS - 1, last + 1);
+		assertEquals(last, values(sampled.getY().stream()).get(99).doubleValue());
+		sampled.refresh();
+		assertEquals(last + 1, values(sampled.getY().stream()).get(99).doubleValue());
+	}
+
+	private static void assertUnchanged(DoubleData x, DoubleData y, Downsampled<Number> sampled) {
+		assertEquals(values(x.stream()), values(sampled.getX().stream()));
+		assertEquals(values(y.stream()), values(sampled.getY().stream()));
+	}
+
+	private static int column(double x, double scale, int width) {
+		return Math.min((int) (x * scale), width - 1);
+	}
+
+	private static List<Number> values(Stream<? extends Number> stream) {
+		return stream.map(Number::doubleValue).collect(Collectors.toList());
+	}
+
+	private static DoubleData positions(int n) {
+		DoubleData data = new DoubleData();
+		for (int i = 0; i < n; i++) {
+			data.add(i);
+		}
+		return data;
+	}
+
+	private static DoubleData randomWalk(int n) {
+		Random random = new Random(7);
+		DoubleData data = new DoubleData();
+		double value = 0;
+		for (int i = 0; i < n; i++) {
+			value += random.nextGaussian();
+			data.add(value);
+		}
+		return data;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.storedobject.chart.encoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the "merge patch" built by {@link OptionFragments}. The options are
+ * written here the way the {@link ComponentEncoder}s write them.
+ *
+ * @author Syam
+ */
+public class OptionFragmentsTest {
+
+	@Test
+	public void changedTitleGivesOneMemberPatch() {
+		Option previous = new Option().member("title", new long[] { 1, 2 }, "{\"id\":1,\"text\":\"A\"}",
+				"{\"id\":2,\"text\":\"B\"}").member("legend", new long[] { 3 }, "{\"id\":3,\"show\":true}");
+		Option current = new Option().member("title", new long[] { 1, 2 }, "{\"id\":1,\"text\":\"A\"}",
+				"{\"id\":2,\"text\":\"C\"}").member("legend", new long[] { 3 }, "{\"id\":3,\"show\":true}");
+		assertEquals("{\"title\":[{\"id\":2,\"text\":\"C\"}]}", current.patch(previous, false));
+	}
+
+	@Test
+	public void unchangedOptionGivesEmptyPatch() {
+		Option previous = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\"}");
+		Option current = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\"}");
+		assertEquals("{}", current.patch(previous, false));
+	}
+
+	@Test
+	public void removedKeyFallsBackToFullUpdate() {
+		Option previous = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\",\"left\":10}");
+		Option current = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\"}");
+		assertNull(current.patch(previous, false));
+	}
+
+	@Test
+	public void removedMemberFallsBackToFullUpdate() {
+		Option previous = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\"}")
+				.member("legend", new long[] { 2 }, "{\"id\":2,\"show\":true}");
+		Option current = new Option().member("title", new long[] { 1 }, "{\"id\":1,\"text\":\"A\"}");
+		assertNull(current.patch(previous, false));
+	}
+
+	@Test
+	public void partWithoutIdResendsWholeMember() {
+		Option previous = new Option().member("xAxis", new long[] { 0, 0 }, "{\"type\":\"value\"}",
+				"{\"type\":\"category\"}");
+		Option current = new Option().member("xAxis", new long[] { 0, 0 }, "{\"type\":\"value\"}",
+				"{\"type\":\"time\"}");
+		assertEquals("{\"xAxis\":[{\"type\":\"value\"},{\"type\":\"time\"}]}", current.patch(previous, false));
+	}
+
+	@Test
+	public void dataKeysAreSkippedWhileSkippingData() {
+		Option previous = new Option().member("series", new long[] { 1 }, "{\"id\":1,\"type\":\"line\",\"data\":[1,2]}")
+				.member("dataset", new long[] { 0 }, "{\"source\":{\"d0\":[1,2]}}");
+		Option current = new Option().member("series", new long[] { 1 }, "{\"id\":1,\"type\":\"bar\"}");
+		assertEquals("{\"series\":[{\"id\":1,\"type\":\"bar\"}]}", current.patch(previous, true));
+		assertNull(current.patch(previous, false));
+	}
+
+	@Test
+	public void changedColumnIsPatchedAlone() {
+		Option previous = new Option().keyed("dataset", "source", "\"d0\":[1,2]", "\"d1\":[3,4]");
+		Option current = new Option().keyed("dataset", "source", "\"d0\":[1,2]", "\"d1\":[5,6]");
+		assertEquals("{\"dataset\":{\"source\":{\"d1\":[5,6]}}}", current.patch(previous, false));
+	}
+
+	@Test
+	public void removedColumnFallsBackToFullUpdate() {
+		Option previous = new Option().keyed("dataset", "source", "\"d0\":[1,2]", "\"d1\":[3,4]");
+		Option current = new Option().keyed("dataset", "source", "\"d0\":[1,2]");
+		assertNull(current.patch(previous, false));
+	}
+
+	private static class Option {
+
+		private final StringBuilder sb = new StringBuilder("{");
+		private final OptionFragments fragments = new OptionFragments();
+
+		Option member(String label, long[] ids, String... parts) {
+			comma();
+			fragments.beginMember(label, sb.length());
+			sb.append('"').append(label).append("\":");
+			if (parts.length > 1) {
+				sb.append('[');
+			}
+			for (int i = 0; i < parts.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				int start = sb.length();
+				sb.append(parts[i]);
+				fragments.part(ids[i], sb, start);
+			}
+			if (parts.length > 1) {
+				sb.append(']');
+			}
+			fragments.endMember(sb);
+			return this;
+		}
+
+		Option keyed(String label, String path, String... parts) {
+			comma();
+			fragments.beginMember(label, sb.length(), path);
+			sb.append('"').append(label).append("\":{\"").append(path).append("\":{");
+			for (int i = 0; i < parts.length; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				int start = sb.length();
+				sb.append(parts[i]);
+				fragments.part(-1, sb, start);
+			}
+			sb.append("}}");
+			fragments.endMember(sb);
+			return this;
+		}
+
+		String patch(Option previous, boolean skippingData) {
+			return fragments.patch(previous.fragments, sb + "}", skippingData);
+		}
+
+		private void comma() {
+			if (sb.length() > 1) {
+				sb.append(',');
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.jupiter.api.Test;
+
+import com.storedobject.chart.component.Title;
+import com.storedobject.chart.coordinate_system.Position;
+
+/**
+ * Allocation harness for the steady-state rendering of component properties.
+ * The same properties are encoded repeatedly into a reused buffer and the bytes
+ * allocated by the thread are measured per render.
+ *
+ * @author Syam
+ */
+public class ComponentPropertiesAllocationTest {
+
+	private static final int WARM_UP = 20000, RENDERS = 10000;
+
+	private static class ItemStyle extends BaseComponentProperty {
+
+		ItemStyle() {
+			super("itemStyle");
+		}
+
+		@Override
+		protected void buildProperties() {
+			super.buildProperties();
+
+			property("color", "#333");
+			property("borderWidth", 1);
+		}
+	}
+
+	private static class Series extends AbstractComponentProperty {
+
+		private final ItemStyle itemStyle = new ItemStyle();
+
+		@Override
+		protected void buildProperties() {
+			super.buildProperties();
+
+			property("name", "Series");
+			property("z", 2);
+			property("smooth", true);
+			property(itemStyle);
+		}
+	}
+
+	@Test
+	public void propertiesRenderWithoutGarbage() {
+		long bytes = allocatedBytesPerRender(new Series());
+		assertTrue(bytes < 64, "Bytes allocated per render: " + bytes);
+	}
+
+	@Test
+	public void titleRendersWithoutGarbage() {
+		Title title = new Title("Sales");
+		title.setSubtext("2020");
+		Position position = new Position();
+		position.setLeft(Size.percentage(10));
+		position.setTop(Size.pixels(5));
+		title.setPosition(position);
+		TextStyle textStyle = new TextStyle();
+		textStyle.setFontSize(14);
+		textStyle.setFontFamily("Arial");
+		title.setTextStyle(textStyle);
+		title.encodeJSON(new StringBuilder());
+		long modification = title.getModification();
+		long bytes = allocatedBytesPerRender(title);
+		assertTrue(bytes < 64, "Bytes allocated per render: " + bytes);
+		// Rendering is not a modification (the encoded fragment can be reused)
+		assertEquals(modification, title.getModification());
+	}
+
+	private static long allocatedBytesPerRender(ComponentProperty property) {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < WARM_UP; i++) {
+			sb.setLength(0);
+			property.encodeJSON(sb);
+		}
+		long thread = Thread.currentThread().getId();
+		long allocated = threadBean.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < RENDERS; i++) {
+			sb.setLength(0);
+			property.encodeJSON(sb);
+		}
+		return (threadBean.getThreadAllocatedBytes(thread) - allocated) / RENDERS;
+	}
+}
@@ -0,0 +1,244 @@
+/*
+ *  Copyright 2019-2020 Syam Pillai
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.storedobject.chart.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.storedobject.chart.property.EscapeString;
+import com.storedobject.chart.property.JSFunction;
+
+/**
+ * JMH comparison of {@link JsonCodec} with the string based escaping that was
+ * used earlier by {@link ComponentPropertyUtil#escape(Object)} (kept here as
+ * {@link #escape(Object)}). Data points are encoded the way the data encoders
+ * do it: one value at a time into a shared buffer.
+ *
+ * <p>
+ * Run with: <code>mvn -Pjmh test-compile exec:exec
+ * -Djmh.args=JsonCodecBenchmark</code> (use
+ * <code>-Djmh.args="JsonCodecBenchmark -prof gc"</code> to see the allocation
+ * rate too).
+ * </p>
+ *
+ * @author Syam
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+	private static final int POINTS = 10000;
+
+	private final StringBuilder sb = new StringBuilder();
+	private Double[] doubles;
+	private Integer[] integers;
+	private String[] strings;
+	private double[] primitives;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(1);
+		doubles = new Double[POINTS];
+		integers = new Integer[POINTS];
+		strings = new String[POINTS];
+		primitives = new double[POINTS];
+		for (int i = 0; i < POINTS; i++) {
+			primitives[i] = Math.round(random.nextGaussian() * 100000) / 100.0;
+			doubles[i] = primitives[i];
+			integers[i] = random.nextInt(1000000);
+			strings[i] = "Item \"" + i + "\"\tof\\the\nseries";
+		}
+	}
+
+	@Benchmark
+	public int escapeDoubles() {
+		sb.setLength(0);
+		for (Double value : doubles) {
+			sb.append(escape(value)).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int codecDoubles() {
+		sb.setLength(0);
+		for (Double value : doubles) {
+			JsonCodec.append(sb, value).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int escapeIntegers() {
+		sb.setLength(0);
+		for (Integer value : integers) {
+			sb.append(escape(value)).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int codecIntegers() {
+		sb.setLength(0);
+		for (Integer value : integers) {
+			JsonCodec.append(sb, value).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int escapeStrings() {
+		sb.setLength(0);
+		for (String value : strings) {
+			sb.append(escape(value)).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int codecStrings() {
+		sb.setLength(0);
+		for (String value : strings) {
+			JsonCodec.append(sb, value).append(',');
+		}
+		return sb.length();
+	}
+
+	@Benchmark
+	public int escapePrimitiveArray() {
+		sb.setLength(0);
+		return sb.append(escape(primitives)).length();
+	}
+
+	@Benchmark
+	public int codecPrimitiveArray() {
+		sb.setLength(0);
+		return JsonCodec.append(sb, primitives).length();
+	}
+
+	/**
+	 * The earlier implementation of {@link ComponentPropertyUtil#escape(Object)}
+	 * (without the handling of dates that is not measured here).
+	 *
+	 * @param any Anything to encode.
+	 * @return Encoded string.
+	 */
+	static String escape(Object any) {
+		if (any.getClass().isArray()) {
+			any = Arrays.asList(ComponentPropertyUtil.toObjectArray(any));
+		}
+		if (any instanceof Iterable) {
+			StringBuilder sb = new StringBuilder();
+			Iterable<?> iter = (Iterable<?>) any;
+			int size;
+			if (iter instanceof Collection) {
+				size = ((Collection<?>) iter).size();
+			} else {
+				size = (int) iter.spliterator().getExactSizeIfKnown();
+			}
+
+			if (size > 1) {
+				sb.append("[");
+				boolean first = true;
+				for (Object obj : iter) {
+					if (first) {
+						first = false;
+					} else {
+						sb.append(',');
+					}
+					sb.append(escape(obj));
+				}
+				sb.append("]");
+				return sb.toString();
+
+			} else if (size == 1) {
+				any = iter.iterator().next();
+
+			} else {
+				any = null;
+			}
+		}
+
+		if (any instanceof Number || any instanceof Boolean //
+				|| any instanceof StringBuilder //
+				|| any instanceof EscapeString) {
+			return any.toString();
+		}
+
+		String string = any != null ? any.toString() : null;
+		if (string == null) {
+			string = "";
+		}
+		if (string.length() > 1 && string.startsWith("\"") && string.endsWith("\"")) {
+			return string; // Special case - already encoded.
+		}
+		if (JSFunction.isFunction(string)) {
+			return new JSFunction(string).toString();
+		}
+		return quote(string);
+	}
+
+	private static String quote(String string) {
+		StringBuilder sb = new StringBuilder(string.length() + 2);
+		sb.append('"');
+		char c;
+		for (int i = 0; i < string.length(); i++) {
+			c = string.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}